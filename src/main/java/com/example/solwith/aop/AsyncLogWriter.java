@@ -0,0 +1,101 @@
+package com.example.solwith.aop;
+
+import org.slf4j.Logger;
+import org.slf4j.MDC;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 로그 레코드를 큐에 넘기고 전용 스레드가 찍는다 → 요청 스레드는 appender(I/O)를 기다리지 않는다.
+ * - 큐가 가득 차면 기다리지 않고 버린다(버린 개수는 나중에 한 줄로 알림). 로그 때문에 요청이 느려지는 일은 없게
+ * - traceId 는 레코드에 담아 두었다가 찍는 스레드의 MDC 에 잠깐 넣는다 → 로그 패턴의 %X{traceId} 도 그대로 동작
+ * - capacity 가 0 이하면 큐 없이 호출한 스레드에서 바로 찍는다
+ */
+final class AsyncLogWriter {
+    private record Entry(boolean warn, String traceId, String format, Object[] args) {}
+
+    private final Logger log;
+    private final BlockingQueue<Entry> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread thread;
+    private volatile boolean running;
+
+    AsyncLogWriter(Logger log, int capacity) {
+        this.log = log;
+        this.queue = capacity > 0 ? new ArrayBlockingQueue<>(capacity) : null;
+        if (queue == null) {
+            this.thread = null;
+            return;
+        }
+        this.running = true;
+        this.thread = new Thread(this::loop, "aop-log-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    void info(String traceId, String format, Object... args) {
+        submit(new Entry(false, traceId, format, args));
+    }
+
+    void warn(String traceId, String format, Object... args) {
+        submit(new Entry(true, traceId, format, args));
+    }
+
+    long dropped() {
+        return dropped.get();
+    }
+
+    private void submit(Entry e) {
+        if (queue == null) write(e);
+        else if (!running || !queue.offer(e)) dropped.incrementAndGet();
+    }
+
+    private void loop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry e = queue.poll(1, TimeUnit.SECONDS);
+                if (e != null) write(e);
+                if (e == null || queue.isEmpty()) reportDropped(); // 한가해지면 버린 개수를 알린다
+            } catch (InterruptedException ie) {
+                break; // close() 가 남은 것을 마저 찍는다
+            } catch (RuntimeException ex) {
+                // appender 오류로 스레드가 죽지 않게
+            }
+        }
+    }
+
+    private void write(Entry e) {
+        String previous = MDC.get("traceId");
+        if (e.traceId() != null) MDC.put("traceId", e.traceId());
+        try {
+            if (e.warn()) log.warn(e.format(), e.args());
+            else log.info(e.format(), e.args());
+        } finally {
+            if (previous != null) MDC.put("traceId", previous);
+            else MDC.remove("traceId");
+        }
+    }
+
+    private void reportDropped() {
+        long n = dropped.getAndSet(0);
+        if (n > 0) log.warn("[AOP] dropped {} log records (queue full)", n);
+    }
+
+    /** 남은 레코드를 모두 찍고 스레드를 멈춘다 */
+    void close() {
+        if (thread == null || !running) return;
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(1_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Entry e;
+        while ((e = queue.poll()) != null) write(e);
+        reportDropped();
+    }
+}
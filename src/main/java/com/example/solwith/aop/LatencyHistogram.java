@@ -0,0 +1,60 @@
+package com.example.solwith.aop;
+
+/**
+ * 로그-선형 버킷 히스토그램 (HdrHistogram 과 같은 배치, 값은 ns).
+ * - 2의 거듭제곱 구간마다 32칸 → 어느 값이든 상대 오차 약 3% 이내, 배열 크기는 1024 로 고정(2^36ns ≈ 68초 이상은 마지막 칸)
+ * - 기록은 index 계산(비트 연산) + 칸 하나 증가뿐이라 할당/락이 없다. 이 클래스는 집계 결과(스냅샷)를 담고 백분위를 계산한다
+ * - 메서드별(MethodLatencyRecorder)과 경로별(RouteLatencyTracker) 집계가 같이 쓴다
+ */
+public final class LatencyHistogram {
+    static final int SUB_BITS = 6;                 // 구간 안을 2^(SUB_BITS-1) = 32칸으로
+    static final int HALF = 1 << (SUB_BITS - 1);
+    static final int MAX_BITS = 36;
+    static final long MAX_VALUE = (1L << MAX_BITS) - 1;
+    public static final int LENGTH = (MAX_BITS - SUB_BITS + 2) * HALF;
+
+    private final long[] counts;
+    private final long total;
+
+    public LatencyHistogram(long[] counts) {
+        this.counts = counts;
+        long sum = 0;
+        for (long c : counts) sum += c;
+        this.total = sum;
+    }
+
+    public static int index(long nanos) {
+        long v = Math.min(Math.max(nanos, 0), MAX_VALUE);
+        int msb = 63 - Long.numberOfLeadingZeros(v | ((1L << SUB_BITS) - 1)); // 작은 값은 첫 구간(칸 너비 1)으로
+        int bucket = msb - (SUB_BITS - 1);
+        return (bucket << (SUB_BITS - 1)) + (int) (v >>> bucket);
+    }
+
+    /** index 칸에 들어가는 가장 큰 값 (백분위는 HdrHistogram 처럼 칸의 상한으로 보고한다) */
+    static long highestValueAt(int index) {
+        int bucket = Math.max(0, (index >> (SUB_BITS - 1)) - 1);
+        long sub = index - ((long) bucket << (SUB_BITS - 1));
+        return (sub << bucket) + (1L << bucket) - 1;
+    }
+
+    public long count() {
+        return total;
+    }
+
+    /** @param percentile 0~100. 기록이 없으면 0 */
+    public long valueAt(double percentile) {
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) return highestValueAt(i);
+        }
+        return highestValueAt(counts.length - 1);
+    }
+
+    public long max() {
+        for (int i = counts.length - 1; i >= 0; i--) if (counts[i] != 0) return highestValueAt(i);
+        return 0;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.solwith.aop;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 히스토그램 하나를 여러 스레드가 기록하는 누적 칸 배열 (LatencyHistogram 과 같은 칸 배치).
+ * - 스레드마다 자기 칸 배열(기록자)을 가진다 → 기록은 경합/CAS/할당 없이 칸 하나 증가 (쓰는 스레드가 하나뿐이라 lazySet 으로 충분)
+ * - 읽을 때 모든 기록자를 합친다. 누적값은 줄지 않으므로 "지금 누적 - 지난번 누적" = 그 사이 구간 히스토그램
+ * - 끝난 스레드의 기록자는 다음 조회나 새 스레드 등록 때 공용 칸(retired)에 더하고 목록에서 뺀다
+ *   → 기록자 수는 살아있는 스레드 수까지만, 풀이 스레드를 갈아 치워도(유휴 정리, 가상 스레드) 쌓이지 않는다
+ * - 메서드별(MethodLatencyRecorder)과 경로별(RouteLatencyTracker) 집계가 같이 쓴다
+ */
+public final class LatencyRecorder {
+    private final List<ThreadCounts> recorders = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<AtomicLongArray> local = ThreadLocal.withInitial(this::register);
+    private final long[] retired = new long[LatencyHistogram.LENGTH]; // 끝난 스레드들의 합 (this 로 동기화)
+
+    public void record(long nanos) {
+        AtomicLongArray counts = local.get();
+        int i = LatencyHistogram.index(nanos);
+        counts.lazySet(i, counts.get(i) + 1);
+    }
+
+    /** 기록 시작 이후 칸별 누적 (새 배열) */
+    public synchronized long[] cumulative() {
+        retire();
+        long[] sum = retired.clone();
+        for (ThreadCounts c : recorders) {
+            for (int i = 0; i < sum.length; i++) sum[i] += c.counts().get(i);
+        }
+        return sum;
+    }
+
+    private AtomicLongArray register() {
+        retire(); // 스레드가 새로 올 때(드묾) 끝난 스레드 정리
+        ThreadCounts mine = new ThreadCounts(Thread.currentThread(), new AtomicLongArray(LatencyHistogram.LENGTH));
+        recorders.add(mine);
+        return mine.counts();
+    }
+
+    // 끝난 스레드의 칸을 retired 에 더하고 목록에서 뺀다. 스레드 종료는 isAlive()=false 를 본 쪽에 마지막 기록까지 보이게 한다
+    // 합치는 중에 조회가 끼면 같은 칸을 두 번/0번 셀 수 있으므로 cumulative 와 같은 락 안에서. 남은 기록자 수를 돌려준다
+    synchronized int retire() {
+        List<ThreadCounts> dead = new ArrayList<>();
+        for (ThreadCounts c : recorders) {
+            if (c.owner().isAlive()) continue;
+            for (int i = 0; i < retired.length; i++) retired[i] += c.counts().get(i);
+            dead.add(c);
+        }
+        if (!dead.isEmpty()) recorders.removeAll(dead);
+        return recorders.size();
+    }
+
+    private record ThreadCounts(Thread owner, AtomicLongArray counts) {}
+}
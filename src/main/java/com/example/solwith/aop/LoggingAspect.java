@@ -1,71 +1,93 @@
 package com.example.solwith.aop;
 
+import jakarta.annotation.PreDestroy;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.*;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.MDC;
 import org.slf4j.Logger; import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.lang.reflect.Parameter;
+import java.lang.reflect.Method;
 import java.util.*;
-import java.util.stream.IntStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * @LogExecutionTime 메서드 실행 시간 기록 + 로그.
+ * - 실행 시간은 매 호출 히스토그램에 기록(MethodLatencyRecorder), 로그는 느리거나(slow-ms 이상) 예외난 호출은 전부, 나머지는 N건 중 1건만
+ * - 메서드 이름/파라미터 정보는 메서드마다 한 번만 만들어 두고, 인자 문자열은 실제로 찍을 때만 만든다
+ * - 찍는 일은 AsyncLogWriter 스레드가 한다 (요청 스레드는 큐에 넣기만)
+ */
 @Aspect
 @Component
 public class LoggingAspect {
     private static final Logger log = LoggerFactory.getLogger(LoggingAspect.class);
     private static final Set<String> SENSITIVE_KEYS = Set.of("password", "pwd", "secret", "token", "authorization");
 
+    private final MethodLatencyRecorder latencies; // 호출마다 ns 단위로 기록 → /api/metrics/latency 에서 백분위로 조회
+    private final Map<Method, MethodLogMeta> metas = new ConcurrentHashMap<>();
+    private final int sampleEvery;   // 빠른 호출은 N건 중 1건만 로그 (1 이면 전부)
+    private final long slowNanos;    // 이보다 느리면 항상 로그
+    private final AsyncLogWriter writer;
+
+    @Autowired
+    public LoggingAspect(MethodLatencyRecorder latencies,
+                         @Value("${aop.log.sample-every:1}") int sampleEvery,
+                         @Value("${aop.log.slow-ms:100}") long slowMs,
+                         @Value("${aop.log.queue-capacity:8192}") int queueCapacity) {
+        this(latencies, sampleEvery, slowMs, new AsyncLogWriter(log, queueCapacity));
+    }
+
+    LoggingAspect(MethodLatencyRecorder latencies, int sampleEvery, long slowMs, AsyncLogWriter writer) {
+        this.latencies = latencies;
+        this.sampleEvery = Math.max(1, sampleEvery);
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(slowMs);
+        this.writer = writer;
+    }
+
     @Around("@annotation(com.example.solwith.aop.LogExecutionTime)")
     public Object around(ProceedingJoinPoint pjp) throws Throwable {
-        long start = System.currentTimeMillis();
         MethodSignature sig = (MethodSignature) pjp.getSignature();
-        String method = sig.getDeclaringType().getSimpleName() + "." + sig.getName();
-
-        // 파라미터 로깅(마스킹)
-        String argsStr = buildArgs(sig.getMethod().getParameters(), pjp.getArgs());
+        Method m = sig.getMethod();
+        MethodLogMeta meta = metas.get(m);
+        if (meta == null) meta = metas.computeIfAbsent(m, k -> MethodLogMeta.of(sig.getDeclaringType(), k, SENSITIVE_KEYS));
 
+        long start = System.nanoTime();
         try {
             Object result = pjp.proceed();
-            long took = System.currentTimeMillis() - start;
-            log.info("[AOP] {} took={}ms traceId={} args={} resultType={}",
-                    method, took, MDC.get("traceId"), argsStr,
-                    (result==null ? "void" : result.getClass().getSimpleName()));
+            long tookNanos = System.nanoTime() - start;
+            latencies.record(m, tookNanos);
+            if (tookNanos >= slowNanos || sampled()) {
+                writer.info(MDC.get("traceId"), "[AOP] {} took={}ms traceId={} args={} resultType={}",
+                        meta.name, millis(tookNanos), MDC.get("traceId"), meta.formatArgs(pjp.getArgs()),
+                        (result==null ? "void" : result.getClass().getSimpleName()));
+            }
             return result;
         } catch (Throwable t) {
-            long took = System.currentTimeMillis() - start;
-            log.warn("[AOP] {} EX took={}ms traceId={} args={} ex={}:{}",
-                    method, took, MDC.get("traceId"), argsStr,
+            long tookNanos = System.nanoTime() - start;
+            latencies.record(m, tookNanos); // 예외로 끝난 호출도 지연 분포에 포함
+            writer.warn(MDC.get("traceId"), "[AOP] {} EX took={}ms traceId={} args={} ex={}:{}",
+                    meta.name, millis(tookNanos), MDC.get("traceId"), meta.formatArgs(pjp.getArgs()),
                     t.getClass().getSimpleName(), t.getMessage());
             throw t;
         }
     }
 
-    private String buildArgs(Parameter[] params, Object[] values) {
-        return IntStream.range(0, params.length)
-                .mapToObj(i -> {
-                    String name = params[i].getName();
-                    Object v = values[i];
-                    String printed = stringify(name, v);
-                    return name + "=" + printed;
-                })
-                .reduce((a,b) -> a + ", " + b).orElse("-");
+    private boolean sampled() {
+        return sampleEvery == 1 || ThreadLocalRandom.current().nextInt(sampleEvery) == 0;
     }
 
-    private String stringify(String name, Object v) {
-        if (v == null) return "null";
-        if (isSensitive(name)) return "***";
-        // 간단 객체는 toString, 복잡 객체는 클래스명만
-        if (v instanceof CharSequence || v instanceof Number || v instanceof Boolean) return v.toString();
-        if (v.getClass().isArray()) return v.getClass().getComponentType().getSimpleName() + "[]";
-        if (v instanceof Collection<?> c) return "Collection(size=" + c.size() + ")";
-        if (v instanceof Map<?,?> m) return "Map(size=" + m.size() + ")";
-        return v.getClass().getSimpleName();
+    // ms 단위, 소수점 셋째 자리(µs)까지
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
     }
 
-    private boolean isSensitive(String paramName) {
-        String lower = paramName.toLowerCase(Locale.ROOT);
-        return SENSITIVE_KEYS.stream().anyMatch(lower::contains);
+    @PreDestroy
+    public void close() {
+        writer.close();
     }
 }
@@ -0,0 +1,98 @@
+package com.example.solwith.aop;
+
+import com.example.solwith.dto.LatencyStats;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * @LogExecutionTime 메서드별 실행 시간 히스토그램.
+ * - 메서드마다 LatencyRecorder 하나 → 기록은 스레드별 칸 하나 증가, 읽을 때 합친 누적에서 지난번 누적을 빼면 구간 히스토그램
+ * - 기록자 수는 메서드 x 그 메서드를 부른 살아있는 스레드 수(요청 스레드 풀 크기로 제한), 하나에 8KB
+ */
+@Component
+public class MethodLatencyRecorder {
+    private final ConcurrentHashMap<Method, MethodLatency> methods = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+    private final long startedAt;
+    private long intervalStartedAt; // interval() 에서만 (synchronized)
+
+    public MethodLatencyRecorder() {
+        this(System::nanoTime);
+    }
+
+    MethodLatencyRecorder(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.startedAt = nanoClock.getAsLong();
+        this.intervalStartedAt = startedAt;
+    }
+
+    public void record(Method method, long nanos) {
+        MethodLatency latency = methods.get(method);
+        if (latency == null) latency = methods.computeIfAbsent(method, MethodLatency::new);
+        latency.recorder.record(nanos);
+    }
+
+    /** 지난 interval() 호출 이후 구간 통계 (부를 때마다 구간이 새로 시작된다) */
+    public synchronized List<LatencyStats> interval() {
+        long now = nanoClock.getAsLong();
+        long elapsed = now - intervalStartedAt;
+        intervalStartedAt = now;
+        List<LatencyStats> stats = new ArrayList<>(methods.size());
+        for (MethodLatency m : methods.values()) {
+            long[] current = m.recorder.cumulative();
+            long[] delta = new long[current.length];
+            for (int i = 0; i < current.length; i++) delta[i] = current[i] - m.previous[i];
+            m.previous = current;
+            stats.add(stats(m.name, new LatencyHistogram(delta), elapsed));
+        }
+        stats.sort(Comparator.comparing(LatencyStats::getMethod));
+        return stats;
+    }
+
+    /** 기동 이후 누적 통계 (구간은 건드리지 않는다) */
+    public List<LatencyStats> total() {
+        long elapsed = nanoClock.getAsLong() - startedAt;
+        List<LatencyStats> stats = new ArrayList<>(methods.size());
+        for (MethodLatency m : methods.values()) stats.add(stats(m.name, new LatencyHistogram(m.recorder.cumulative()), elapsed));
+        stats.sort(Comparator.comparing(LatencyStats::getMethod));
+        return stats;
+    }
+
+    /** 지금 남아 있는 스레드별 기록자 수 (끝난 스레드 정리 확인용) */
+    int recorders() {
+        int n = 0;
+        for (MethodLatency m : methods.values()) n += m.recorder.retire();
+        return n;
+    }
+
+    private static LatencyStats stats(String method, LatencyHistogram h, long elapsedNanos) {
+        double seconds = Math.max(1, elapsedNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        return new LatencyStats(method, h.count(), round(h.count() / seconds),
+                micros(h.valueAt(50)), micros(h.valueAt(90)), micros(h.valueAt(99)), micros(h.max()));
+    }
+
+    private static double micros(long nanos) {
+        return round(nanos / 1000.0);
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 10) / 10.0;
+    }
+
+    private static final class MethodLatency {
+        final String name;
+        final LatencyRecorder recorder = new LatencyRecorder();
+        long[] previous = new long[LatencyHistogram.LENGTH]; // interval() 에서만
+
+        MethodLatency(Method method) {
+            this.name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.solwith.aop;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 메서드마다 한 번만 만드는 로깅 정보: "클래스.메서드" 이름, 파라미터별 "이름=" 접두어, 민감 파라미터 여부.
+ * 호출마다 getParameters() / 이름 소문자 변환 / 민감 키 검사를 다시 하지 않는다.
+ */
+final class MethodLogMeta {
+    final String name;
+    private final String[] prefixes;    // "id=", ", name=" ..
+    private final boolean[] sensitive;  // true 면 값 대신 ***
+
+    private MethodLogMeta(String name, String[] prefixes, boolean[] sensitive) {
+        this.name = name;
+        this.prefixes = prefixes;
+        this.sensitive = sensitive;
+    }
+
+    static MethodLogMeta of(Class<?> declaringType, Method method, Set<String> sensitiveKeys) {
+        Parameter[] params = method.getParameters();
+        String[] prefixes = new String[params.length];
+        boolean[] sensitive = new boolean[params.length];
+        for (int i = 0; i < params.length; i++) {
+            String paramName = params[i].getName();
+            prefixes[i] = (i == 0 ? "" : ", ") + paramName + "=";
+            String lower = paramName.toLowerCase(Locale.ROOT);
+            for (String key : sensitiveKeys) sensitive[i] |= lower.contains(key);
+        }
+        return new MethodLogMeta(declaringType.getSimpleName() + "." + method.getName(), prefixes, sensitive);
+    }
+
+    /** 실제로 로그를 남길 때만 부른다 */
+    String formatArgs(Object[] values) {
+        if (prefixes.length == 0) return "-";
+        StringBuilder sb = new StringBuilder(16 * prefixes.length);
+        for (int i = 0; i < prefixes.length; i++) {
+            sb.append(prefixes[i]);
+            Object v = i < values.length ? values[i] : null;
+            if (v != null && sensitive[i]) sb.append("***");
+            else stringify(sb, v);
+        }
+        return sb.toString();
+    }
+
+    // 간단 객체는 toString, 복잡 객체는 클래스명만
+    private static void stringify(StringBuilder sb, Object v) {
+        if (v == null) sb.append("null");
+        else if (v instanceof CharSequence || v instanceof Number || v instanceof Boolean) sb.append(v);
+        else if (v.getClass().isArray()) sb.append(v.getClass().getComponentType().getSimpleName()).append("[]");
+        else if (v instanceof Collection<?> c) sb.append("Collection(size=").append(c.size()).append(')');
+        else if (v instanceof Map<?, ?> m) sb.append("Map(size=").append(m.size()).append(')');
+        else sb.append(v.getClass().getSimpleName());
+    }
+}
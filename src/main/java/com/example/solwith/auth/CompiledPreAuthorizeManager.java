@@ -0,0 +1,231 @@
+package com.example.solwith.auth;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * @PreAuthorize 를 메서드마다 한 번만 컴파일해서 비트 연산으로 판정하는 AuthorizationManager.
+ * - 지원하는 식: hasRole / hasAnyRole / hasAuthority / hasAnyAuthority / isAuthenticated / isAnonymous / permitAll / denyAll
+ *   와 and, or, not(!, &&, ||), 괄호. 그 밖의 식(#파라미터, @빈 호출 ..)은 그 메서드만 SpEL(fallback)로 처리한다
+ * - 역할 계층은 RoleBits 가 미리 펼쳐 두므로 판정 = 사용자 권한 비트마스크 계산 + AND 한 번 (SpEL 평가/계층 탐색 없음)
+ * - 판정 결과 객체(허용/거부)는 공유 상수라 호출마다 할당도 없다
+ */
+public final class CompiledPreAuthorizeManager implements AuthorizationManager<MethodInvocation> {
+    private static final Logger log = LoggerFactory.getLogger(CompiledPreAuthorizeManager.class);
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    /** 컴파일된 규칙: 사용자 권한 비트마스크(상속 포함)와 인증 객체로 판정 */
+    interface Rule {
+        boolean test(long roles, Authentication auth);
+    }
+
+    private static final Rule ABSTAIN = (roles, auth) -> true; // @PreAuthorize 가 없는 메서드
+    private static final Rule SPEL = (roles, auth) -> true;    // 컴파일할 수 없는 식 → fallback
+
+    private final RoleBits roles;
+    private final AuthorizationManager<MethodInvocation> fallback;
+    private final AuthenticationTrustResolver trust = new AuthenticationTrustResolverImpl();
+    private final Map<MethodClassKey, Rule> rules = new ConcurrentHashMap<>();
+    private final Set<String> unknownRoles = ConcurrentHashMap.newKeySet(); // 경고는 역할마다 한 번
+
+    public CompiledPreAuthorizeManager(String roleHierarchy, AuthorizationManager<MethodInvocation> fallback) {
+        this.roles = RoleBits.parse(roleHierarchy);
+        this.fallback = fallback;
+    }
+
+    @Override
+    public AuthorizationResult authorize(Supplier<Authentication> authentication, MethodInvocation mi) {
+        Rule rule = rules.computeIfAbsent(key(mi), k -> compile(mi));
+        if (rule == ABSTAIN) return null;
+        if (rule == SPEL) return fallback.authorize(authentication, mi);
+        Authentication auth = authentication.get();
+        long mask = auth == null ? 0 : roles.maskOf(auth.getAuthorities());
+        return rule.test(mask, auth) ? GRANTED : DENIED;
+    }
+
+    @Deprecated
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation mi) {
+        AuthorizationResult result = authorize(authentication, mi);
+        if (result == null || result instanceof AuthorizationDecision) return (AuthorizationDecision) result;
+        return new AuthorizationDecision(result.isGranted());
+    }
+
+    private static MethodClassKey key(MethodInvocation mi) {
+        Object target = mi.getThis();
+        return new MethodClassKey(mi.getMethod(), target == null ? null : AopUtils.getTargetClass(target));
+    }
+
+    // 메서드(구현 클래스 쪽 우선) → 클래스 순서로 @PreAuthorize 를 찾는다
+    private Rule compile(MethodInvocation mi) {
+        Object target = mi.getThis();
+        Class<?> targetClass = target == null ? null : AopUtils.getTargetClass(target);
+        Method method = AopUtils.getMostSpecificMethod(mi.getMethod(), targetClass);
+        PreAuthorize ann = AnnotatedElementUtils.findMergedAnnotation(method, PreAuthorize.class);
+        if (ann == null && targetClass != null) ann = AnnotatedElementUtils.findMergedAnnotation(targetClass, PreAuthorize.class);
+        if (ann == null) return ABSTAIN;
+        try {
+            return new Parser(ann.value()).parse();
+        } catch (IllegalArgumentException unsupported) {
+            log.debug("[Authz] {} → SpEL fallback ({})", method, unsupported.getMessage());
+            return SPEL;
+        }
+    }
+
+    /** @PreAuthorize 식의 부분 집합을 Rule 로 바꾸는 재귀 하강 파서. 지원하지 않는 구문이면 IllegalArgumentException */
+    private final class Parser {
+        private final String src;
+        private int pos;
+
+        Parser(String src) {
+            this.src = src;
+        }
+
+        Rule parse() {
+            Rule rule = or();
+            skipSpaces();
+            if (pos != src.length()) throw unsupported();
+            return rule;
+        }
+
+        private Rule or() {
+            Rule left = and();
+            while (acceptWord("or") || accept("||")) {
+                Rule l = left, r = and();
+                left = (m, a) -> l.test(m, a) || r.test(m, a);
+            }
+            return left;
+        }
+
+        private Rule and() {
+            Rule left = unary();
+            while (acceptWord("and") || accept("&&")) {
+                Rule l = left, r = unary();
+                left = (m, a) -> l.test(m, a) && r.test(m, a);
+            }
+            return left;
+        }
+
+        private Rule unary() {
+            if (acceptWord("not") || accept("!")) {
+                Rule inner = unary();
+                return (m, a) -> !inner.test(m, a);
+            }
+            if (accept("(")) {
+                Rule inner = or();
+                expect(")");
+                return inner;
+            }
+            return term();
+        }
+
+        private Rule term() {
+            String name = identifier();
+            switch (name) {
+                case "permitAll": return (m, a) -> true;
+                case "denyAll": return (m, a) -> false;
+            }
+            expect("(");
+            switch (name) {
+                case "isAuthenticated":
+                    expect(")");
+                    return (m, a) -> trust.isAuthenticated(a);
+                case "isAnonymous":
+                    expect(")");
+                    return (m, a) -> trust.isAnonymous(a);
+                case "hasRole":
+                case "hasAnyRole":
+                case "hasAuthority":
+                case "hasAnyAuthority": {
+                    boolean role = name.endsWith("Role");
+                    boolean any = name.startsWith("hasAny");
+                    long required = 0;
+                    int count = 0;
+                    do {
+                        String authority = string();
+                        if (role && !authority.startsWith("ROLE_")) authority = "ROLE_" + authority;
+                        if (role && !roles.inHierarchy(authority) && unknownRoles.add(authority)) { // 오타(MANGER ..) 의심
+                            log.warn("[Authz] @PreAuthorize(\"{}\") refers to {} which is not in the role hierarchy", src, authority);
+                        }
+                        long bit = roles.require(authority);
+                        if (bit == 0) throw new IllegalArgumentException("too many distinct authorities");
+                        required |= bit;
+                        count++;
+                    } while (accept(","));
+                    expect(")");
+                    if (!any && count != 1) throw unsupported();
+                    long mask = required;
+                    return (m, a) -> (m & mask) != 0;
+                }
+                default:
+                    throw unsupported();
+            }
+        }
+
+        private String identifier() {
+            skipSpaces();
+            int start = pos;
+            while (pos < src.length() && Character.isJavaIdentifierPart(src.charAt(pos))) pos++;
+            if (start == pos) throw unsupported();
+            return src.substring(start, pos);
+        }
+
+        private String string() {
+            skipSpaces();
+            if (pos >= src.length() || src.charAt(pos) != '\'') throw unsupported();
+            int end = src.indexOf('\'', pos + 1);
+            if (end < 0 || (end + 1 < src.length() && src.charAt(end + 1) == '\'')) throw unsupported(); // '' 이스케이프는 미지원
+            String s = src.substring(pos + 1, end);
+            pos = end + 1;
+            return s;
+        }
+
+        private boolean accept(String token) {
+            skipSpaces();
+            if (!src.startsWith(token, pos)) return false;
+            pos += token.length();
+            return true;
+        }
+
+        // 단어 연산자(and/or/not)는 뒤가 식별자 문자가 아닐 때만 (예: "order" 의 or 를 잘못 먹지 않게)
+        private boolean acceptWord(String word) {
+            skipSpaces();
+            int end = pos + word.length();
+            if (!src.regionMatches(true, pos, word, 0, word.length())) return false;
+            if (end < src.length() && Character.isJavaIdentifierPart(src.charAt(end))) return false;
+            pos = end;
+            return true;
+        }
+
+        private void expect(String token) {
+            if (!accept(token)) throw unsupported();
+        }
+
+        private void skipSpaces() {
+            while (pos < src.length() && Character.isWhitespace(src.charAt(pos))) pos++;
+        }
+
+        private IllegalArgumentException unsupported() {
+            return new IllegalArgumentException("unsupported expression at " + pos + ": " + src);
+        }
+    }
+}
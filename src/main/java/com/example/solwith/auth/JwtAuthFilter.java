@@ -26,12 +26,13 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         if(StringUtils.hasText(header) && header.startsWith("Bearer ")) {
             String token = header.substring(7);
             try {
-                var jws = jwtProvider.parse(token);
-                String username = jws.getPayload().getSubject();
-                String role = jws.getPayload().get("role", String.class);
+                VerifiedToken verified = jwtProvider.verify(token); // 같은 토큰이면 캐시에서 (서명 검증/JSON 파싱 생략)
+                String username = verified.username();
+                String role = verified.role();
                 List<GrantedAuthority> auths = List.of(new SimpleGrantedAuthority("ROLE_" + role));
 
                 Authentication auth = new UsernamePasswordAuthenticationToken(username, null, auths);
+                SecurityContextHolder.getContext().setAuthentication(auth); // 이후 인가 필터가 이 사용자/권한으로 판단
 
                 // 선택 사항: traceId와 함께 사용자도 MDC에 넣기
                 MDC.put("user", username);
@@ -2,29 +2,42 @@ package com.example.solwith.auth;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
-import java.security.Key;
 import java.time.Instant;
 import java.util.Date;
 import java.util.Map;
+import java.util.function.LongSupplier;
 
 @Component
 public class JwtProvider {
-    private final Key key;
+    private final SecretKey key;
     private final long validitySeconds;
+    private final LongSupplier clock;
+    private final JwtParser parser; // 불변/스레드 안전 → 한 번만 만든다 (요청마다 빌더 + 키 검사를 반복하지 않음)
+    private final VerifiedTokenCache verified; // 같은 토큰을 반복해서 보내면 만료 전까지 HMAC/JSON 파싱 생략
 
+    @Autowired
     public JwtProvider(@Value("${jwt.secret.key}") String secret,
-                       @Value("${jwt.access-token-validity-seconds}") long validitySeconds) {
+                       @Value("${jwt.access-token-validity-seconds}") long validitySeconds,
+                       @Value("${jwt.verified-cache.max-entries:10000}") int cacheEntries) {
+        this(secret, validitySeconds, cacheEntries, System::currentTimeMillis);
+    }
+
+    JwtProvider(String secret, long validitySeconds, int cacheEntries, LongSupplier clock) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.validitySeconds = validitySeconds;
+        this.clock = clock;
+        this.parser = Jwts.parser().verifyWith(key).clock(() -> new Date(clock.getAsLong())).build();
+        this.verified = new VerifiedTokenCache(cacheEntries, clock);
     }
 
     public String createToken(String username, String role, Map<String, Object> extra) {
-        Instant now = Instant.now();
+        Instant now = Instant.ofEpochMilli(clock.getAsLong());
         JwtBuilder b = Jwts.builder()
                 .subject(username)
                 .issuedAt(Date.from(now))
@@ -36,6 +49,22 @@ public class JwtProvider {
     }
 
     public Jws<Claims> parse(String token) {
-        return Jwts.parser().verifyWith((SecretKey) key).build().parseSignedClaims(token);
+        return parser.parseSignedClaims(token);
+    }
+
+    /**
+     * 서명/만료를 검증하고 인증에 필요한 값(subject, role)만 돌려준다. 실패하면 parse 와 같은 JwtException.
+     * 검증된 토큰은 exp 까지 캐시 → 같은 토큰의 다음 요청은 map 조회 한 번 (만료 없는 토큰은 캐시하지 않음)
+     */
+    public VerifiedToken verify(String token) {
+        VerifiedToken hit = verified.get(token);
+        if (hit != null) return hit;
+
+        Claims claims = parse(token).getPayload();
+        Date exp = claims.getExpiration();
+        VerifiedToken v = new VerifiedToken(claims.getSubject(), claims.get("role", String.class),
+                exp == null ? Long.MAX_VALUE : exp.getTime());
+        if (exp != null) verified.put(token, v);
+        return v;
     }
 }
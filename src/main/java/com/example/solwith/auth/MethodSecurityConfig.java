@@ -1,26 +1,56 @@
 package com.example.solwith.auth;
 
+import org.springframework.aop.Advisor;
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
 import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
 import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
 import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
+import org.springframework.security.authorization.method.AuthorizationManagerAfterMethodInterceptor;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+import org.springframework.security.authorization.method.PostAuthorizeAuthorizationManager;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
 
+@Configuration
 public class MethodSecurityConfig {
 
     //ADMIN > MANAGER > USER (위가 아래 권한을 "상속"한다)
-    @Bean
-    static org.springframework.security.access.hierarchicalroles.RoleHierarchy roleHierarchy() {
-        return org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl.fromHierarchy("""
+    static final String HIERARCHY = """
         ROLE_ADMIN > ROLE_MANAGER
         ROLE_MANAGER > ROLE_USER
-        """);
+        """;
+
+    @Bean
+    static RoleHierarchy roleHierarchy() {
+        return RoleHierarchyImpl.fromHierarchy(HIERARCHY);
     }
 
     // @PreAuthorize 해석기에서 역할 계층을 사용하도록 연결
     @Bean
-    public MethodSecurityExpressionHandler methodSecurityExpressionHandler(RoleHierarchy roleHierarchy) {
+    static MethodSecurityExpressionHandler methodSecurityExpressionHandler(RoleHierarchy roleHierarchy) {
         var handler = new DefaultMethodSecurityExpressionHandler();
         handler.setRoleHierarchy(roleHierarchy);
         return handler;
     }
+
+    // @PreAuthorize: 역할 검사식은 미리 컴파일한 비트 판정, 그 밖의 식만 SpEL (SecurityConfig 에서 기본 인터셉터는 끔)
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor preAuthorizeAuthorizationMethodInterceptor(MethodSecurityExpressionHandler expressionHandler) {
+        var spel = new PreAuthorizeAuthorizationManager();
+        spel.setExpressionHandler(expressionHandler);
+        return AuthorizationManagerBeforeMethodInterceptor.preAuthorize(new CompiledPreAuthorizeManager(HIERARCHY, spel));
+    }
+
+    // @PostAuthorize 는 반환값을 보는 식이라 그대로 SpEL
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor postAuthorizeAuthorizationMethodInterceptor(MethodSecurityExpressionHandler expressionHandler) {
+        var spel = new PostAuthorizeAuthorizationManager();
+        spel.setExpressionHandler(expressionHandler);
+        return AuthorizationManagerAfterMethodInterceptor.postAuthorize(spel);
+    }
 }
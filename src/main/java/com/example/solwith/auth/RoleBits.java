@@ -0,0 +1,93 @@
+package com.example.solwith.auth;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 권한 이름 → 비트 번호, 역할 계층을 미리 펼친 비트셋.
+ * - 계층("ROLE_ADMIN > ROLE_MANAGER")은 기동 시 한 번 전이 폐포로 펼쳐 둔다: closure[b] = b 역할이 가진(상속 포함) 권한 비트
+ * - 사용자 권한 목록 → 비트마스크는 권한마다 map 조회 + OR 한 번. 계층을 매번 따라가지 않는다
+ * - 계층에 없는 권한도 규칙에서 처음 쓰일 때 비트를 받는다(자기 자신만 가짐). 최대 64개
+ */
+final class RoleBits {
+    static final int MAX = Long.SIZE;
+
+    private final Map<String, Integer> bits = new ConcurrentHashMap<>();
+    private final long[] closure = new long[MAX];
+    private final Set<String> hierarchyRoles;
+    private int next;
+
+    private RoleBits(Set<String> hierarchyRoles) {
+        this.hierarchyRoles = hierarchyRoles;
+    }
+
+    /** RoleHierarchyImpl.fromHierarchy 와 같은 형식: 줄마다 "상위 > 하위" (A > B > C 처럼 이어 써도 된다) */
+    static RoleBits parse(String hierarchy) {
+        Map<String, Set<String>> lower = new LinkedHashMap<>(); // 상위 → 바로 아래 역할들
+        for (String line : hierarchy.split("\n")) {
+            if (line.isBlank()) continue;
+            String[] chain = line.split(">");
+            for (int i = 0; i < chain.length; i++) {
+                String role = chain[i].trim();
+                lower.computeIfAbsent(role, k -> new LinkedHashSet<>());
+                if (i + 1 < chain.length) lower.get(role).add(chain[i + 1].trim());
+            }
+        }
+        if (lower.size() > MAX) throw new IllegalArgumentException("too many roles in hierarchy: " + lower.size());
+
+        RoleBits rb = new RoleBits(Set.copyOf(lower.keySet()));
+        List<String> roles = new ArrayList<>(lower.keySet());
+        for (String role : roles) rb.bits.put(role, rb.next++);
+        for (String role : roles) {
+            long mask = 0;
+            List<String> stack = new ArrayList<>(List.of(role));
+            while (!stack.isEmpty()) { // 아래로 닿는 역할을 모두 모은다
+                String r = stack.remove(stack.size() - 1);
+                long bit = 1L << rb.bits.get(r);
+                if ((mask & bit) != 0) continue;
+                mask |= bit;
+                stack.addAll(lower.get(r));
+            }
+            rb.closure[rb.bits.get(role)] = mask;
+        }
+        return rb;
+    }
+
+    /** 규칙이 요구하는 권한의 비트. 처음 보는 권한이면 새 비트를 준다. 비트가 모자라면 0 (→ 호출 측이 SpEL 로 처리) */
+    long require(String authority) {
+        Integer bit = bits.get(authority);
+        if (bit != null) return 1L << bit;
+        synchronized (this) {
+            bit = bits.get(authority);
+            if (bit == null) {
+                if (next >= MAX) return 0;
+                bit = next++;
+                closure[bit] = 1L << bit; // 계층 밖 권한은 자기 자신만
+                bits.put(authority, bit);  // closure 를 먼저 쓰고 공개한다
+            }
+        }
+        return 1L << bit;
+    }
+
+    boolean inHierarchy(String authority) {
+        return hierarchyRoles.contains(authority);
+    }
+
+    /** 사용자가 가진 권한(상속 포함)의 비트마스크. 어떤 규칙에도 나오지 않는 권한은 무시된다 */
+    long maskOf(Collection<? extends GrantedAuthority> authorities) {
+        long mask = 0;
+        for (GrantedAuthority a : authorities) {
+            Integer bit = a.getAuthority() == null ? null : bits.get(a.getAuthority());
+            if (bit != null) mask |= closure[bit];
+        }
+        return mask;
+    }
+}
@@ -2,6 +2,7 @@ package com.example.solwith.auth;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -13,7 +14,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 
 @Configuration
 @EnableWebSecurity
-@EnableMethodSecurity(prePostEnabled = true) // @PreAuthorize, @PostAuthorize 사용
+@EnableMethodSecurity(prePostEnabled = false) // @PreAuthorize, @PostAuthorize 인터셉터는 MethodSecurityConfig 에서 직접 등록
 public class SecurityConfig {
     private final JwtProvider jwtProvider;
     public SecurityConfig(JwtProvider jwtProvider) { this.jwtProvider = jwtProvider; }
@@ -28,9 +29,13 @@ public class SecurityConfig {
 
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/login", "/health", "/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                        // 일괄 등록: 요청 하나로 회원을 대량으로 만들 수 있으므로 관리자/매니저만 (아래 permitAll 보다 먼저)
+                        .requestMatchers(HttpMethod.POST, "/api/members/import").hasAnyRole("ADMIN", "MANAGER")
                         .requestMatchers("/api/members/**").permitAll()
                         // 변경성 요청은 인증이 필요하다
                         .requestMatchers("/api/members/**").authenticated()
+                        // 지표: 스레드 스택, SQL 원문, traceId 가 나가고 구간/샘플을 바꾸는 요청도 있으므로 관리자만
+                        .requestMatchers("/api/metrics/**").hasRole("ADMIN")
                         .anyRequest().permitAll()
                 )
                 .addFilterBefore(new JwtAuthFilter(jwtProvider), UsernamePasswordAuthenticationFilter.class)
@@ -0,0 +1,5 @@
+package com.example.solwith.auth;
+
+/** 서명/만료 검증을 통과한 토큰에서 인증에 필요한 값만 뽑아 둔 것 (expiresAtMillis 가 지나면 무효) */
+public record VerifiedToken(String username, String role, long expiresAtMillis) {
+}
@@ -0,0 +1,60 @@
+package com.example.solwith.auth;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * 검증을 통과한 토큰 → 인증 정보 캐시 (크기 제한).
+ * - 키는 토큰 문자열 자체: 해시로 버킷을 찾고 equals 로 전체를 비교하므로, 해시가 같은 위조 토큰이 남의 캐시를 집어 갈 수 없다
+ * - 조회 시 exp 가 지났으면 그 자리에서 지우고 없는 것으로 취급 → 다시 파싱하면 만료로 거부된다
+ * - 가득 차면 한 스레드만 정리: 만료된 것부터 지우고, 그래도 많으면 임의로 1/8 을 비운다(정리 중에는 잠깐 한도를 넘을 수 있음)
+ */
+final class VerifiedTokenCache {
+    private final int maxEntries;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    VerifiedTokenCache(int maxEntries, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    VerifiedToken get(String token) {
+        VerifiedToken v = entries.get(token);
+        if (v == null) return null;
+        if (clock.getAsLong() >= v.expiresAtMillis()) {
+            entries.remove(token, v);
+            return null;
+        }
+        return v;
+    }
+
+    void put(String token, VerifiedToken verified) {
+        if (maxEntries <= 0) return; // 0 이면 캐시 끔
+        if (entries.size() >= maxEntries) sweep();
+        entries.put(token, verified);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void sweep() {
+        if (!sweeping.compareAndSet(false, true)) return; // 다른 스레드가 정리 중
+        try {
+            long now = clock.getAsLong();
+            entries.values().removeIf(v -> now >= v.expiresAtMillis());
+            int target = maxEntries - Math.max(1, maxEntries / 8);
+            Iterator<String> it = entries.keySet().iterator();
+            while (entries.size() > target && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.solwith.common;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * 접근 로그 이벤트용 고정 크기 링 버퍼 (여러 생산자 → 소비자 하나).
+ * - 칸(Event)은 처음에 모두 만들어 두고 값만 덮어쓴다 → 요청 스레드는 이벤트 객체를 할당하지 않는다
+ * - 생산자: claim 번호를 CAS 로 하나 받아 칸을 채운 뒤 그 칸의 published 에 번호를 적는다(release). 가득 차 있으면 기다리지 않고 버린다
+ * - 소비자: 다음 번호가 published 에 적힌 칸까지 차례로 읽고, 읽은 위치를 알린다. 락/대기/시스템 호출이 생산자 쪽에 없다
+ * - 번호를 받고 아직 다 채우지 못한 생산자가 있으면 소비자는 그 칸 앞에서 기다린다(Disruptor 와 같은 순서 보장)
+ */
+final class AccessLogRing {
+
+    /** 한 칸. 문자열은 요청에서 이미 만들어진 것을 참조만 한다 */
+    static final class Event {
+        long timestamp;
+        String level;
+        String method;
+        String uri;
+        String query;
+        int status;
+        long tookMs;
+        String traceId;
+        long requestBytes;
+        long responseBytes;
+        String userAgent;
+        int sqlStatements; // -1 이면 SQL 집계 없음
+        long sqlNanos;
+        long sqlRows;
+
+        void clear() { // 소비한 칸이 요청 문자열을 붙잡고 있지 않게
+            level = method = uri = query = traceId = userAgent = null;
+        }
+    }
+
+    private final Event[] slots;
+    private final AtomicLongArray published; // 칸마다 마지막으로 채워진 번호
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();  // 다음에 나눠 줄 번호
+    private final AtomicLong consumed = new AtomicLong(); // 소비자가 다 읽은 번호(다음에 읽을 번호)
+    private final AtomicLong dropped = new AtomicLong();
+
+    AccessLogRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1; // 2의 거듭제곱으로 올림
+        this.slots = new Event[size];
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Event();
+            published.set(i, -1);
+        }
+        this.mask = size - 1;
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    /** @return 가득 차서 버렸으면 false */
+    boolean publish(long timestamp, String level, String method, String uri, String query, int status, long tookMs,
+                    String traceId, long requestBytes, long responseBytes, String userAgent,
+                    int sqlStatements, long sqlNanos, long sqlRows) {
+        long seq;
+        while (true) {
+            seq = claimed.get();
+            if (seq - consumed.get() >= slots.length) {
+                dropped.incrementAndGet();
+                return false;
+            }
+            if (claimed.compareAndSet(seq, seq + 1)) break;
+        }
+        int i = (int) (seq & mask);
+        Event e = slots[i];
+        e.timestamp = timestamp;
+        e.level = level;
+        e.method = method;
+        e.uri = uri;
+        e.query = query;
+        e.status = status;
+        e.tookMs = tookMs;
+        e.traceId = traceId;
+        e.requestBytes = requestBytes;
+        e.responseBytes = responseBytes;
+        e.userAgent = userAgent;
+        e.sqlStatements = sqlStatements;
+        e.sqlNanos = sqlNanos;
+        e.sqlRows = sqlRows;
+        published.lazySet(i, seq); // 칸 내용을 다 쓴 뒤에 공개
+        return true;
+    }
+
+    /** 소비자 스레드 전용. 공개된 이벤트를 순서대로 최대 max 개 넘기고, 넘긴 개수를 돌려준다 */
+    int drain(Consumer<Event> sink, int max) {
+        long next = consumed.get();
+        int n = 0;
+        while (n < max) {
+            int i = (int) (next & mask);
+            if (published.get(i) != next) break; // 아직 안 채워졌다
+            Event e = slots[i];
+            sink.accept(e);
+            e.clear();
+            next++;
+            n++;
+        }
+        if (n > 0) consumed.lazySet(next); // 이 칸들을 생산자에게 돌려준다
+        return n;
+    }
+
+    long dropped() {
+        return dropped.get();
+    }
+}
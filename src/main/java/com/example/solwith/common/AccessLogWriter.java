@@ -0,0 +1,198 @@
+package com.example.solwith.common;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * 접근 로그 파일 기록기.
+ * - 요청 스레드는 링 버퍼(AccessLogRing)에 값만 적고 돌아간다. 가득 차면 버리고 개수만 센다 → 로그 때문에 요청이 기다리는 일이 없다
+ * - 전용 스레드 하나가 쌓인 이벤트를 한 번에 최대 batchSize 개씩 꺼내 문자열로 만들고, 묶음마다 파일에 한 번 쓴다
+ * - 파일이 maxFileBytes 를 넘으면 access-<시각>.log 로 이름을 바꾸고 새 파일을 연다. 보관은 최근 maxFiles 개까지
+ * - 버린 이벤트가 있으면 파일에 "[AccessLog] dropped N events" 줄을 남긴다
+ */
+public class AccessLogWriter implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(AccessLogWriter.class);
+    private static final DateTimeFormatter SECOND = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final DateTimeFormatter ARCHIVE = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final String CURRENT = "access.log";
+    private static final int BATCH_SIZE = 512;
+    private static final long MAX_IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final AccessLogRing ring;
+    private final Path dir;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final Thread thread;
+    private final StringBuilder batch = new StringBuilder(64 * 1024); // 소비자 스레드 전용
+    private volatile boolean running = true;
+
+    private OutputStream out;
+    private long fileBytes;
+    private long reportedDrops;
+    private long cachedSecond = Long.MIN_VALUE; // 같은 초 안에서는 시각 앞부분을 다시 포맷하지 않는다
+    private String cachedSecondText;
+
+    public AccessLogWriter(Path dir, int ringSize, long maxFileBytes, int maxFiles) {
+        this.ring = new AccessLogRing(ringSize);
+        this.dir = dir;
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = Math.max(1, maxFiles);
+        try {
+            Files.createDirectories(dir);
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to open access log at " + dir, e);
+        }
+        this.thread = new Thread(this::loop, "access-log-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /** 요청 스레드에서 호출. 할당/락/I/O 없음. 가득 차서 버렸으면 false */
+    public boolean publish(long timestamp, String level, String method, String uri, String query, int status, long tookMs,
+                           String traceId, long requestBytes, long responseBytes, String userAgent) {
+        return publish(timestamp, level, method, uri, query, status, tookMs, traceId, requestBytes, responseBytes, userAgent, -1, 0, 0);
+    }
+
+    /** SQL 집계(SqlStatsCollector)까지 붙이는 버전. sqlStatements 가 -1 이면 SQL 항목을 쓰지 않는다 */
+    public boolean publish(long timestamp, String level, String method, String uri, String query, int status, long tookMs,
+                           String traceId, long requestBytes, long responseBytes, String userAgent,
+                           int sqlStatements, long sqlNanos, long sqlRows) {
+        if (!running) return false;
+        return ring.publish(timestamp, level, method, uri, query, status, tookMs, traceId, requestBytes, responseBytes, userAgent,
+                sqlStatements, sqlNanos, sqlRows);
+    }
+
+    public long dropped() {
+        return ring.dropped();
+    }
+
+    // 비어 있으면 조금씩 길게 쉰다(최대 10ms). 생산자가 깨우지 않으므로 요청 쪽에 시스템 호출이 없다
+    private void loop() {
+        long idle = 0;
+        while (running) {
+            int n = writeBatch();
+            if (n > 0) {
+                idle = 0;
+            } else {
+                idle = Math.min(MAX_IDLE_NANOS, Math.max(50_000, idle * 2));
+                LockSupport.parkNanos(idle);
+            }
+        }
+    }
+
+    private int writeBatch() {
+        batch.setLength(0);
+        int n = ring.drain(this::format, BATCH_SIZE);
+        long drops = ring.dropped();
+        if (drops != reportedDrops) {
+            appendTime(batch, System.currentTimeMillis());
+            batch.append(" [AccessLog] dropped ").append(drops - reportedDrops).append(" events (ring full)\n");
+            reportedDrops = drops;
+        }
+        if (batch.length() == 0) return 0;
+        try {
+            byte[] bytes = batch.toString().getBytes(StandardCharsets.UTF_8);
+            if (fileBytes > 0 && fileBytes + bytes.length > maxFileBytes) rotate();
+            out.write(bytes);
+            out.flush();
+            fileBytes += bytes.length;
+        } catch (IOException e) {
+            log.warn("[AccessLog] write failed: {}", e.toString()); // 한 묶음을 잃을 뿐 계속 돈다
+        }
+        return Math.max(n, 1);
+    }
+
+    // [Time]OK GET /api/members?q=kim -> 200 (3 ms) traceId=.. reqB=0B resB=512B ua=..
+    private void format(AccessLogRing.Event e) {
+        StringBuilder sb = batch;
+        appendTime(sb, e.timestamp);
+        sb.append(" [").append(e.level).append("] ").append(e.method).append(' ').append(e.uri);
+        if (e.query != null) sb.append('?').append(e.query);
+        sb.append(" -> ").append(e.status).append(" (").append(e.tookMs).append(" ms) traceId=").append(e.traceId)
+                .append(" reqB=").append(e.requestBytes).append("B resB=").append(e.responseBytes).append('B');
+        if (e.sqlStatements >= 0) {
+            sb.append(" sql=").append(e.sqlStatements).append(" (").append(e.sqlNanos / 1_000_000).append(" ms) rows=").append(e.sqlRows);
+        }
+        sb.append(" ua=").append(e.userAgent).append('\n');
+    }
+
+    private void appendTime(StringBuilder sb, long millis) {
+        long second = Math.floorDiv(millis, 1000);
+        if (second != cachedSecond) {
+            cachedSecond = second;
+            cachedSecondText = LocalDateTime.ofInstant(Instant.ofEpochSecond(second), ZoneId.systemDefault()).format(SECOND);
+        }
+        int ms = (int) Math.floorMod(millis, 1000);
+        sb.append(cachedSecondText).append('.').append((char) ('0' + ms / 100)).append((char) ('0' + ms / 10 % 10)).append((char) ('0' + ms % 10));
+    }
+
+    private void open() throws IOException {
+        Path current = dir.resolve(CURRENT);
+        out = Files.newOutputStream(current, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        fileBytes = Files.size(current);
+    }
+
+    private void rotate() throws IOException {
+        out.close();
+        try {
+            String base = "access-" + LocalDateTime.now().format(ARCHIVE);
+            Path archived = dir.resolve(base + ".log");
+            for (int i = 1; Files.exists(archived); i++) archived = dir.resolve(base + "-" + i + ".log");
+            Files.move(dir.resolve(CURRENT), archived);
+            List<Path> old = archives();
+            for (int i = 0; i < old.size() - maxFiles; i++) Files.deleteIfExists(old.get(i)); // 오래된 것부터
+        } finally {
+            open(); // 이름 바꾸기에 실패해도 계속 쓸 수 있게
+        }
+    }
+
+    List<Path> archives() throws IOException {
+        try (Stream<Path> s = Files.list(dir)) {
+            List<Path> files = new ArrayList<>(s.filter(p -> {
+                String name = p.getFileName().toString();
+                return name.startsWith("access-") && name.endsWith(".log");
+            }).toList());
+            files.sort(null); // 이름에 시각이 들어 있어 이름순 = 시간순
+            return files;
+        }
+    }
+
+    /** 남은 이벤트를 모두 쓰고 파일을 닫는다 */
+    @Override
+    public void close() {
+        if (!running) return;
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(1_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        while (writeBatch() > 0) {
+            // 남은 것 비우기
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            log.warn("[AccessLog] close failed: {}", e.toString());
+        }
+    }
+}
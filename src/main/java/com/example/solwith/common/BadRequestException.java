@@ -0,0 +1,8 @@
+package com.example.solwith.common;
+
+// 클라이언트가 보낸 값이 잘못됨(위조/만료된 커서, 너무 큰 page, 모르는 파라미터 값 등) → 400
+// 내부 버그로 난 IllegalArgumentException 까지 400 으로 바뀌지 않게 요청 값 검증에서만 던진다
+public class BadRequestException extends RuntimeException{
+    public BadRequestException(String msg) { super(msg);}
+    public BadRequestException(String msg, Throwable cause) { super(msg, cause);}
+}
@@ -0,0 +1,51 @@
+package com.example.solwith.common;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * 디버그용 본문 앞부분 복사본 (최대 maxBytes). 샘플로 뽑힌 요청에만 만든다.
+ * 한도를 넘은 뒤로는 복사하지 않고 잘렸다는 표시만 남긴다.
+ * writer 로 쓴 문자도 응답과 같은 문자셋으로 바이트로 바꿔 담는다 → text(같은 문자셋) 으로 실제 보낸 그대로 읽힌다
+ */
+final class BodySample {
+    private final byte[] buf;
+    private int size;
+    private boolean truncated;
+
+    BodySample(int maxBytes) {
+        this.buf = new byte[maxBytes];
+    }
+
+    void bytes(byte[] b, int off, int len) {
+        int n = Math.min(len, buf.length - size);
+        if (n > 0) {
+            System.arraycopy(b, off, buf, size, n);
+            size += n;
+        }
+        if (n < len) truncated = true;
+    }
+
+    void oneByte(int b) {
+        if (size < buf.length) buf[size++] = (byte) b;
+        else truncated = true;
+    }
+
+    void chars(CharSequence s, Charset charset) {
+        int room = buf.length - size;
+        if (room <= 0) {
+            truncated |= s.length() > 0;
+            return;
+        }
+        // 문자 하나는 1바이트 이상이므로 남은 칸 수만큼의 문자만 인코딩하면 충분
+        int n = Math.min(s.length(), room);
+        byte[] encoded = s.subSequence(0, n).toString().getBytes(charset);
+        bytes(encoded, 0, encoded.length);
+        if (n < s.length()) truncated = true;
+    }
+
+    String text(Charset charset) {
+        String s = new String(Arrays.copyOf(buf, size), charset);
+        return truncated ? s + "...(trunc)" : s;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.solwith.common;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 요청 본문을 그대로 흘려 보내면서 읽힌 바이트 수만 센다 (본문을 메모리에 쌓지 않음).
+ * sample 이 있으면 앞부분만 복사해 둔다.
+ */
+final class CountingRequestWrapper extends HttpServletRequestWrapper {
+    private final BodySample sample; // null 이면 복사 안 함
+    private long count;
+    private ServletInputStream in;
+    private BufferedReader reader;
+
+    CountingRequestWrapper(HttpServletRequest request, BodySample sample) {
+        super(request);
+        this.sample = sample;
+    }
+
+    long count() {
+        return count;
+    }
+
+    BodySample sample() {
+        return sample;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (in == null) in = new CountingInputStream(super.getInputStream());
+        return in;
+    }
+
+    // 원래 요청의 getReader 대신 같은 스트림 위에 reader 를 얹는다 (읽은 바이트가 세어지도록)
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) reader = new BufferedReader(new InputStreamReader(getInputStream(), charset()));
+        return reader;
+    }
+
+    Charset charset() {
+        String enc = getCharacterEncoding();
+        try {
+            return enc != null ? Charset.forName(enc) : StandardCharsets.UTF_8;
+        } catch (RuntimeException unsupported) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    private final class CountingInputStream extends ServletInputStream {
+        private final ServletInputStream delegate;
+
+        CountingInputStream(ServletInputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b >= 0) {
+                count++;
+                if (sample != null) sample.oneByte(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = delegate.read(b, off, len);
+            if (n > 0) {
+                count += n;
+                if (sample != null) sample.bytes(b, off, n);
+            }
+            return n;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener listener) {
+            delegate.setReadListener(listener);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.solwith.common;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 응답 본문을 바로 실제 응답으로 흘려 보내면서 바이트 수만 센다.
+ * - ContentCachingResponseWrapper 와 달리 본문을 힙에 쌓았다가 다시 복사하지 않는다 → 큰 응답도 메모리 그대로, 첫 바이트도 바로 나간다
+ * - getWriter 는 컨테이너의 writer 를 그대로 감싸고 문자 수를 인코딩 기준 바이트로 센다 (UTF-8 은 정확, 그 밖의 다바이트 문자셋은 근사)
+ * - sample 이 있으면 앞부분만 복사해 둔다
+ */
+final class CountingResponseWrapper extends HttpServletResponseWrapper {
+    private final BodySample sample; // null 이면 복사 안 함
+    private long count;
+    private ServletOutputStream out;
+    private PrintWriter writer;
+
+    CountingResponseWrapper(HttpServletResponse response, BodySample sample) {
+        super(response);
+        this.sample = sample;
+    }
+
+    long count() {
+        return count;
+    }
+
+    BodySample sample() {
+        return sample;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (out == null) out = new CountingOutputStream(super.getOutputStream());
+        return out;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) writer = new PrintWriter(new CountingWriter(super.getWriter(), charset()));
+        return writer;
+    }
+
+    Charset charset() {
+        String enc = getCharacterEncoding();
+        try {
+            return enc != null ? Charset.forName(enc) : StandardCharsets.ISO_8859_1;
+        } catch (RuntimeException unsupported) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    private final class CountingOutputStream extends ServletOutputStream {
+        private final ServletOutputStream delegate;
+
+        CountingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            count++;
+            if (sample != null) sample.oneByte(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            count += len;
+            if (sample != null) sample.bytes(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            delegate.setWriteListener(listener);
+        }
+    }
+
+    private final class CountingWriter extends Writer {
+        private final Writer delegate;
+        private final Charset charset; // 컨테이너 writer 가 인코딩하는 문자셋 (샘플도 같은 문자셋으로)
+        private final boolean utf8;
+        private final boolean singleByte;
+
+        CountingWriter(Writer delegate, Charset charset) {
+            this.delegate = delegate;
+            this.charset = charset;
+            this.utf8 = StandardCharsets.UTF_8.equals(charset);
+            this.singleByte = StandardCharsets.ISO_8859_1.equals(charset) || StandardCharsets.US_ASCII.equals(charset);
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            delegate.write(c);
+            count += bytes((char) c);
+            if (sample != null) sample.chars(String.valueOf((char) c), charset);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            delegate.write(cbuf, off, len);
+            for (int i = off; i < off + len; i++) count += bytes(cbuf[i]);
+            if (sample != null) sample.chars(CharBuffer.wrap(cbuf, off, len), charset);
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            delegate.write(str, off, len);
+            for (int i = off; i < off + len; i++) count += bytes(str.charAt(i));
+            if (sample != null) sample.chars(str.substring(off, off + len), charset);
+        }
+
+        // 서로게이트 쌍은 반쪽마다 2 → 한 쌍에 UTF-8 4바이트
+        private int bytes(char c) {
+            if (singleByte || c < 0x80) return 1;
+            if (!utf8) return 2;
+            if (c < 0x800 || Character.isSurrogate(c)) return 2;
+            return 3;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -75,6 +75,30 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
     }
 
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<ApiResponse<Void>> handleVersionConflict(VersionConflictException e, HttpServletRequest req){
+        ApiResponse<Void> body = ApiResponse.error(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                e.getMessage(),
+                req.getRequestURI(),
+                traceId(req),
+                null
+        );
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(body);
+    }
+
+    @ExceptionHandler(BadRequestException.class) // 잘못된 요청 값(예: 위조/만료된 검색 커서)
+    public ResponseEntity<ApiResponse<Void>> handleBadRequest(BadRequestException e, HttpServletRequest req){
+        ApiResponse<Void> body = ApiResponse.error(
+                HttpStatus.BAD_REQUEST.value(),
+                e.getMessage(),
+                req.getRequestURI(),
+                traceId(req),
+                null
+        );
+        return ResponseEntity.badRequest().body(body);
+    }
+
     @ExceptionHandler(Exception.class) // 마지막 안전망
     public ResponseEntity<ApiResponse<Void>> handleOthers(Exception e, HttpServletRequest req){
         ApiResponse<Void> body = ApiResponse.error(
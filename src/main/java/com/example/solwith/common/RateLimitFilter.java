@@ -0,0 +1,145 @@
+package com.example.solwith.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * 경로별 요청 수 제한. 한도를 넘으면 컨트롤러/DB(행 잠금)까지 가기 전에 429 + Retry-After 로 돌려보낸다.
+ * - 규칙은 위에서부터 첫 번째로 일치하는 것 하나만 적용, 일치하는 규칙이 없으면 제한 없음
+ * - 버킷 키: user(로그인 사용자, 토큰이 없거나 잘못됐으면 IP) / ip / route(경로 규칙 전체가 버킷 하나)
+ * - 보안 필터 체인보다 앞에서 돈다 → 사용자는 principal 함수(JWT 검증, 캐시 hit 이면 맵 조회 한 번)로 직접 알아낸다
+ * - TraceIdFilter / RequestLoggingFilter 보다는 뒤 → 거절된 요청도 traceId 헤더가 붙고 접근 로그/경로 지표에 남는다
+ * - 429 본문은 다른 에러와 같은 ApiResponse 형식 (errors[0].reason = RATE_LIMITED)
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public enum KeyType { USER, IP, ROUTE }
+
+    /** 경로 패턴(Ant 형식, 앞에 메서드를 붙이면 그 메서드만: "POST /api/members/**"), 초당 허용 수, 버스트, 키 종류 */
+    public record Rule(String method, String pattern, double perSecond, int burst, KeyType key) {
+        public Rule {
+            if (perSecond <= 0 || burst <= 0) throw new IllegalArgumentException("rate limit must be positive: " + pattern);
+        }
+
+        long intervalNanos() {
+            return Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / perSecond));
+        }
+
+        /**
+         * "규칙; 규칙; .." 형식. 규칙 = [메서드] 경로패턴 초당허용수 버스트 [user|ip|route] (키 생략 시 user)
+         * 예) "POST /api/members/import 1 5; /api/members/** 50 100 user; /api/** 200 400 ip"
+         */
+        public static List<Rule> parse(String spec) {
+            List<Rule> rules = new ArrayList<>();
+            if (spec == null) return rules;
+            for (String part : spec.split(";")) {
+                if (part.isBlank()) continue;
+                String[] t = part.trim().split("\\s+");
+                int i = 0;
+                String method = t[0].startsWith("/") ? null : t[i++].toUpperCase(Locale.ROOT);
+                if (t.length - i < 3 || t.length - i > 4) throw new IllegalArgumentException("invalid rate limit rule: " + part.trim());
+                String pattern = t[i++];
+                double perSecond = Double.parseDouble(t[i++]);
+                int burst = Integer.parseInt(t[i++]);
+                KeyType key = i < t.length ? KeyType.valueOf(t[i].toUpperCase(Locale.ROOT)) : KeyType.USER;
+                rules.add(new Rule(method, pattern, perSecond, burst, key));
+            }
+            return rules;
+        }
+    }
+
+    private final List<Rule> rules;
+    private final Function<String, String> principal; // Bearer 토큰 → 사용자 이름 (검증 실패면 null)
+    private final RateLimiter limiter;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(List<Rule> rules, Function<String, String> principal, int maxBuckets, ObjectMapper objectMapper) {
+        this(rules, principal, maxBuckets, objectMapper, System::nanoTime);
+    }
+
+    RateLimitFilter(List<Rule> rules, Function<String, String> principal, int maxBuckets, ObjectMapper objectMapper,
+                    LongSupplier nanoClock) {
+        this.rules = List.copyOf(rules);
+        this.principal = principal;
+        this.objectMapper = objectMapper;
+        this.limiter = new RateLimiter(maxBuckets, Runtime.getRuntime().availableProcessors() * 4, nanoClock);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return rules.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        int index = match(request);
+        if (index < 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        Rule rule = rules.get(index);
+        long waitNanos = limiter.tryAcquire(index + "|" + key(rule, request), rule.intervalNanos(), rule.burst());
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long retryAfter = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1)); // 초 단위 올림
+        ApiResponse<Void> body = ApiResponse.error(
+                429,
+                "Too many requests",
+                request.getRequestURI(),
+                (String) request.getAttribute(TraceIdFilter.TRACE_ID),
+                List.of(new ApiResponse.ErrorDetail(null, "RATE_LIMITED", "retry after " + retryAfter + " seconds"))
+        );
+        response.setStatus(429);
+        response.setHeader("Retry-After", Long.toString(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private int match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (int i = 0; i < rules.size(); i++) {
+            Rule r = rules.get(i);
+            if ((r.method() == null || r.method().equals(request.getMethod())) && matcher.match(r.pattern(), path)) return i;
+        }
+        return -1;
+    }
+
+    private String key(Rule rule, HttpServletRequest request) {
+        switch (rule.key()) {
+            case ROUTE:
+                return "*";
+            case USER:
+                String header = request.getHeader("Authorization");
+                if (header != null && header.startsWith("Bearer ")) {
+                    String user = principal.apply(header.substring(7));
+                    if (user != null) return "u:" + user;
+                }
+                // 토큰이 없거나 잘못됐으면 IP 로
+            default:
+                return "ip:" + request.getRemoteAddr(); // 프록시 뒤라면 server.forward-headers-strategy 로 실제 IP 를 받는다
+        }
+    }
+
+    int bucketCount() {
+        return limiter.size();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.solwith.common;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 키별 토큰 버킷 (락 없음, 크기 제한).
+ * - 버킷 하나 = long 하나(TAT: 버킷이 다시 가득 차는 시각). 토큰 수와 마지막 충전 시각을 따로 두지 않아도 같은 동작이고,
+ *   허용/거부 판정과 소비가 CAS 한 번으로 끝난다 (GCRA: 초당 rate 개 충전, 최대 burst 개까지 모아 둘 수 있음)
+ * - 키 해시로 stripe 를 나눠 각자 크기 한도와 정리를 가진다 → 정리가 전체 표를 멈추지 않고, 정리하는 스레드도 stripe 마다 하나
+ * - 정리는 가득 찬 버킷(TAT 가 지난 것)부터 지운다. 가득 찬 버킷은 새로 만든 버킷과 같으므로 지워도 판정이 바뀌지 않는다
+ *   (정리와 같은 순간에 들어온 요청 한두 개는 지워진 버킷에 기록돼 세지 않을 수 있다)
+ */
+final class RateLimiter {
+    private static final long FULL = Long.MIN_VALUE; // 새 버킷: 가득 찬 상태
+
+    private final Stripe[] stripes;
+    private final int maxPerStripe;
+    private final LongSupplier nanoClock;
+
+    private static final class Stripe {
+        final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        final AtomicBoolean sweeping = new AtomicBoolean();
+    }
+
+    RateLimiter(int maxBuckets, int stripeCount, LongSupplier nanoClock) {
+        int n = Integer.highestOneBit(Math.max(1, Math.min(stripeCount, maxBuckets))); // 2의 거듭제곱으로 맞춰 & 로 고른다
+        this.stripes = new Stripe[n];
+        for (int i = 0; i < n; i++) stripes[i] = new Stripe();
+        this.maxPerStripe = Math.max(1, maxBuckets / n);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @param intervalNanos 토큰 하나가 충전되는 시간 (1초 / 초당 허용 수)
+     * @param burst         모아 둘 수 있는 최대 토큰 수
+     * @return 0 이면 허용(토큰 하나 소비), 아니면 다음 토큰까지 기다려야 하는 시간(ns)
+     */
+    long tryAcquire(String key, long intervalNanos, int burst) {
+        Stripe stripe = stripes[spread(key.hashCode()) & (stripes.length - 1)];
+        AtomicLong tat = stripe.buckets.get(key);
+        if (tat == null) {
+            if (stripe.buckets.size() >= maxPerStripe) sweep(stripe);
+            tat = stripe.buckets.computeIfAbsent(key, k -> new AtomicLong(FULL));
+        }
+        long now = nanoClock.getAsLong();
+        long tolerance = intervalNanos * burst;
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + intervalNanos; // 이 요청까지 받았을 때의 TAT
+            long allowAt = next - tolerance;
+            if (allowAt > now) return allowAt - now;
+            if (tat.compareAndSet(current, next)) return 0;
+        }
+    }
+
+    int size() {
+        int n = 0;
+        for (Stripe s : stripes) n += s.buckets.size();
+        return n;
+    }
+
+    private void sweep(Stripe stripe) {
+        if (!stripe.sweeping.compareAndSet(false, true)) return; // 다른 스레드가 정리 중
+        try {
+            long now = nanoClock.getAsLong();
+            stripe.buckets.values().removeIf(tat -> tat.get() <= now); // 가득 찬(쉬고 있는) 버킷
+            int target = maxPerStripe - Math.max(1, maxPerStripe / 8);
+            Iterator<AtomicLong> it = stripe.buckets.values().iterator();
+            while (stripe.buckets.size() > target && it.hasNext()) { // 그래도 많으면 임의로 비운다(그 키는 새 버킷으로 다시 시작)
+                it.next();
+                it.remove();
+            }
+        } finally {
+            stripe.sweeping.set(false);
+        }
+    }
+
+    // 문자열 해시의 하위 비트만 쓰므로 상위 비트를 섞는다 (HashMap.hash 와 같은 방식)
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+}
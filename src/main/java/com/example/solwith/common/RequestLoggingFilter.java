@@ -7,51 +7,141 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
 
 import java.io.IOException;
 import java.util.Enumeration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * 요청 한 건당 한 줄 접근 로그 (메서드, 경로, 상태, 걸린 시간, 요청/응답 바이트 수).
+ * - 본문은 카운팅 래퍼로 흘려 보내면서 크기만 센다 → 응답을 힙에 쌓지 않고, 스트리밍/SSE 도 같은 경로로 잰다
+ * - 본문 내용이 필요하면 capture-sample-every 건 중 1건만 앞부분(capture-max-bytes)을 복사해서 따로 찍는다 (기본 끔)
+ * - AccessLogWriter 가 있으면 한 줄을 만들지 않고 값만 링 버퍼에 넘긴다 (포맷/파일 쓰기는 기록 스레드가)
+ * - RouteLatencyTracker 가 있으면 경로별로 응답 시간을 기록하고, SLOW 는 그 경로의 느림 기준(지난 창 p99)으로 판단한다.
+ *   처리 중에는 스레드에 처리 중 표시를 해 두어 SlowRequestSampler 가 느려지는 요청의 스택을 뜰 수 있게 한다
+ * - SqlStatsCollector 가 있으면 요청 동안 실행된 SQL 수/시간/행 수를 같은 줄에 붙이고, 같은 문장 반복(N+1 의심)은 따로 경고한다
+ */
 public class RequestLoggingFilter extends OncePerRequestFilter {
 
     private static final Logger log = LoggerFactory.getLogger(RequestLoggingFilter.class);
     private static final long SLOW_MS = 700;
+    private static final String START_ATTR = RequestLoggingFilter.class.getName() + ".start";
+    private static final String START_NANOS_ATTR = RequestLoggingFilter.class.getName() + ".startNanos";
+
+    private final int captureSampleEvery; // 0 이면 본문 복사 안 함
+    private final int captureMaxBytes;
+    private final AccessLogWriter accessLog; // null 이면 slf4j 로 바로 찍는다
+    private final RouteLatencyTracker routes;  // null 이면 고정 기준(SLOW_MS)
+    private final SqlStatsCollector sqlStats;  // null 이면 SQL 집계 안 함
+
+    // 선택 협력 객체(accessLog, routes, sqlStats)는 null 이면 그 기능을 끈다 (WebConfig 가 한곳에서 조립)
+    public RequestLoggingFilter(int captureSampleEvery, int captureMaxBytes, AccessLogWriter accessLog, RouteLatencyTracker routes,
+                                SqlStatsCollector sqlStats) {
+        this.routes = routes;
+        this.sqlStats = sqlStats;
+        this.captureSampleEvery = captureMaxBytes > 0 ? Math.max(0, captureSampleEvery) : 0;
+        this.captureMaxBytes = captureMaxBytes;
+        this.accessLog = accessLog;
+    }
+
+    // long-poll(DeferredResult)/SSE 응답은 async dispatch 에서 끝나므로 그때도 필터를 타야 끝난 시점에 로그를 남길 수 있다
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
-        ContentCachingRequestWrapper requestWrapper = new ContentCachingRequestWrapper(request);
-        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        // async dispatch 면 최초 dispatch 때 만든 래퍼를 그대로 이어 쓴다 (그동안 센 바이트 수 유지)
+        boolean asyncDispatch = isAsyncDispatch(request);
+        CountingRequestWrapper requestWrapper;
+        CountingResponseWrapper responseWrapper;
+        if (asyncDispatch) {
+            requestWrapper = WebUtils.getNativeRequest(request, CountingRequestWrapper.class);
+            responseWrapper = WebUtils.getNativeResponse(response, CountingResponseWrapper.class);
+        } else {
+            boolean capture = captureSampleEvery > 0 && ThreadLocalRandom.current().nextInt(captureSampleEvery) == 0;
+            requestWrapper = new CountingRequestWrapper(request, capture ? new BodySample(captureMaxBytes) : null);
+            responseWrapper = new CountingResponseWrapper(response, capture ? new BodySample(captureMaxBytes) : null);
+        }
+        if (requestWrapper == null || responseWrapper == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
 
-        long start = System.currentTimeMillis();
+        Object startedAt = request.getAttribute(START_ATTR);
+        long start = startedAt instanceof Long l ? l : System.currentTimeMillis();
+        request.setAttribute(START_ATTR, start);
+        Object startedAtNanos = request.getAttribute(START_NANOS_ATTR);
+        long startNanos = startedAtNanos instanceof Long l ? l : System.nanoTime();
+        request.setAttribute(START_NANOS_ATTR, startNanos);
         String traceId = (String) request.getAttribute(TraceIdFilter.TRACE_ID);
-        String uri = request.getRequestURI();
-        String method = request.getMethod();
+        TraceContext trace = (TraceContext) request.getAttribute(TraceIdFilter.CONTEXT);
+        if (sqlStats != null && trace != null) sqlStats.begin(trace);
 
+        RouteLatencyTracker.InFlight inFlight = routes != null ? routes.begin(startNanos) : null;
         try {
-            filterChain.doFilter(requestWrapper, responseWrapper);
+            filterChain.doFilter(asyncDispatch ? request : requestWrapper, asyncDispatch ? response : responseWrapper);
         } finally {
-            long took = System.currentTimeMillis() - start;
-            int status = responseWrapper.getStatus();
+            if (inFlight != null) routes.end(inFlight);
+            if (!isAsyncStarted(request)) { // 비동기 처리 중이면 응답은 아직 → 끝나는 dispatch 에서 로그
+                log(request, requestWrapper, responseWrapper, start, System.nanoTime() - startNanos, trace, traceId);
+            }
+        }
+    }
 
-            // 간단 헤더/쿼리 로 (민감한 정보는 마스킹)
-            String q = request.getQueryString();
-            String query = (q == null ? "" : "?" + q);
-            String ua = mask(headerFirst(request, "User-Agent"));
-            int reqSize = requestWrapper.getContentAsByteArray().length;
-            int resSize = responseWrapper.getContentAsByteArray().length;
+    private void log(HttpServletRequest request, CountingRequestWrapper requestWrapper,
+                     CountingResponseWrapper responseWrapper, long start, long tookNanos, TraceContext trace, String traceId) {
+        long took = TimeUnit.NANOSECONDS.toMillis(tookNanos);
+        int status = responseWrapper.getStatus();
 
-            String level = took >= SLOW_MS ? "[Time]SLOW" : "[Time]OK";
+        // 간단 헤더/쿼리 로 (민감한 정보는 마스킹)
+        String q = request.getQueryString();
+        String ua = mask(headerFirst(request, "User-Agent"));
 
+        String route = RouteLatencyTracker.route(request);
+        boolean slow = routes != null ? routes.record(route, tookNanos) : took >= SLOW_MS;
+        String level = isStreaming(request) ? "[Time]STREAM" : slow ? "[Time]SLOW" : "[Time]OK";
+        SqlStats sql = sqlStats != null && trace != null ? sqlStats.end(trace, route) : null;
+
+        if (accessLog != null) {
+            accessLog.publish(start + took, level, request.getMethod(), request.getRequestURI(), q, status, took, traceId,
+                    requestWrapper.count(), responseWrapper.count(), ua,
+                    sql != null ? sql.statements() : -1, sql != null ? sql.nanos() : 0, sql != null ? sql.rows() : 0);
+        } else if (sql != null) {
+            log.info("[{}] {} {}{} -> {} ({} ms) traceId={} reqB={}B resB={}B sql={} ({} ms) rows={} ua={}",
+                    level, request.getMethod(), request.getRequestURI(), (q == null ? "" : "?" + q), status, took, traceId,
+                    requestWrapper.count(), responseWrapper.count(), sql.statements(), TimeUnit.NANOSECONDS.toMillis(sql.nanos()),
+                    sql.rows(), ua);
+        } else {
             log.info("[{}] {} {}{} -> {} ({} ms) traceId={} reqB={}B resB={}B ua={}",
-                    level, method, uri, query, status, took, traceId, reqSize, resSize, ua);
+                    level, request.getMethod(), request.getRequestURI(), (q == null ? "" : "?" + q), status, took, traceId,
+                    requestWrapper.count(), responseWrapper.count(), ua);
+        }
 
-            //래퍼의 내용을 실제 응답으로 복사
-            responseWrapper.copyBodyToResponse();
+        if (sql != null && sqlStats.isRepeated(sql)) {
+            log.warn("[SQL] same statement executed {} times in one request (N+1?) route={} traceId={} sql={}",
+                    sql.maxRepeats(), route, traceId, SqlStatsCollector.abbreviate(sql.mostRepeated()));
+        }
 
+        if (requestWrapper.sample() != null) {
+            log.info("[Body] traceId={} req={} res={}", traceId,
+                    requestWrapper.sample().text(requestWrapper.charset()), responseWrapper.sample().text(responseWrapper.charset()));
         }
     }
 
+    // 회원 내보내기/일괄 등록/SSE 처럼 본문을 스트리밍하는 요청인지 (Accept/Content-Type 이 NDJSON·CSV·event-stream 또는 ?stream=)
+    private boolean isStreaming(HttpServletRequest req) {
+        String contentType = req.getContentType();
+        if (contentType != null && (contentType.startsWith("application/x-ndjson") || contentType.startsWith("text/csv"))) return true;
+        String accept = req.getHeader("Accept");
+        if (accept != null && (accept.contains("application/x-ndjson") || accept.contains("text/event-stream"))) return true;
+        String q = req.getQueryString(); // getParameter 는 폼 본문까지 읽어버리므로 쿼리스트링만 본다
+        return q != null && (q.startsWith("stream=") || q.contains("&stream="));
+    }
+
     //헤더의 첫번째 값을 뽑아오는 함수
     private String headerFirst(HttpServletRequest req, String name) {
         Enumeration<String> e = req.getHeaders(name);
@@ -0,0 +1,204 @@
+package com.example.solwith.common;
+
+import com.example.solwith.aop.LatencyHistogram;
+import com.example.solwith.aop.LatencyRecorder;
+import com.example.solwith.dto.RouteLatencyStats;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 경로(메서드 + 매핑 패턴)별 응답 시간 히스토그램과 경로별 느림 기준.
+ * - 기록은 MethodLatencyRecorder 와 같은 LatencyRecorder: 스레드마다 자기 칸 배열, 읽을 때 합치고 누적 차이로 구간을 만든다
+ * - 느림 기준은 경로마다 따로: 지난 창(window-seconds)의 p99 (slow-min-ms 미만이면 slow-min-ms).
+ *   창 안의 요청이 min-samples 보다 적으면 이전 기준 유지, 처음엔 slow-ms (예전 고정값 700ms)
+ * - 처리 중인 요청은 스레드마다 InFlight 한 칸을 재사용해서 표시한다 → SlowRequestSampler 가 느려지는 요청의 스레드를 찾는다
+ * - 끝난 스레드의 InFlight 는 새 스레드 등록/조회 때 뺀다 → 스레드가 바뀌어도 쌓이지 않는다
+ */
+@Component
+public class RouteLatencyTracker {
+    static final String UNMATCHED = "UNMATCHED"; // 매핑 전(404/필터에서 끝난 요청 등)
+
+    private final ConcurrentHashMap<String, RouteLatency> routes = new ConcurrentHashMap<>();
+    private final List<InFlight> inFlight = new CopyOnWriteArrayList<>(); // 살아있는 요청 스레드 수만큼
+    private final ThreadLocal<InFlight> current = ThreadLocal.withInitial(() -> {
+        inFlight.removeIf(f -> !f.thread.isAlive()); // 스레드가 새로 올 때(드묾) 끝난 스레드 정리
+        InFlight f = new InFlight(Thread.currentThread());
+        inFlight.add(f);
+        return f;
+    });
+    private final LongSupplier nanoClock;
+    private final long defaultSlowNanos;
+    private final long minSlowNanos;
+    private final long minSamples;
+    private final long windowNanos;
+    private final long startedAt;
+    private long windowStartedAt;   // roll() 에서만 (synchronized)
+    private long intervalStartedAt; // interval() 에서만 (synchronized)
+
+    @Autowired
+    public RouteLatencyTracker(@Value("${route-latency.slow-ms:700}") long slowMs,
+                               @Value("${route-latency.slow-min-ms:50}") long slowMinMs,
+                               @Value("${route-latency.min-samples:100}") long minSamples,
+                               @Value("${route-latency.window-seconds:60}") long windowSeconds) {
+        this(slowMs, slowMinMs, minSamples, windowSeconds, System::nanoTime);
+    }
+
+    RouteLatencyTracker(long slowMs, long slowMinMs, long minSamples, long windowSeconds, LongSupplier nanoClock) {
+        this.defaultSlowNanos = TimeUnit.MILLISECONDS.toNanos(slowMs);
+        this.minSlowNanos = TimeUnit.MILLISECONDS.toNanos(slowMinMs);
+        this.minSamples = Math.max(1, minSamples);
+        this.windowNanos = TimeUnit.SECONDS.toNanos(Math.max(1, windowSeconds));
+        this.nanoClock = nanoClock;
+        this.startedAt = nanoClock.getAsLong();
+        this.windowStartedAt = startedAt;
+        this.intervalStartedAt = startedAt;
+    }
+
+    /** "GET /api/members/{id}". 매핑 패턴이 없으면 UNMATCHED (경로 수가 URL 수만큼 늘지 않게) */
+    public static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : UNMATCHED);
+    }
+
+    long nanoTime() {
+        return nanoClock.getAsLong();
+    }
+
+    /** 현재 스레드가 startedAt 에 시작한 요청을 처리 중이라고 표시 (할당 없음) */
+    InFlight begin(long startedAt) {
+        InFlight f = current.get();
+        f.route = null;
+        f.startedAt = startedAt;
+        f.active = true;
+        return f;
+    }
+
+    /** 핸들러가 정해지면(인터셉터) 처리 중인 요청에 경로를 붙인다 */
+    public void resolved(String route) {
+        current.get().route = route;
+    }
+
+    void end(InFlight f) {
+        f.active = false;
+    }
+
+    /** 완료된 요청 기록. 이 경로의 느림 기준을 넘었으면 true */
+    boolean record(String route, long nanos) {
+        RouteLatency r = routes.get(route);
+        if (r == null) r = routes.computeIfAbsent(route, key -> new RouteLatency(key, defaultSlowNanos));
+        r.recorder.record(nanos);
+        if (nanos < r.slowNanos) return false;
+        r.slow.increment();
+        return true;
+    }
+
+    /** 경로의 현재 느림 기준(ns). 아직 기록이 없는 경로는 slow-ms */
+    long slowNanos(String route) {
+        RouteLatency r = route != null ? routes.get(route) : null;
+        return r != null ? r.slowNanos : defaultSlowNanos;
+    }
+
+    List<InFlight> inFlight() {
+        inFlight.removeIf(f -> !f.thread.isAlive());
+        return inFlight;
+    }
+
+    /** 창이 지났으면 경로마다 지난 창의 p99 로 느림 기준을 다시 잡는다 (백그라운드 스레드가 주기적으로 호출) */
+    synchronized void roll() {
+        long now = nanoClock.getAsLong();
+        if (now - windowStartedAt < windowNanos) return;
+        windowStartedAt = now;
+        for (RouteLatency r : routes.values()) {
+            long[] cumulative = r.recorder.cumulative();
+            LatencyHistogram window = new LatencyHistogram(delta(cumulative, r.previousWindow));
+            r.previousWindow = cumulative;
+            if (window.count() >= minSamples) r.slowNanos = Math.max(minSlowNanos, window.valueAt(99));
+        }
+    }
+
+    /** 지난 interval() 호출 이후 구간 통계 (부를 때마다 구간이 새로 시작된다) */
+    public synchronized List<RouteLatencyStats> interval() {
+        long now = nanoClock.getAsLong();
+        long elapsed = now - intervalStartedAt;
+        intervalStartedAt = now;
+        List<RouteLatencyStats> stats = new ArrayList<>(routes.size());
+        for (RouteLatency r : routes.values()) {
+            long[] cumulative = r.recorder.cumulative();
+            long slow = r.slow.sum();
+            stats.add(stats(r, new LatencyHistogram(delta(cumulative, r.previousInterval)), slow - r.previousSlow, elapsed));
+            r.previousInterval = cumulative;
+            r.previousSlow = slow;
+        }
+        stats.sort(Comparator.comparing(RouteLatencyStats::getRoute));
+        return stats;
+    }
+
+    /** 기동 이후 누적 통계 (구간은 건드리지 않는다) */
+    public List<RouteLatencyStats> total() {
+        long elapsed = nanoClock.getAsLong() - startedAt;
+        List<RouteLatencyStats> stats = new ArrayList<>(routes.size());
+        for (RouteLatency r : routes.values()) stats.add(stats(r, new LatencyHistogram(r.recorder.cumulative()), r.slow.sum(), elapsed));
+        stats.sort(Comparator.comparing(RouteLatencyStats::getRoute));
+        return stats;
+    }
+
+    private static long[] delta(long[] current, long[] previous) {
+        long[] d = new long[current.length];
+        for (int i = 0; i < current.length; i++) d[i] = current[i] - previous[i];
+        return d;
+    }
+
+    private static RouteLatencyStats stats(RouteLatency r, LatencyHistogram h, long slow, long elapsedNanos) {
+        double seconds = Math.max(1, elapsedNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        return new RouteLatencyStats(r.route, h.count(), round(h.count() / seconds),
+                millis(h.valueAt(50)), millis(h.valueAt(90)), millis(h.valueAt(99)), millis(h.max()),
+                millis(r.slowNanos), slow);
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 100) / 100.0;
+    }
+
+    /** 스레드 하나의 처리 중 표시. 그 스레드만 쓰고 샘플러가 읽는다 */
+    static final class InFlight {
+        final Thread thread;
+        volatile boolean active;
+        volatile long startedAt;
+        volatile String route; // 핸들러가 정해지기 전엔 null
+
+        InFlight(Thread thread) {
+            this.thread = thread;
+        }
+    }
+
+    private static final class RouteLatency {
+        final String route;
+        final LatencyRecorder recorder = new LatencyRecorder();
+        final LongAdder slow = new LongAdder();
+        volatile long slowNanos;
+        long[] previousWindow = new long[LatencyHistogram.LENGTH];   // roll() 에서만
+        long[] previousInterval = new long[LatencyHistogram.LENGTH]; // interval() 에서만
+        long previousSlow;
+
+        RouteLatency(String route, long slowNanos) {
+            this.route = route;
+            this.slowNanos = slowNanos;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.solwith.common;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.LockInfo;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 느려지는 요청의 스택 샘플러 (프로파일러를 붙이지 않고 운영에서 "왜 느린지" 보기용).
+ * - sample-interval-ms 마다 처리 중인 요청 중 경로 느림 기준의 절반을 넘긴 것(느림 후보)만 골라 그 스레드들의 스택을 한 번에 뜬다
+ * - 스택은 "경로;바깥 프레임;...;안쪽 프레임 횟수" (collapsed stack) 로 합쳐 둔다 → flamegraph.pl / speedscope 에 그대로 넣으면 된다
+ * - 락/모니터를 기다리는 중이면 맨 끝에 [BLOCKED on 락 클래스] / [WAITING on ..] 프레임을 붙인다
+ * - 그 사이 GC 가 돌았으면 후보마다 "경로;[GC]" 샘플을 하나씩 더한다 (GC 멈춤과 겹친 요청 표시)
+ * - 후보가 없으면 스레드 목록만 훑고 끝 → 평소 비용은 거의 없다. 느림 기준 갱신(RouteLatencyTracker.roll)도 이 스레드가 한다
+ */
+@Component
+public class SlowRequestSampler {
+    private static final Logger log = LoggerFactory.getLogger(SlowRequestSampler.class);
+    private static final long ROLL_ONLY_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final RouteLatencyTracker tracker;
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final long intervalNanos; // 0 이면 스택은 안 뜨고 느림 기준 갱신만
+    private final int maxStacks;
+    private final int maxDepth;
+    private final ConcurrentHashMap<String, LongAdder> stacks = new ConcurrentHashMap<>();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    // 샘플러 스레드 전용
+    private final List<RouteLatencyTracker.InFlight> candidates = new ArrayList<>();
+    private final List<String> candidateRoutes = new ArrayList<>();
+    private long lastGcMillis;
+
+    @Autowired
+    public SlowRequestSampler(RouteLatencyTracker tracker,
+                              @Value("${route-latency.sample-interval-ms:20}") long intervalMs,
+                              @Value("${route-latency.max-stacks:5000}") int maxStacks,
+                              @Value("${route-latency.max-depth:128}") int maxDepth) {
+        this(tracker, intervalMs, maxStacks, maxDepth, true);
+    }
+
+    SlowRequestSampler(RouteLatencyTracker tracker, long intervalMs, int maxStacks, int maxDepth, boolean background) {
+        this.tracker = tracker;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, intervalMs));
+        this.maxStacks = Math.max(1, maxStacks);
+        this.maxDepth = Math.max(1, maxDepth);
+        this.lastGcMillis = gcMillis();
+        if (background) {
+            this.thread = new Thread(this::loop, "slow-request-sampler");
+            this.thread.setDaemon(true);
+            this.thread.start();
+        } else {
+            this.thread = null;
+        }
+    }
+
+    private void loop() {
+        long sleep = intervalNanos > 0 ? intervalNanos : ROLL_ONLY_INTERVAL_NANOS;
+        while (running) {
+            try {
+                tracker.roll();
+                if (intervalNanos > 0) sampleOnce();
+            } catch (RuntimeException e) {
+                log.warn("[Sampler] sample failed: {}", e.toString()); // 한 번 놓칠 뿐 계속 돈다
+            }
+            LockSupport.parkNanos(sleep);
+        }
+    }
+
+    /** 느림 후보 스레드의 스택을 한 번 뜬다. 뜬 스레드 수를 돌려준다 */
+    int sampleOnce() {
+        long now = tracker.nanoTime();
+        long gc = gcMillis();
+        boolean gcRan = gc != lastGcMillis;
+        lastGcMillis = gc;
+
+        candidates.clear();
+        candidateRoutes.clear();
+        for (RouteLatencyTracker.InFlight f : tracker.inFlight()) {
+            if (!f.active) continue;
+            String route = f.route;
+            if (now - f.startedAt >= tracker.slowNanos(route) / 2) {
+                candidates.add(f);
+                candidateRoutes.add(route != null ? route : "(unresolved)");
+            }
+        }
+        if (candidates.isEmpty()) return 0;
+
+        long[] ids = new long[candidates.size()];
+        for (int i = 0; i < ids.length; i++) ids[i] = candidates.get(i).thread.threadId();
+        ThreadInfo[] infos = threads.getThreadInfo(ids, maxDepth); // 후보 전부를 한 번의 safepoint 로
+        int sampled = 0;
+        for (int i = 0; i < infos.length; i++) {
+            if (infos[i] == null || !candidates.get(i).active) continue; // 그 사이 끝났거나 스레드가 사라짐
+            String route = candidateRoutes.get(i);
+            add(route, collapse(route, infos[i]));
+            if (gcRan) add(route, route + ";[GC]");
+            sampled++;
+        }
+        return sampled;
+    }
+
+    private static String collapse(String route, ThreadInfo info) {
+        StringBuilder sb = new StringBuilder(1024).append(route);
+        StackTraceElement[] frames = info.getStackTrace();
+        for (int i = frames.length - 1; i >= 0; i--) { // 바깥(스레드 시작) → 안쪽
+            sb.append(';').append(frames[i].getClassName()).append('.').append(frames[i].getMethodName());
+        }
+        Thread.State state = info.getThreadState();
+        if (state == Thread.State.BLOCKED || state == Thread.State.WAITING || state == Thread.State.TIMED_WAITING) {
+            LockInfo lock = info.getLockInfo();
+            sb.append(";[").append(state);
+            if (lock != null) sb.append(" on ").append(lock.getClassName());
+            sb.append(']');
+        }
+        return sb.toString();
+    }
+
+    private void add(String route, String stack) {
+        LongAdder count = stacks.get(stack);
+        if (count == null) {
+            if (stacks.size() >= maxStacks) stack = route + ";[other stacks]"; // 서로 다른 스택 수 상한
+            count = stacks.computeIfAbsent(stack, k -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    private long gcMillis() {
+        long sum = 0;
+        for (GarbageCollectorMXBean gc : collectors) sum += Math.max(0, gc.getCollectionTime());
+        return sum;
+    }
+
+    /** collapsed stack 텍스트 ("프레임;프레임;... 횟수" 한 줄씩). route 가 있으면 그 경로만 */
+    public String collapsed(String route) {
+        Map<String, Long> sorted = new TreeMap<>();
+        stacks.forEach((stack, count) -> {
+            if (route == null || stack.startsWith(route + ";")) sorted.put(stack, count.sum());
+        });
+        StringBuilder sb = new StringBuilder();
+        sorted.forEach((stack, count) -> sb.append(stack).append(' ').append(count).append('\n'));
+        return sb.toString();
+    }
+
+    /** 모은 샘플을 비운다 (문제 재현 직전에 호출) */
+    public void reset() {
+        stacks.clear();
+    }
+
+    @PreDestroy
+    public void close() {
+        running = false;
+        if (thread != null) LockSupport.unpark(thread);
+    }
+}
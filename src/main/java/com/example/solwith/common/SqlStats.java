@@ -0,0 +1,61 @@
+package com.example.solwith.common;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 요청 한 건의 SQL 집계 (문장 수, 읽거나 바꾼 행 수, 실행 시간, 같은 문장 반복 횟수).
+ * - 같은 요청의 작업이 다른 스레드(TraceContext.runAsync)에서 돌 수 있어 메서드를 synchronized 로. 경합은 그 요청 안에서만
+ * - 반복 감지는 SQL 문자열(바인드 전, ? 그대로) 기준. 서로 다른 문장은 MAX_DISTINCT 개까지만 센다
+ */
+final class SqlStats {
+    private static final int MAX_DISTINCT = 256;
+
+    private int statements;
+    private long rows;
+    private long nanos;
+    private Map<String, Integer> perSql; // 첫 문장 때 만든다
+    private int maxRepeats;
+    private String mostRepeated;
+
+    synchronized void executed(String sql, long tookNanos, long affectedRows) {
+        statements++;
+        nanos += tookNanos;
+        if (affectedRows > 0) rows += affectedRows;
+        if (sql == null) return;
+        if (perSql == null) perSql = new HashMap<>();
+        Integer seen = perSql.get(sql);
+        if (seen == null && perSql.size() >= MAX_DISTINCT) return;
+        int n = seen == null ? 1 : seen + 1;
+        perSql.put(sql, n);
+        if (n > maxRepeats) {
+            maxRepeats = n;
+            mostRepeated = sql;
+        }
+    }
+
+    synchronized void fetched(long n) {
+        rows += n;
+    }
+
+    synchronized int statements() {
+        return statements;
+    }
+
+    synchronized long rows() {
+        return rows;
+    }
+
+    synchronized long nanos() {
+        return nanos;
+    }
+
+    /** 가장 많이 반복된 문장의 실행 횟수 (문장이 없으면 0) */
+    synchronized int maxRepeats() {
+        return maxRepeats;
+    }
+
+    synchronized String mostRepeated() {
+        return mostRepeated;
+    }
+}
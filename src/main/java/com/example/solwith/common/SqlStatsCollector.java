@@ -0,0 +1,148 @@
+package com.example.solwith.common;
+
+import com.example.solwith.dto.RepeatedSqlStats;
+import com.example.solwith.dto.SqlRouteStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 요청 단위 SQL 집계와 경로별 누적.
+ * - RequestLoggingFilter 가 요청 시작에 begin(ctx), 끝에 end(...) 를 부른다. 그 사이 실행된 SQL 은
+ *   SqlStatsDataSource 가 TraceContext.current() 로 찾은 SqlStats 에 더한다 → runAsync 로 넘긴 작업의 SQL 도 같은 요청으로 센다
+ * - 키는 이 서버가 요청마다 새로 만드는 spanId (같은 traceId 로 동시에 들어온 요청끼리 섞이지 않게)
+ * - 한 요청에서 같은 문장이 repeat-threshold 번 이상 실행되면 반복(N+1 의심)으로 표시하고 문장별로 모아 둔다
+ * - 문장 하나하나를 로그로 찍지 않아도(show-sql 끔) 요청당 쿼리 수 증가를 /api/metrics/sql 로 잡을 수 있다
+ */
+@Component
+public class SqlStatsCollector {
+    private static final int MAX_REPEATED = 200; // 모아 두는 반복 문장 종류 상한
+    private static final int MAX_SQL_LENGTH = 500;
+
+    private final ConcurrentHashMap<String, SqlStats> active = new ConcurrentHashMap<>(); // spanId → 처리 중 요청
+    private final ConcurrentHashMap<String, RouteSql> routes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Repeated> repeated = new ConcurrentHashMap<>();
+    private final int repeatThreshold;
+
+    @Autowired
+    public SqlStatsCollector(@Value("${sql-stats.repeat-threshold:10}") int repeatThreshold) {
+        this.repeatThreshold = Math.max(2, repeatThreshold);
+    }
+
+    /** DataSource 를 감싸서 이 수집기로 SQL 을 센다 */
+    public DataSource wrap(DataSource target) {
+        return new SqlStatsDataSource(target, this::current);
+    }
+
+    void begin(TraceContext ctx) {
+        active.computeIfAbsent(ctx.spanId(), k -> new SqlStats()); // async dispatch 에서 다시 불려도 그대로
+    }
+
+    /** 지금 스레드에 붙은 요청의 집계 (요청 밖이면 null) */
+    SqlStats current() {
+        if (active.isEmpty()) return null;
+        TraceContext ctx = TraceContext.current();
+        return ctx != null ? active.get(ctx.spanId()) : null;
+    }
+
+    /** 요청 끝. 경로별 누적에 더하고 그 요청의 집계를 돌려준다 (begin 없이 불리면 null) */
+    SqlStats end(TraceContext ctx, String route) {
+        SqlStats stats = active.remove(ctx.spanId());
+        if (stats == null) return null;
+        RouteSql r = routes.get(route);
+        if (r == null) r = routes.computeIfAbsent(route, RouteSql::new);
+        int statements = stats.statements();
+        r.requests.increment();
+        r.statements.add(statements);
+        r.maxStatements.accumulate(statements);
+        r.rows.add(stats.rows());
+        r.nanos.add(stats.nanos());
+        if (!isRepeated(stats)) return stats;
+        r.repeatedRequests.increment();
+        String sql = abbreviate(stats.mostRepeated());
+        Repeated rep = repeated.get(sql);
+        if (rep == null && repeated.size() < MAX_REPEATED) rep = repeated.computeIfAbsent(sql, Repeated::new);
+        if (rep != null) rep.add(route, stats.maxRepeats(), ctx.displayId());
+        return stats;
+    }
+
+    boolean isRepeated(SqlStats stats) {
+        return stats.maxRepeats() >= repeatThreshold;
+    }
+
+    static String abbreviate(String sql) {
+        String oneLine = sql.replaceAll("\\s+", " ").trim();
+        return oneLine.length() <= MAX_SQL_LENGTH ? oneLine : oneLine.substring(0, MAX_SQL_LENGTH) + "...";
+    }
+
+    /** 경로별 누적 (요청당 문장 수가 많은 순) */
+    public List<SqlRouteStats> routes() {
+        List<SqlRouteStats> stats = new ArrayList<>(routes.size());
+        for (RouteSql r : routes.values()) {
+            long requests = r.requests.sum();
+            long statements = r.statements.sum();
+            double dbMs = r.nanos.sum() / 1_000_000.0;
+            stats.add(new SqlRouteStats(r.route, requests, statements, round(statements / (double) Math.max(1, requests)),
+                    r.maxStatements.get(), r.rows.sum(), round(dbMs), round(dbMs / Math.max(1, requests)), r.repeatedRequests.sum()));
+        }
+        stats.sort(Comparator.comparingDouble(SqlRouteStats::getStatementsPerRequest).reversed());
+        return stats;
+    }
+
+    /** 반복(N+1 의심)으로 표시된 문장들 (걸린 요청 수가 많은 순) */
+    public List<RepeatedSqlStats> repeated() {
+        List<RepeatedSqlStats> stats = new ArrayList<>(repeated.size());
+        for (Repeated r : repeated.values()) {
+            synchronized (r) {
+                stats.add(new RepeatedSqlStats(r.sql, r.route, r.requests, r.maxRepeats, r.lastTraceId));
+            }
+        }
+        stats.sort(Comparator.comparingLong(RepeatedSqlStats::getRequests).reversed());
+        return stats;
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 100) / 100.0;
+    }
+
+    private static final class RouteSql {
+        final String route;
+        final LongAdder requests = new LongAdder();
+        final LongAdder statements = new LongAdder();
+        final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+        final LongAdder rows = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+        final LongAdder repeatedRequests = new LongAdder();
+
+        RouteSql(String route) {
+            this.route = route;
+        }
+    }
+
+    private static final class Repeated {
+        final String sql;
+        String route;       // 마지막으로 걸린 경로
+        long requests;
+        int maxRepeats;
+        String lastTraceId; // 로그에서 그 요청을 찾아볼 수 있게
+
+        Repeated(String sql) {
+            this.sql = sql;
+        }
+
+        synchronized void add(String route, int repeats, String traceId) {
+            this.route = route;
+            this.requests++;
+            this.maxRepeats = Math.max(maxRepeats, repeats);
+            this.lastTraceId = traceId;
+        }
+    }
+}
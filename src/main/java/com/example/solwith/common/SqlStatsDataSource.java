@@ -0,0 +1,128 @@
+package com.example.solwith.common;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Supplier;
+
+/**
+ * 실제 DataSource(Hikari) 를 감싸서 Connection → Statement → ResultSet 을 JDK 프록시로 돌려준다.
+ * - execute* 호출마다 걸린 시간/바뀐 행 수, ResultSet.next() 로 읽은 행 수를 지금 요청의 SqlStats 에 더한다
+ * - 요청 밖(배치/스케줄러)이면 stats 가 null 이라 시간 측정도 안 하고 그대로 넘긴다
+ * - JPA(Hibernate) 와 JdbcTemplate 이 모두 이 DataSource 를 거치므로 둘 다 잡힌다. SQL 문장을 로그로 찍지는 않는다
+ */
+final class SqlStatsDataSource extends DelegatingDataSource implements Closeable {
+    private final Supplier<SqlStats> current;
+
+    SqlStatsDataSource(DataSource target, Supplier<SqlStats> current) {
+        super(target);
+        this.current = current;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(super.getConnection(username, password));
+    }
+
+    // Hikari 풀은 컨테이너 종료 때 이 빈의 close 로 닫힌다 (감싸면서 close 가 사라지지 않게)
+    @Override
+    public void close() throws IOException {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException(e);
+            }
+        }
+    }
+
+    private Connection connection(Connection target) {
+        return proxy(Connection.class, target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Statement statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null; // prepareStatement/prepareCall
+                return statement(statement, sql);
+            }
+            return result;
+        });
+    }
+
+    private Statement statement(Statement target, String preparedSql) {
+        Class<? extends Statement> type = target instanceof CallableStatement ? CallableStatement.class
+                : target instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        return proxy(type, target, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                SqlStats stats = current.get();
+                if (stats == null) return invoke(target, method, args);
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+                long start = System.nanoTime();
+                Object result = invoke(target, method, args);
+                stats.executed(sql, System.nanoTime() - start, affected(result));
+                return result instanceof ResultSet rs ? resultSet(rs, stats) : result;
+            }
+            Object result = invoke(target, method, args);
+            if (result instanceof ResultSet rs && (name.equals("getResultSet") || name.equals("getGeneratedKeys"))) {
+                SqlStats stats = current.get();
+                return stats != null ? resultSet(rs, stats) : rs;
+            }
+            return result;
+        });
+    }
+
+    private ResultSet resultSet(ResultSet target, SqlStats stats) {
+        return proxy(ResultSet.class, target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) stats.fetched(1);
+            return result;
+        });
+    }
+
+    private static long affected(Object result) {
+        if (result instanceof Integer n) return n;
+        if (result instanceof Long n) return n;
+        long sum = 0;
+        if (result instanceof int[] counts) for (int c : counts) sum += Math.max(0, c);
+        if (result instanceof long[] counts) for (long c : counts) sum += Math.max(0, c);
+        return sum;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<? extends T> type, T target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SqlStatsDataSource.class.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) { // 프록시 자신 기준 (풀/Hibernate 가 Map 키로 쓸 수 있다)
+                case "equals": return proxy == args[0];
+                case "hashCode": return System.identityHashCode(proxy);
+                case "toString": return "SqlStats[" + target + "]";
+                default: return handler.invoke(proxy, method, args);
+            }
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause(); // SQLException 등 원래 예외 그대로
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.solwith.common;
+
+import org.slf4j.MDC;
+
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * 요청 추적 컨텍스트 (W3C Trace Context 의 traceparent 와 같은 형식).
+ * - traceId 128비트(hex 32자), spanId 64비트(hex 16자). 난수는 ThreadLocalRandom → 공유 SecureRandom(UUID.randomUUID) 경합이 없다
+ * - 현재 컨텍스트는 스레드마다 따로(ThreadLocal, 상속 X). 다른 스레드로 넘길 때는 wrap/executor/supplyAsync 로
+ *   "넘기는 시점의 컨텍스트"를 붙잡아 실행하는 스레드에 잠깐 붙였다가 되돌린다 → 풀 스레드/가상 스레드 모두 새지 않는다
+ * - 붙이는 동안 MDC 의 traceId/spanId 도 같이 맞춰 준다 (로그 패턴 %X{traceId})
+ * - 예전 X-Trace-Id 로 들어온 값은 (길이/문자 제한 후) 그대로 displayId 로 돌려준다. 128비트 traceId 는 traceparent 에만
+ */
+public final class TraceContext {
+    public static final String TRACEPARENT = "traceparent";
+    private static final String VERSION = "00";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final ThreadLocal<TraceContext> CURRENT = new ThreadLocal<>();
+    static final int MAX_EXTERNAL_ID = 64; // X-Trace-Id 로 받아 주는 최대 길이
+
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId; // 들어온 traceparent 의 span (없으면 null)
+    private final boolean sampled;
+    private final String externalId;   // 들어온 X-Trace-Id (없으면 null)
+
+    private TraceContext(String traceId, String spanId, String parentSpanId, boolean sampled) {
+        this(traceId, spanId, parentSpanId, sampled, null);
+    }
+
+    private TraceContext(String traceId, String spanId, String parentSpanId, boolean sampled, String externalId) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.sampled = sampled;
+        this.externalId = externalId;
+    }
+
+    /** 새 trace 시작 */
+    public static TraceContext newRoot() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high, low;
+        do {
+            high = random.nextLong();
+            low = random.nextLong();
+        } while (high == 0 && low == 0); // 전부 0 은 규격상 무효
+        char[] id = new char[32];
+        hex(high, id, 0);
+        hex(low, id, 16);
+        return new TraceContext(new String(id), newSpanId(), null, true);
+    }
+
+    /** 같은 trace 안의 하위 span */
+    public TraceContext child() {
+        return new TraceContext(traceId, newSpanId(), spanId, sampled, externalId);
+    }
+
+    /**
+     * "00-<traceId 32>-<parentId 16>-<flags 2>" 를 읽어 그 아래 span 을 만든다.
+     * 형식이 틀리거나 id 가 전부 0 이면 null (호출하는 쪽이 새 trace 를 시작)
+     */
+    public static TraceContext fromTraceparent(String header) {
+        if (header == null) return null;
+        String h = header.trim();
+        // 버전 00 은 정확히 55자, 이후 버전은 뒤에 필드가 더 붙을 수 있다("-" 로 구분)
+        if (h.length() < 55 || (h.length() > 55 && h.charAt(55) != '-')) return null;
+        if (h.charAt(2) != '-' || h.charAt(35) != '-' || h.charAt(52) != '-') return null;
+        String version = h.substring(0, 2);
+        if (!isHex(version) || "ff".equals(version) || (VERSION.equals(version) && h.length() != 55)) return null;
+        String traceId = h.substring(3, 35);
+        String parentId = h.substring(36, 52);
+        String flags = h.substring(53, 55);
+        if (!isHex(traceId) || !isHex(parentId) || !isHex(flags) || isZero(traceId) || isZero(parentId)) return null;
+        boolean sampled = (Character.digit(flags.charAt(1), 16) & 1) == 1;
+        return new TraceContext(traceId, newSpanId(), parentId, sampled);
+    }
+
+    /**
+     * 예전 X-Trace-Id. 1~64자의 [A-Za-z0-9._:-] 만 받고(로그/헤더 주입 방지) 그 값을 displayId 로 그대로 돌려준다.
+     * UUID / hex 32자면 traceparent 의 traceId 로도 이어 쓰고, 아니면 traceId 는 새로 만든다. 받을 수 없는 값은 null
+     */
+    public static TraceContext fromTraceId(String value) {
+        if (value == null) return null;
+        String external = value.trim();
+        if (external.isEmpty() || external.length() > MAX_EXTERNAL_ID) return null;
+        for (int i = 0; i < external.length(); i++) {
+            char c = external.charAt(i);
+            boolean ok = (c >= '0' && c <= '9') || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+                    || c == '-' || c == '.' || c == '_' || c == ':';
+            if (!ok) return null;
+        }
+        String id = external.replace("-", "").toLowerCase(Locale.ROOT);
+        String traceId = id.length() == 32 && isHex(id) && !isZero(id) ? id : newRoot().traceId;
+        return new TraceContext(traceId, newSpanId(), null, true, external);
+    }
+
+    public String traceId() {
+        return traceId;
+    }
+
+    /** 응답(X-Trace-Id, ApiResponse.traceId)과 로그(MDC traceId)에 쓰는 id. X-Trace-Id 로 받았으면 그 값, 아니면 traceId */
+    public String displayId() {
+        return externalId != null ? externalId : traceId;
+    }
+
+    public String spanId() {
+        return spanId;
+    }
+
+    public String parentSpanId() {
+        return parentSpanId;
+    }
+
+    public boolean sampled() {
+        return sampled;
+    }
+
+    /** 다음 서비스로 넘길/응답에 실을 traceparent (이 span 이 parent) */
+    public String traceparent() {
+        return VERSION + "-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+    }
+
+    // --- 현재 스레드의 컨텍스트 ---
+
+    public static TraceContext current() {
+        return CURRENT.get();
+    }
+
+    /** 이 컨텍스트를 현재 스레드에 붙인다. 닫으면 이전 상태(컨텍스트/MDC)로 되돌린다 */
+    public Scope attach() {
+        TraceContext previous = CURRENT.get();
+        set(this);
+        return new Scope(previous);
+    }
+
+    private static void set(TraceContext ctx) {
+        if (ctx == null) {
+            CURRENT.remove();
+            MDC.remove(TraceIdFilter.TRACE_ID);
+            MDC.remove(TraceIdFilter.SPAN_ID);
+        } else {
+            CURRENT.set(ctx);
+            MDC.put(TraceIdFilter.TRACE_ID, ctx.displayId());
+            MDC.put(TraceIdFilter.SPAN_ID, ctx.spanId);
+        }
+    }
+
+    /** try-with-resources 용. 붙인 스레드에서 닫아야 한다 */
+    public static final class Scope implements AutoCloseable {
+        private final TraceContext previous;
+
+        private Scope(TraceContext previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            set(previous);
+        }
+    }
+
+    // --- 비동기 경계 넘기기: 만드는 시점의 컨텍스트를 붙잡아 실행 스레드에 붙인다 ---
+
+    public static Runnable wrap(Runnable task) {
+        TraceContext ctx = CURRENT.get();
+        if (ctx == null) return task;
+        return () -> {
+            try (Scope ignored = ctx.attach()) {
+                task.run();
+            }
+        };
+    }
+
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        TraceContext ctx = CURRENT.get();
+        if (ctx == null) return task;
+        return () -> {
+            try (Scope ignored = ctx.attach()) {
+                return task.call();
+            }
+        };
+    }
+
+    public static <T> Supplier<T> wrap(Supplier<T> task) {
+        TraceContext ctx = CURRENT.get();
+        if (ctx == null) return task;
+        return () -> {
+            try (Scope ignored = ctx.attach()) {
+                return task.get();
+            }
+        };
+    }
+
+    /** execute 하는 시점의 컨텍스트를 작업에 실어 보내는 Executor (CompletableFuture 의 *Async(.., executor) 에 그대로 넘겨도 된다) */
+    public static Executor executor(Executor delegate) {
+        return task -> delegate.execute(wrap(task));
+    }
+
+    public static CompletableFuture<Void> runAsync(Runnable task, Executor executor) {
+        return CompletableFuture.runAsync(wrap(task), executor);
+    }
+
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> task, Executor executor) {
+        return CompletableFuture.supplyAsync(wrap(task), executor);
+    }
+
+    // --- hex ---
+
+    private static String newSpanId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        char[] out = new char[16];
+        hex(id, out, 0);
+        return new String(out);
+    }
+
+    private static void hex(long v, char[] out, int offset) {
+        for (int i = 15; i >= 0; i--) {
+            out[offset + i] = HEX[(int) (v & 0xf)];
+            v >>>= 4;
+        }
+    }
+
+    private static boolean isHex(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) return false; // 규격상 소문자만
+        }
+        return true;
+    }
+
+    private static boolean isZero(String s) {
+        for (int i = 0; i < s.length(); i++) if (s.charAt(i) != '0') return false;
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return traceparent();
+    }
+}
@@ -4,11 +4,9 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.slf4j.MDC;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.UUID;
 
 /*
 * TraceId의 목적
@@ -24,28 +22,38 @@ import java.util.UUID;
 	4.	보안/감사(Audit) 로그
 	•	중요한 거래 API(예: 결제, 블록체인 전송)에서 traceId를 남기면 “이 사용자가 언제 어떤 요청을 했는가”를 증거성 있게 기록 가능.
 * */
+//traceparent(W3C Trace Context) 를 받아서 같은 trace 를 잇고, 없으면 새로 만든다. 응답에는 traceparent + X-Trace-Id 로 돌려준다
+//id 생성은 TraceContext(ThreadLocalRandom) → UUID.randomUUID() 의 공유 SecureRandom 경합 없음
 public class TraceIdFilter extends OncePerRequestFilter {
     public static final String TRACE_ID = "traceId";
+    public static final String SPAN_ID = "spanId";
     public static final String HEADER = "X-Trace-Id";
+    public static final String CONTEXT = TraceContext.class.getName();
 
+    // long-poll/SSE 의 async dispatch 스레드에서도 같은 컨텍스트(MDC 포함)를 붙여야 로그가 이어진다
     @Override
-    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
-        String traceId = request.getHeader(HEADER);
-        if (traceId == null || traceId.isBlank()) traceId = UUID.randomUUID().toString();
-        //들어온 헤더가 있으면 재사용, 없으면 생성 → 외부 시스템과 연동 시 체인 전체가 같은 traceId 사용
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
 
-        request.setAttribute(TRACE_ID, traceId);
-        response.setHeader(HEADER, traceId); //응답 헤더에도 노출
-        MDC.put(TRACE_ID, traceId); //로그 MDC에 세팅
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        TraceContext ctx = (TraceContext) request.getAttribute(CONTEXT);
+        if (ctx == null) { // 최초 dispatch
+            ctx = TraceContext.fromTraceparent(request.getHeader(TraceContext.TRACEPARENT));
+            //traceparent 가 없으면 예전 X-Trace-Id 를 (길이/문자 제한 후) 그대로 돌려주고, 그것도 없으면 새로 생성
+            if (ctx == null) ctx = TraceContext.fromTraceId(request.getHeader(HEADER));
+            if (ctx == null) ctx = TraceContext.newRoot();
 
-        //MDC(Mapped Diagnostic Context)란 현재 스레드에 붙는 키/값 저장소.
+            request.setAttribute(CONTEXT, ctx);
+            request.setAttribute(TRACE_ID, ctx.displayId());
+            response.setHeader(TraceContext.TRACEPARENT, ctx.traceparent()); //응답 헤더에도 노출
+            response.setHeader(HEADER, ctx.displayId());
+        }
 
-        try {
-            response.setHeader(HEADER, traceId);
-            request.setAttribute(TRACE_ID, traceId);
+        //MDC(Mapped Diagnostic Context)란 현재 스레드에 붙는 키/값 저장소. attach 가 MDC 도 같이 세팅
+        try (TraceContext.Scope ignored = ctx.attach()) {
             filterChain.doFilter(request, response);
-        } finally {
-            MDC.remove(TRACE_ID); //반드시 정리해야하는 부분 (스레드 재사용 오염 방지)
-        }
+        } //닫을 때 반드시 정리 (스레드 재사용 오염 방지)
     }
 }
@@ -0,0 +1,6 @@
+package com.example.solwith.common;
+
+// If-Match 로 보낸 버전이 현재 버전과 다름(그 사이 다른 요청이 수정함) → 412
+public class VersionConflictException extends RuntimeException{
+    public VersionConflictException(String msg) { super(msg);}
+}
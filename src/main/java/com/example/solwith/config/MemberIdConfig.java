@@ -0,0 +1,66 @@
+package com.example.solwith.config;
+
+import com.example.solwith.dto.MemberChange;
+import com.example.solwith.dto.MemberResponse;
+import com.example.solwith.repository.BlockIdGenerator;
+import com.example.solwith.repository.MemberIdGenerator;
+import com.example.solwith.repository.SequenceIdGenerator;
+import com.example.solwith.repository.SnowflakeIdGenerator;
+import com.example.solwith.repository.ThreadLocalIdBuffer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+//회원 id 발급기 선택: member.id.generator = auto | sequence | snowflake | block
+//auto 는 member-jdbc 프로파일이면 block(DB 구간 임대), 아니면 sequence(단일 JVM)
+//여러 인스턴스를 띄우면 snowflake(인스턴스마다 다른 member.id.node-id) 또는 block 을 쓴다
+//thread-buffer 는 기본 1(끔). 켜면 스레드마다 구간을 미리 받아 두므로 id 순서가 발급 순서와 어긋날 수 있다
+@Configuration
+public class MemberIdConfig {
+
+    @Bean
+    public MemberIdGenerator memberIdGenerator(Environment env,
+                                               @Value("${member.id.generator:auto}") String type,
+                                               @Value("${member.id.node-id:0}") int nodeId,
+                                               @Value("${member.jdbc.id-block-size:1000}") int leaseSize,
+                                               @Value("${member.id.thread-buffer:1}") int threadBuffer,
+                                               ObjectProvider<JdbcTemplate> jdbc,
+                                               ObjectProvider<PlatformTransactionManager> txm) {
+        String kind = type.equals("auto")
+                ? (env.acceptsProfiles(Profiles.of("member-jdbc")) ? "block" : "sequence")
+                : type;
+        MemberIdGenerator generator = switch (kind) {
+            case "sequence" -> new SequenceIdGenerator();
+            case "snowflake" -> new SnowflakeIdGenerator(nodeId);
+            case "block" -> new BlockIdGenerator(jdbc.getObject(), txm.getObject(), "members", leaseSize);
+            default -> throw new IllegalArgumentException("unknown member.id.generator: " + type);
+        };
+        // 스레드마다 구간을 미리 받아 두면 발급 경로에 공유 CAS/락이 없다 (1 이면 버퍼 없이 바로 발급)
+        return threadBuffer > 1 ? new ThreadLocalIdBuffer(generator, threadBuffer) : generator;
+    }
+
+    // id 가 2^53 을 넘는 발급기(snowflake)면 응답의 회원 id 를 문자열로 → JavaScript 클라이언트에서 자리가 뭉개지지 않게
+    // (Module 빈은 스프링 부트가 ObjectMapper 에 등록한다. 스트리밍 내보내기는 MemberStreamWriter 가 같은 기준으로 처리)
+    @Bean
+    public SimpleModule memberIdJsonModule(MemberIdGenerator memberIdGenerator) {
+        SimpleModule module = new SimpleModule("member-id");
+        if (!memberIdGenerator.jsonSafe()) {
+            module.setMixInAnnotation(MemberResponse.class, StringId.class);
+            module.setMixInAnnotation(MemberChange.class, StringId.class);
+        }
+        return module;
+    }
+
+    abstract static class StringId {
+        @JsonSerialize(using = ToStringSerializer.class)
+        abstract Long getId();
+    }
+}
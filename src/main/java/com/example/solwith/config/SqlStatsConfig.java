@@ -0,0 +1,26 @@
+package com.example.solwith.config;
+
+import com.example.solwith.common.SqlStatsCollector;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+//DataSource 빈(Hikari)을 SqlStatsCollector 가 감싼 프록시로 바꿔 끼운다 → JPA/JdbcTemplate 의 SQL 이 모두 요청별로 집계된다
+//그래서 application.yml 의 show-sql / bind TRACE 로그는 꺼 둔다 (문장마다 로그를 찍는 비용 없이 /api/metrics/sql 로 확인)
+@Configuration
+public class SqlStatsConfig {
+
+    // BeanPostProcessor 는 다른 빈보다 먼저 만들어지므로 static + 수집기는 실제로 감쌀 때 꺼낸다
+    @Bean
+    public static BeanPostProcessor sqlStatsDataSourceWrapper(ObjectProvider<SqlStatsCollector> collector) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? collector.getObject().wrap(dataSource) : bean;
+            }
+        };
+    }
+}
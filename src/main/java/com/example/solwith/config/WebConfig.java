@@ -1,27 +1,97 @@
 package com.example.solwith.config;
 
+import com.example.solwith.auth.JwtProvider;
+import com.example.solwith.common.AccessLogWriter;
+import com.example.solwith.common.RateLimitFilter;
 import com.example.solwith.common.RequestLoggingFilter;
+import com.example.solwith.common.RouteLatencyTracker;
+import com.example.solwith.common.SqlStatsCollector;
 import com.example.solwith.common.TraceIdFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.nio.file.Path;
 
 
 //로그 패턴에 %X{traceId}를 넣어두면 로그에서도 같은 traceId로 묶여 확인 가능 (logback 설정)
+//필터 순서: TraceIdFilter → RequestLoggingFilter → RateLimitFilter → 보안 필터 체인
+//→ 한도/인증에서 거절된 요청도 traceId 헤더가 붙고 접근 로그와 경로 지표에 남는다
 @Configuration
-public class WebConfig {
+public class WebConfig implements WebMvcConfigurer {
+    private final RouteLatencyTracker routes;
+
+    public WebConfig(RouteLatencyTracker routes) {
+        this.routes = routes;
+    }
+
     @Bean
     public FilterRegistrationBean<TraceIdFilter> traceIdFilter() {
         FilterRegistrationBean<TraceIdFilter> reg = new FilterRegistrationBean<>();
         reg.setFilter(new TraceIdFilter());
-        reg.setOrder(1);
+        reg.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 3);
         return reg;
     }
 
     @Bean
-    public FilterRegistrationBean<RequestLoggingFilter> requestLoggingFilter() {
+    public FilterRegistrationBean<RequestLoggingFilter> requestLoggingFilter(
+            @Value("${request-logging.capture-sample-every:0}") int captureSampleEvery,
+            @Value("${request-logging.capture-max-bytes:2048}") int captureMaxBytes,
+            ObjectProvider<AccessLogWriter> accessLog,
+            SqlStatsCollector sqlStats) {
         FilterRegistrationBean<RequestLoggingFilter> reg = new FilterRegistrationBean<>();
-        reg.setFilter(new RequestLoggingFilter());
+        reg.setFilter(new RequestLoggingFilter(captureSampleEvery, captureMaxBytes, accessLog.getIfAvailable(), routes, sqlStats));
+        reg.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 2);
+        return reg;
+    }
+
+    // 핸들러가 정해지는 시점에 처리 중인 요청에 경로("GET /api/members/{id}")를 붙인다 → 샘플러가 경로별 느림 기준으로 후보를 고른다
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                routes.resolved(RouteLatencyTracker.route(request));
+                return true;
+            }
+        });
+    }
+
+    // 켜면 접근 로그가 slf4j 대신 링 버퍼 → 전용 스레드 → access.log 로 간다
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "access-log", name = "enabled", havingValue = "true")
+    public AccessLogWriter accessLogWriter(@Value("${access-log.dir:./logs}") String dir,
+                                           @Value("${access-log.ring-size:8192}") int ringSize,
+                                           @Value("${access-log.max-file-bytes:67108864}") long maxFileBytes,
+                                           @Value("${access-log.max-files:10}") int maxFiles) {
+        return new AccessLogWriter(Path.of(dir), ringSize, maxFileBytes, maxFiles);
+    }
+
+    // 보안 필터 체인(JwtAuthFilter 포함)보다 먼저: 한도를 넘은 요청은 토큰 검증/인가/DB 까지 가지 않는다
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(JwtProvider jwtProvider,
+                                                                   ObjectMapper objectMapper,
+                                                                   @Value("${rate-limit.rules:}") String rules,
+                                                                   @Value("${rate-limit.max-buckets:100000}") int maxBuckets) {
+        FilterRegistrationBean<RateLimitFilter> reg = new FilterRegistrationBean<>();
+        reg.setFilter(new RateLimitFilter(RateLimitFilter.Rule.parse(rules), token -> {
+            try {
+                return jwtProvider.verify(token).username();
+            } catch (RuntimeException invalid) {
+                return null; // 잘못된 토큰은 IP 기준으로 세고, 거부는 JwtAuthFilter 가 한다
+            }
+        }, maxBuckets, objectMapper));
+        reg.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
         return reg;
     }
 }
@@ -2,29 +2,51 @@ package com.example.solwith.controller;
 
 
 import com.example.solwith.common.ApiResponse;
+import com.example.solwith.common.BadRequestException;
+import com.example.solwith.common.NotFoundException;
+import com.example.solwith.common.VersionConflictException;
 import com.example.solwith.docs.schema.ApiResponseMemberResponse;
 import com.example.solwith.domain.Member;
 import com.example.solwith.dto.MemberCreateRequest;
+import com.example.solwith.dto.MemberImportReport;
 import com.example.solwith.dto.MemberResponse;
 import com.example.solwith.dto.MemberUpdateRequest;
+import com.example.solwith.repository.MemberIdGenerator;
+import com.example.solwith.service.MemberImportService;
 import com.example.solwith.service.MemberService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.*;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/members")
 public class MemberApiController {
     private final MemberService memberService;
-    public MemberApiController(MemberService memberService){ this.memberService = memberService; }
+    private final MemberImportService memberImportService;
+    private final MemberStreamWriter streamWriter;
+    public MemberApiController(MemberService memberService, MemberImportService memberImportService, ObjectMapper objectMapper,
+                               MemberIdGenerator memberIdGenerator){
+        this.memberService = memberService;
+        this.memberImportService = memberImportService;
+        this.streamWriter = new MemberStreamWriter(objectMapper.getFactory(), !memberIdGenerator.jsonSafe());
+    }
 
     // CREATE 201 + Location
     @PostMapping
@@ -35,6 +57,16 @@ public class MemberApiController {
                 .body(new MemberResponse(saved.getId(), saved.getName()));
     }
 
+    // 일괄 등록 200: 본문(NDJSON 한 줄에 {"name":..} / CSV name 열)을 스트리밍으로 읽어 chunk 단위 저장
+    // 일부 줄이 실패해도 나머지는 저장하고, 실패한 줄 번호와 사유를 돌려준다
+    @PostMapping(value = "/import", consumes = {MemberStreamWriter.NDJSON, "text/csv"})
+    public ApiResponse<MemberImportReport> importMembers(HttpServletRequest req) throws IOException {
+        MemberImportService.Format format = req.getContentType().startsWith("text/csv")
+                ? MemberImportService.Format.CSV : MemberImportService.Format.NDJSON;
+        MemberImportReport report = memberImportService.importMembers(req.getInputStream(), format);
+        return ApiResponse.success(report, req.getRequestURI(), traceId(req));
+    }
+
     // READ all 200
     // API RESPONSE 포맷 개선 전
 //    @GetMapping
@@ -70,6 +102,40 @@ public class MemberApiController {
         return ApiResponse.success(data, req.getRequestURI(), traceId(req));
     }
 
+    // READ many 200: ?ids=1,2,3 (최대 100개) → 한 번의 요청/인증/저장소 조회로 처리
+    // 없는 id 는 결과에서 빠지고 meta.missing 에 담긴다
+    @GetMapping(params = "ids")
+    public ApiResponse<List<MemberResponse>> getMany(@RequestParam("ids") List<Long> ids, HttpServletRequest req) {
+        List<Member> found = memberService.findMany(ids);
+        var data = found.stream()
+                .map(m -> new MemberResponse(m.getId(), m.getName()))
+                .toList();
+        Set<Long> foundIds = found.stream().map(Member::getId).collect(Collectors.toSet());
+        List<Long> missing = ids.stream().distinct().filter(id -> !foundIds.contains(id)).toList();
+        return ApiResponse.success(data, req.getRequestURI(), traceId(req), Map.of("missing", missing));
+    }
+
+    // 전체 내보내기(스트리밍): Accept: application/x-ndjson 또는 ?stream=ndjson|array
+    // 목록/ApiResponse 를 만들지 않고 저장소 iterator 에서 바로 응답 스트림으로 쓴다 (Content-Length 없이 chunked)
+    @GetMapping(produces = MemberStreamWriter.NDJSON)
+    public void exportNdjson(HttpServletResponse res) throws IOException {
+        export(MemberStreamWriter.Format.NDJSON, res);
+    }
+
+    @GetMapping(params = "stream")
+    public void export(@RequestParam("stream") String stream, HttpServletResponse res) throws IOException {
+        export(MemberStreamWriter.Format.from(stream), res);
+    }
+
+    private void export(MemberStreamWriter.Format format, HttpServletResponse res) throws IOException {
+        res.setStatus(200);
+        res.setContentType(format.contentType());
+        res.setCharacterEncoding("UTF-8");
+        try (Stream<Member> members = memberService.streamMembers()) { // DB 저장소면 커서를 닫아야 하므로 try-with-resources
+            streamWriter.write(members.iterator(), format, res.getOutputStream());
+        }
+    }
+
     // READ one 200
     // API RESPONSE 포맷 개선 전
 //    @GetMapping("/{id}")
@@ -95,18 +161,41 @@ public class MemberApiController {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiResponseMemberResponse.class)))
     })
+    // ETag = 회원 버전. If-None-Match 가 같으면 본문 직렬화 없이 304
     @GetMapping("/{id}")
-    public ApiResponse<MemberResponse> get(@PathVariable("id") Long id, HttpServletRequest req) {
+    public ApiResponse<MemberResponse> get(@PathVariable("id") Long id, HttpServletRequest req, WebRequest webRequest) {
         Member m = memberService.findOne(id);
+        if (m == null) throw new NotFoundException("member not found: " + id);
+        if (webRequest.checkNotModified(etag(m))) return null; // 304 + ETag 헤더는 스프링이 채운다
         return ApiResponse.success(new MemberResponse(m.getId(), m.getName()), req.getRequestURI(), traceId(req));
     }
 
     // UPDATE 200 (또는 204)
+    // If-Match: "버전" 을 보내면 그 버전일 때만 수정(아니면 412), 없거나 * 이면 최신 버전에 덮어쓴다
     @PutMapping("/{id}")
-    public MemberResponse update(@PathVariable Long id,
-                                 @RequestBody @Valid MemberUpdateRequest req){
-        Member m = memberService.update(id, req.getName());
-        return new MemberResponse(m.getId(), m.getName());
+    public ResponseEntity<MemberResponse> update(@PathVariable Long id,
+                                                 @RequestBody @Valid MemberUpdateRequest req,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        Member m = memberService.update(id, req.getName(), expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(etag(m)).body(new MemberResponse(m.getId(), m.getName()));
+    }
+
+    private static String etag(Member m) {
+        return "\"" + m.getVersion() + "\"";
+    }
+
+    // If-Match 값 → 기대 버전 (따옴표 제거). 여러 값 목록은 지원하지 않는다
+    // If-Match 는 강한 비교(RFC 9110 13.1.1)라 약한 태그(W/"1")는 어떤 버전과도 일치하지 않음 → 412
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) return null;
+        String v = ifMatch.trim();
+        if (v.startsWith("W/")) throw new VersionConflictException("weak entity tag does not match in If-Match: " + ifMatch);
+        v = v.replace("\"", "");
+        try {
+            return Long.parseLong(v);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("invalid If-Match: " + ifMatch);
+        }
     }
 
     // DELETE 204 No Content
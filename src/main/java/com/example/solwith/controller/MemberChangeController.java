@@ -0,0 +1,125 @@
+package com.example.solwith.controller;
+
+import com.example.solwith.common.ApiResponse;
+import com.example.solwith.dto.MemberChange;
+import com.example.solwith.dto.MemberChangePage;
+import com.example.solwith.service.MemberChangeFeed;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 회원 변경 피드. 전체 목록을 주기적으로 다시 받는 대신 커서 이후 변경분만 받는다.
+ * - GET /api/members/changes?cursor=.. : long-poll (변경이 없으면 waitMs 동안 기다렸다가 응답)
+ * - GET /api/members/changes/stream    : SSE (Accept: text/event-stream, event id = 커서, 재접속 시 Last-Event-ID 로 이어 받음)
+ * - 처음에는 cursor 없이 호출해서 현재 커서를 받고, 전체 목록을 받은 뒤 그 커서부터 이어 받는다
+ */
+@RestController
+@RequestMapping("/api/members/changes")
+public class MemberChangeController {
+    private static final long MAX_WAIT_MS = 30_000;
+    private static final long STREAM_TIMEOUT_MS = 30 * 60_000; // 끊기면 클라이언트(EventSource)가 Last-Event-ID 로 재접속
+    private static final int STREAM_BATCH = 500;
+
+    private final MemberChangeFeed feed;
+    public MemberChangeController(MemberChangeFeed feed){ this.feed = feed; }
+
+    @GetMapping
+    public DeferredResult<ApiResponse<MemberChangePage>> poll(@RequestParam(value = "cursor", required = false) String cursor,
+                                                              @RequestParam(value = "limit", defaultValue = "500") int limit,
+                                                              @RequestParam(value = "waitMs", defaultValue = "25000") long waitMs,
+                                                              HttpServletRequest req) {
+        String path = req.getRequestURI();
+        String traceId = traceId(req); // 응답은 다른 스레드에서 만들어질 수 있으므로 미리 꺼내 둔다
+        int size = Math.max(1, Math.min(limit, 1000));
+        MemberChangePage first = feed.read(cursor, size);
+
+        long wait = Math.max(0, Math.min(waitMs, MAX_WAIT_MS));
+        DeferredResult<ApiResponse<MemberChangePage>> result =
+                new DeferredResult<>(wait, () -> ok(first, path, traceId)); // 시간 초과 → 빈 결과 + 같은 커서
+        if (cursor == null || wait == 0 || first.isResnapshot() || !first.getChanges().isEmpty()) {
+            result.setResult(ok(first, path, traceId));
+            return result;
+        }
+        Runnable check = () -> {
+            MemberChangePage next = feed.read(first.getCursor(), size);
+            if (next.isResnapshot() || !next.getChanges().isEmpty()) result.setResult(ok(next, path, traceId));
+        };
+        Runnable unsubscribe = feed.subscribe(check);
+        result.onCompletion(unsubscribe);
+        check.run(); // 구독 직전에 들어온 변경을 놓치지 않게 한 번 더 확인
+        return result;
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                             @RequestParam(value = "cursor", required = false) String cursor) {
+        String from = lastEventId != null ? lastEventId : cursor != null ? cursor : feed.currentCursor();
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        StreamSubscriber subscriber = new StreamSubscriber(emitter, from);
+        Runnable unsubscribe = feed.subscribeAsync(subscriber::pump, subscriber::drop); // 전송은 구독자마다 sender 풀에서
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+        subscriber.pump();
+        return emitter;
+    }
+
+    // 구독자 하나의 커서. 요청 스레드(최초)와 sender 풀(이후)이 번갈아 부르므로 synchronized
+    private final class StreamSubscriber {
+        private final SseEmitter emitter;
+        private String cursor;
+        private boolean closed;
+        private volatile boolean dropped; // 전송이 막혀 뒤처짐 → 막힌 send 가 풀리면 끝내서 재접속하게
+
+        StreamSubscriber(SseEmitter emitter, String cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        // 피드 스레드에서 불린다. send 중일 수 있으므로 emitter 는 건드리지 않고 표시만
+        void drop() {
+            dropped = true;
+        }
+
+        synchronized void pump() {
+            if (closed) return;
+            try {
+                while (true) {
+                    if (dropped) {
+                        closed = true;
+                        emitter.complete(); // 클라이언트가 Last-Event-ID 로 다시 붙는다 (너무 뒤처졌으면 resnapshot)
+                        return;
+                    }
+                    MemberChangePage page = feed.read(cursor, STREAM_BATCH);
+                    cursor = page.getCursor();
+                    if (page.isResnapshot()) {
+                        emitter.send(SseEmitter.event().id(cursor).name("resnapshot").data(Map.of("cursor", cursor)));
+                        return;
+                    }
+                    for (MemberChange c : page.getChanges()) {
+                        emitter.send(SseEmitter.event().id(c.getCursor()).name("change").data(c, MediaType.APPLICATION_JSON));
+                    }
+                    if (page.getChanges().size() < STREAM_BATCH) return;
+                }
+            } catch (IOException | IllegalStateException e) { // 연결 끊김 / 이미 완료된 emitter
+                closed = true;
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    private static ApiResponse<MemberChangePage> ok(MemberChangePage page, String path, String traceId) {
+        return ApiResponse.success(page, path, traceId);
+    }
+
+    private String traceId(HttpServletRequest req){
+        Object v = req.getAttribute("traceId");
+        return v != null ? v.toString() : null;
+    }
+}
@@ -1,16 +1,20 @@
 package com.example.solwith.controller;
 
-import com.example.solwith.domain.Member;
+import com.example.solwith.common.ApiResponse;
 import com.example.solwith.dto.MemberResponse;
+import com.example.solwith.repository.MemberQuery;
+import com.example.solwith.repository.MemberSlice;
+import com.example.solwith.repository.MemberSortKey;
 import com.example.solwith.service.MemberService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/members")
@@ -28,37 +32,66 @@ public class MemberQueryController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String sort // ex) "name, desc" 또는 "id, asc"
     ) {
-        // 1) 기본 리스트 조회
-        List<Member> all = memberService.findMembers();
+        // 필터(검색) + 정렬 + 페이징(0-based)을 저장소로 내려서 한 번에 처리
+        MemberQuery query = MemberQuery.page(name, sortKey(sort), direction(sort), page, size);
+        return toResponses(memberService.search(query));
+    }
 
-        // 2) 필터(검색)
-        if (name != null && !name.isBlank()) {
-            String keyword = name.toLowerCase();
-            all = all.stream()
-                    .filter(m -> m.getName() != null && m.getName().toLowerCase().contains(keyword))
-                    .toList();
-        }
+    // 커서 기반(keyset) 검색: 응답 meta.nextCursor 를 다음 요청의 cursor 로 넘기면 된다.
+    // 깊은 페이지도 앞 페이지를 다시 정렬/스킵하지 않으므로 0페이지와 비용이 같다.
+    @GetMapping("/search/cursor")
+    public ApiResponse<List<MemberResponse>> searchByCursor(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String sort,
+            HttpServletRequest req
+    ) {
+        MemberQuery query = MemberQuery.keyset(name, sortKey(sort), direction(sort), cursor, size);
+        MemberSlice slice = memberService.search(query);
 
-        // 3) 정렬
-        if (sort != null && !sort.isBlank()) {
-            String[] parts = sort.split(",");
-            String field = parts[0];
-            boolean desc = parts.length > 1 && parts[1].equalsIgnoreCase("desc");
-            Comparator<Member> comp = switch (field) {
-                case "name" -> Comparator.comparing(m -> m.getName() == null ? "" : m.getName());
-                case "id" -> Comparator.comparing(m -> m.getId() == null ? Long.MIN_VALUE : m.getId());
-                default -> Comparator.comparing(m -> m.getId() == null ? Long.MIN_VALUE : m.getId());
-            };
-            if (desc) comp = comp.reversed();
-            all = all.stream().sorted(comp).toList();
-        }
-        // 4) 페이징(0-based)
-        int from = Math.max(page, 0) * Math.max(size, 1);
-        int to = Math.min(from + Math.max(size, 1), all.size());
-        if (from >= all.size()) return List.of(); // 빈 페이지
+        Map<String, Object> meta = new LinkedHashMap<>();
+        meta.put("size", query.getSize());
+        meta.put("hasNext", slice.hasNext());
+        meta.put("nextCursor", slice.getNextCursor());
+        return ApiResponse.success(toResponses(slice), req.getRequestURI(), traceId(req), meta);
+    }
 
-        return all.subList(from, to).stream()
+    // 한글 자동완성: q 가 자음만이면 초성 검색("ㅎㄱㄷ" → 홍길동), 아니면 입력 중인 글자 기준("홍기" → 홍길동)
+    // 이름 앞부분 일치가 먼저, 그다음 중간 일치("ㄱㄷ" → 홍길동) 순서
+    @GetMapping("/search/autocomplete")
+    public ApiResponse<List<MemberResponse>> autocomplete(
+            @RequestParam("q") String q,
+            @RequestParam(defaultValue = "10") int size,
+            HttpServletRequest req
+    ) {
+        var data = memberService.autocomplete(q, size).stream()
                 .map(m -> new MemberResponse(m.getId(), m.getName()))
                 .toList();
+        return ApiResponse.success(data, req.getRequestURI(), traceId(req));
+    }
+
+    private List<MemberResponse> toResponses(MemberSlice slice) {
+        return slice.getContent().stream()
+                .map(m -> new MemberResponse(m.getId(), m.getName()))
+                .toList();
+    }
+
+    // "name, desc" → NAME (정렬 필드가 없으면 id)
+    private MemberSortKey sortKey(String sort) {
+        if (sort == null || sort.isBlank()) return MemberSortKey.ID;
+        return MemberSortKey.from(sort.split(",")[0]);
+    }
+
+    private MemberQuery.Direction direction(String sort) {
+        if (sort == null || sort.isBlank()) return MemberQuery.Direction.ASC;
+        String[] parts = sort.split(",");
+        boolean desc = parts.length > 1 && parts[1].trim().equalsIgnoreCase("desc");
+        return desc ? MemberQuery.Direction.DESC : MemberQuery.Direction.ASC;
+    }
+
+    private String traceId(HttpServletRequest req){
+        Object v = req.getAttribute("traceId");
+        return v != null ? v.toString() : null;
     }
 }
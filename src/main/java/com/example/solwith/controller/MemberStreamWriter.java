@@ -0,0 +1,80 @@
+package com.example.solwith.controller;
+
+import com.example.solwith.common.BadRequestException;
+import com.example.solwith.domain.Member;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Locale;
+
+/**
+ * 회원 목록을 버퍼에 모으지 않고 출력 스트림에 바로 쓰는 writer (전체 내보내기용).
+ * - NDJSON: 한 줄에 회원 하나 {"id":1,"name":".."}
+ * - ARRAY : [{"id":1,..},{"id":2,..}] 를 원소 단위로 흘려 보냄 (chunked)
+ * - MemberResponse 객체를 만들지 않고 JsonGenerator 로 필드를 직접 쓴다
+ * - idsAsStrings 면 id 를 문자열로 ({"id":"1",..}) — 2^53 을 넘는 id(snowflake)용, MemberResponse 와 같은 기준
+ * - FLUSH_EVERY 건마다 flush → 첫 바이트가 빨리 나가고, 메모리는 건수와 무관하게 일정
+ */
+public final class MemberStreamWriter {
+    public static final String NDJSON = "application/x-ndjson";
+    static final int FLUSH_EVERY = 1_000;
+    private static final SerializedString NEWLINE = new SerializedString("\n");
+
+    public enum Format {
+        NDJSON, ARRAY;
+
+        /** stream 파라미터 값(ndjson/array) → Format */
+        public static Format from(String value) {
+            if (value == null || value.isBlank()) return NDJSON;
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("unknown stream format: " + value);
+            }
+        }
+
+        public String contentType() {
+            return this == NDJSON ? MemberStreamWriter.NDJSON : "application/json";
+        }
+    }
+
+    private final JsonFactory factory;
+    private final boolean idsAsStrings;
+
+    public MemberStreamWriter(JsonFactory factory) {
+        this(factory, false);
+    }
+
+    public MemberStreamWriter(JsonFactory factory, boolean idsAsStrings) {
+        this.factory = factory;
+        this.idsAsStrings = idsAsStrings;
+    }
+
+    /** 쓴 회원 수를 돌려준다 */
+    public long write(Iterator<Member> members, Format format, OutputStream out) throws IOException {
+        long n = 0;
+        try (JsonGenerator gen = factory.createGenerator(out, JsonEncoding.UTF8)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET); // 응답 스트림은 컨테이너가 닫는다
+            // NDJSON 은 루트 값 사이 구분자를 공백 대신 줄바꿈으로
+            gen.setRootValueSeparator(format == Format.NDJSON ? NEWLINE : null);
+            if (format == Format.ARRAY) gen.writeStartArray();
+            while (members.hasNext()) {
+                Member m = members.next();
+                gen.writeStartObject();
+                if (idsAsStrings) gen.writeStringField("id", String.valueOf(m.getId()));
+                else gen.writeNumberField("id", m.getId());
+                gen.writeStringField("name", m.getName());
+                gen.writeEndObject();
+                if (++n % FLUSH_EVERY == 0) gen.flush();
+            }
+            if (format == Format.ARRAY) gen.writeEndArray();
+            else if (n > 0) gen.writeRaw('\n'); // 마지막 줄도 줄바꿈으로 끝나게
+        }
+        return n;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.solwith.controller;
+
+import com.example.solwith.aop.MethodLatencyRecorder;
+import com.example.solwith.common.ApiResponse;
+import com.example.solwith.common.RouteLatencyTracker;
+import com.example.solwith.common.SlowRequestSampler;
+import com.example.solwith.common.SqlStatsCollector;
+import com.example.solwith.dto.LatencyStats;
+import com.example.solwith.dto.RepeatedSqlStats;
+import com.example.solwith.dto.RouteLatencyStats;
+import com.example.solwith.dto.SqlRouteStats;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 실행 시간 통계. 로그를 긁지 않고 백분위/처리량을 본다.
+ * 스택/SQL 원문/traceId 가 나가므로 ADMIN 만 (SecurityConfig)
+ * - GET  /api/metrics/latency              : 기동 이후 누적 (상태를 바꾸지 않음)
+ * - POST /api/metrics/latency/interval     : 지난 구간 조회 이후 구간. 부를 때마다 구간이 새로 시작되므로(공유 상태 변경) POST
+ *                                            → 수집기 하나만 주기적으로 부른다. 여럿이 부르면 서로 구간을 나눠 가진다
+ * - GET  /api/metrics/routes               : 경로별 응답 시간 + 지금 적용 중인 느림 기준/느린 요청 수 (누적)
+ * - POST /api/metrics/routes/interval      : 경로별 구간 (latency/interval 과 같은 방식)
+ * - GET    /api/metrics/profile[?route=GET /api/members/{id}]
+ *                                          : 느린 요청 스택 샘플 (collapsed stack 텍스트, flamegraph.pl 입력 그대로)
+ * - DELETE /api/metrics/profile            : 쌓인 스택 샘플 비움
+ * - GET /api/metrics/sql                   : 경로별 SQL 누적 (요청당 문장 수/DB 시간/행 수, 반복 문장이 걸린 요청 수)
+ * - GET /api/metrics/sql/repeated          : 한 요청 안에서 반복 실행된(N+1 의심) 문장 목록
+ */
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricsController {
+    private final MethodLatencyRecorder latencies;
+    private final RouteLatencyTracker routes;
+    private final SlowRequestSampler sampler;
+    private final SqlStatsCollector sqlStats;
+    public MetricsController(MethodLatencyRecorder latencies, RouteLatencyTracker routes, SlowRequestSampler sampler,
+                             SqlStatsCollector sqlStats){
+        this.latencies = latencies;
+        this.routes = routes;
+        this.sampler = sampler;
+        this.sqlStats = sqlStats;
+    }
+
+    @GetMapping("/latency")
+    public ApiResponse<List<LatencyStats>> latency(HttpServletRequest req) {
+        return ApiResponse.success(latencies.total(), req.getRequestURI(), traceId(req), Map.of("scope", "total"));
+    }
+
+    @PostMapping("/latency/interval")
+    public ApiResponse<List<LatencyStats>> latencyInterval(HttpServletRequest req) {
+        return ApiResponse.success(latencies.interval(), req.getRequestURI(), traceId(req), Map.of("scope", "interval"));
+    }
+
+    @GetMapping("/routes")
+    public ApiResponse<List<RouteLatencyStats>> routes(HttpServletRequest req) {
+        return ApiResponse.success(routes.total(), req.getRequestURI(), traceId(req), Map.of("scope", "total"));
+    }
+
+    @PostMapping("/routes/interval")
+    public ApiResponse<List<RouteLatencyStats>> routesInterval(HttpServletRequest req) {
+        return ApiResponse.success(routes.interval(), req.getRequestURI(), traceId(req), Map.of("scope", "interval"));
+    }
+
+    @GetMapping("/profile")
+    public ResponseEntity<String> profile(@RequestParam(value = "route", required = false) String route) {
+        return ResponseEntity.ok().contentType(MediaType.TEXT_PLAIN).body(sampler.collapsed(route));
+    }
+
+    @DeleteMapping("/profile")
+    public ResponseEntity<Void> resetProfile() {
+        sampler.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/sql")
+    public ApiResponse<List<SqlRouteStats>> sql(HttpServletRequest req) {
+        return ApiResponse.success(sqlStats.routes(), req.getRequestURI(), traceId(req), Map.of("scope", "total"));
+    }
+
+    @GetMapping("/sql/repeated")
+    public ApiResponse<List<RepeatedSqlStats>> repeatedSql(HttpServletRequest req) {
+        return ApiResponse.success(sqlStats.repeated(), req.getRequestURI(), traceId(req), Map.of("scope", "total"));
+    }
+
+    private String traceId(HttpServletRequest req){
+        Object v = req.getAttribute("traceId");
+        return v != null ? v.toString() : null;
+    }
+}
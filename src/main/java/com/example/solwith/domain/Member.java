@@ -3,12 +3,20 @@ package com.example.solwith.domain;
 public class Member {
     private Long id;
     private String name;
+    private long version; // 저장될 때마다 1씩 증가(0 = 아직 저장 안 됨). ETag / If-Match 비교에 쓴다
 
     public Member(){}
     public Member(String name) {this.name = name;}
+    public Member(Long id, String name, long version) {
+        this.id = id;
+        this.name = name;
+        this.version = version;
+    }
 
     public Long getId() {return id;}
     public void setId(Long id) {this.id = id;}
     public String getName() {return name;}
     public void setName(String name) {this.name = name;}
+    public long getVersion() {return version;}
+    public void setVersion(long version) {this.version = version;}
 }
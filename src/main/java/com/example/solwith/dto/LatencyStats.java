@@ -0,0 +1,30 @@
+package com.example.solwith.dto;
+
+/** 메서드 하나의 실행 시간 통계 (구간 또는 누적). 시간은 µs, 백분위는 약 3% 오차 */
+public class LatencyStats {
+    private final String method;
+    private final long count;
+    private final double perSecond;
+    private final double p50Us;
+    private final double p90Us;
+    private final double p99Us;
+    private final double maxUs;
+
+    public LatencyStats(String method, long count, double perSecond, double p50Us, double p90Us, double p99Us, double maxUs) {
+        this.method = method;
+        this.count = count;
+        this.perSecond = perSecond;
+        this.p50Us = p50Us;
+        this.p90Us = p90Us;
+        this.p99Us = p99Us;
+        this.maxUs = maxUs;
+    }
+
+    public String getMethod() { return method; }
+    public long getCount() { return count; }
+    public double getPerSecond() { return perSecond; }
+    public double getP50Us() { return p50Us; }
+    public double getP90Us() { return p90Us; }
+    public double getP99Us() { return p99Us; }
+    public double getMaxUs() { return maxUs; }
+}
@@ -0,0 +1,29 @@
+package com.example.solwith.dto;
+
+/** 변경 피드 한 건. seq 는 서버 안에서 단조 증가, cursor 는 이 변경 "다음"부터 이어 받을 때 쓰는 값 */
+public class MemberChange {
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private final long seq;
+    private final String cursor;
+    private final Type type;
+    private final Long id;
+    private final String name;
+    private final long version; // 같은 회원의 변경이 순서가 뒤바뀌어 와도 버전이 큰 쪽만 반영하면 된다
+
+    public MemberChange(long seq, String cursor, Type type, Long id, String name, long version) {
+        this.seq = seq;
+        this.cursor = cursor;
+        this.type = type;
+        this.id = id;
+        this.name = name;
+        this.version = version;
+    }
+
+    public long getSeq() { return seq; }
+    public String getCursor() { return cursor; }
+    public Type getType() { return type; }
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public long getVersion() { return version; }
+}
@@ -0,0 +1,23 @@
+package com.example.solwith.dto;
+
+import java.util.List;
+
+/**
+ * 변경 피드 응답. cursor 를 다음 요청에 그대로 넘기면 이어서 받는다.
+ * resnapshot=true 면 너무 뒤처져서(또는 서버 재시작) 놓친 변경이 있다 → 전체 목록을 다시 받은 뒤 cursor 부터 이어 받는다
+ */
+public class MemberChangePage {
+    private final List<MemberChange> changes;
+    private final String cursor;
+    private final boolean resnapshot;
+
+    public MemberChangePage(List<MemberChange> changes, String cursor, boolean resnapshot) {
+        this.changes = changes;
+        this.cursor = cursor;
+        this.resnapshot = resnapshot;
+    }
+
+    public List<MemberChange> getChanges() { return changes; }
+    public String getCursor() { return cursor; }
+    public boolean isResnapshot() { return resnapshot; }
+}
@@ -0,0 +1,37 @@
+package com.example.solwith.dto;
+
+import java.util.List;
+
+/** 일괄 등록 결과. 실패 줄은 최대 MAX_ERRORS 개까지만 담고 나머지는 개수만 센다 */
+public class MemberImportReport {
+    public static final int MAX_ERRORS = 1_000;
+
+    private final long total;
+    private final long imported;
+    private final long failed;
+    private final List<LineError> errors;
+    private final boolean errorsTruncated;
+
+    public MemberImportReport(long total, long imported, long failed, List<LineError> errors) {
+        this.total = total;
+        this.imported = imported;
+        this.failed = failed;
+        this.errors = errors;
+        this.errorsTruncated = failed > errors.size();
+    }
+
+    public long getTotal() { return total; }
+    public long getImported() { return imported; }
+    public long getFailed() { return failed; }
+    public List<LineError> getErrors() { return errors; }
+    public boolean isErrorsTruncated() { return errorsTruncated; }
+
+    // 실패한 줄 (1부터 시작하는 줄 번호)
+    public static class LineError {
+        private final long line;
+        private final String message;
+        public LineError(long line, String message) { this.line = line; this.message = message; }
+        public long getLine() { return line; }
+        public String getMessage() { return message; }
+    }
+}
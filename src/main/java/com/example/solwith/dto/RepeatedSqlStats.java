@@ -0,0 +1,24 @@
+package com.example.solwith.dto;
+
+/** 한 요청 안에서 반복 실행된(N+1 의심) 문장. lastTraceId 로 로그에서 마지막으로 걸린 요청을 찾는다 */
+public class RepeatedSqlStats {
+    private final String sql;
+    private final String route;
+    private final long requests;
+    private final int maxRepeats;
+    private final String lastTraceId;
+
+    public RepeatedSqlStats(String sql, String route, long requests, int maxRepeats, String lastTraceId) {
+        this.sql = sql;
+        this.route = route;
+        this.requests = requests;
+        this.maxRepeats = maxRepeats;
+        this.lastTraceId = lastTraceId;
+    }
+
+    public String getSql() { return sql; }
+    public String getRoute() { return route; }
+    public long getRequests() { return requests; }
+    public int getMaxRepeats() { return maxRepeats; }
+    public String getLastTraceId() { return lastTraceId; }
+}
@@ -0,0 +1,37 @@
+package com.example.solwith.dto;
+
+/** 경로 하나의 응답 시간 통계 (구간 또는 누적). 시간은 ms, 백분위는 약 3% 오차. slowThresholdMs 는 지금 적용 중인 느림 기준 */
+public class RouteLatencyStats {
+    private final String route;
+    private final long count;
+    private final double perSecond;
+    private final double p50Ms;
+    private final double p90Ms;
+    private final double p99Ms;
+    private final double maxMs;
+    private final double slowThresholdMs;
+    private final long slowCount;
+
+    public RouteLatencyStats(String route, long count, double perSecond, double p50Ms, double p90Ms, double p99Ms, double maxMs,
+                             double slowThresholdMs, long slowCount) {
+        this.route = route;
+        this.count = count;
+        this.perSecond = perSecond;
+        this.p50Ms = p50Ms;
+        this.p90Ms = p90Ms;
+        this.p99Ms = p99Ms;
+        this.maxMs = maxMs;
+        this.slowThresholdMs = slowThresholdMs;
+        this.slowCount = slowCount;
+    }
+
+    public String getRoute() { return route; }
+    public long getCount() { return count; }
+    public double getPerSecond() { return perSecond; }
+    public double getP50Ms() { return p50Ms; }
+    public double getP90Ms() { return p90Ms; }
+    public double getP99Ms() { return p99Ms; }
+    public double getMaxMs() { return maxMs; }
+    public double getSlowThresholdMs() { return slowThresholdMs; }
+    public long getSlowCount() { return slowCount; }
+}
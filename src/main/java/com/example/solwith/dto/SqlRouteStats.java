@@ -0,0 +1,37 @@
+package com.example.solwith.dto;
+
+/** 경로 하나의 기동 이후 SQL 누적 (요청 수, 문장 수, 읽거나 바꾼 행 수, DB 시간, 반복 문장이 걸린 요청 수) */
+public class SqlRouteStats {
+    private final String route;
+    private final long requests;
+    private final long statements;
+    private final double statementsPerRequest;
+    private final long maxStatements;
+    private final long rows;
+    private final double dbMs;
+    private final double dbMsPerRequest;
+    private final long repeatedRequests;
+
+    public SqlRouteStats(String route, long requests, long statements, double statementsPerRequest, long maxStatements,
+                         long rows, double dbMs, double dbMsPerRequest, long repeatedRequests) {
+        this.route = route;
+        this.requests = requests;
+        this.statements = statements;
+        this.statementsPerRequest = statementsPerRequest;
+        this.maxStatements = maxStatements;
+        this.rows = rows;
+        this.dbMs = dbMs;
+        this.dbMsPerRequest = dbMsPerRequest;
+        this.repeatedRequests = repeatedRequests;
+    }
+
+    public String getRoute() { return route; }
+    public long getRequests() { return requests; }
+    public long getStatements() { return statements; }
+    public double getStatementsPerRequest() { return statementsPerRequest; }
+    public long getMaxStatements() { return maxStatements; }
+    public long getRows() { return rows; }
+    public double getDbMs() { return dbMs; }
+    public double getDbMsPerRequest() { return dbMsPerRequest; }
+    public long getRepeatedRequests() { return repeatedRequests; }
+}
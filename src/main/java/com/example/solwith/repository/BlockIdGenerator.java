@@ -0,0 +1,29 @@
+package com.example.solwith.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/** DB 의 id_block_sequence 테이블에서 id 구간을 임대해 오는 발급기. 같은 테이블을 쓰는 인스턴스끼리는 겹치지 않는다 */
+public final class BlockIdGenerator implements MemberIdGenerator {
+    private final JdbcIdBlockAllocator allocator;
+
+    public BlockIdGenerator(JdbcTemplate jdbc, PlatformTransactionManager txm, String sequenceName, int blockSize) {
+        this.allocator = new JdbcIdBlockAllocator(jdbc, txm, sequenceName, blockSize);
+        allocator.init();
+    }
+
+    @Override
+    public long nextId() {
+        return allocator.next();
+    }
+
+    @Override
+    public long reserve(int count) {
+        return allocator.nextBlock(count);
+    }
+
+    @Override
+    public void advancePast(long id) {
+        allocator.advancePast(id);
+    }
+}
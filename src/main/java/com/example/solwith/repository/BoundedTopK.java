@@ -0,0 +1,119 @@
+package com.example.solwith.repository;
+
+import com.example.solwith.common.TraceContext;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+
+/**
+ * 정렬 순서상 앞쪽 k 개만 유지하는 크기 제한 힙.
+ * - 색인을 못 타는 검색에서 "전부 정렬 후 subList" 대신 사용 → 메모리/CPU 가 요청 구간((page+1)*size)에 비례
+ * - 힙의 루트에는 현재 k 개 중 "가장 뒤" 원소가 있어서, 더 앞선 원소가 오면 루트와 교체한다 (O(log k))
+ * - 큰 저장소는 Spliterator 를 fork-join 으로 쪼개 코어별 부분 힙을 만든 뒤 병합한다
+ * - 원소 타입은 저장소마다 다르다 (인메모리: 내부 레코드, 컴팩트: Member)
+ */
+final class BoundedTopK<T> {
+    static final int PARALLEL_THRESHOLD = 50_000; // 이보다 작으면 스레드 분할 비용이 더 크다
+    private static final int LEAF_SIZE = 8_192;   // fork-join 한 조각이 직접 훑는 원소 수
+
+    private final Comparator<? super T> cmp;
+    private final int k;
+    private final PriorityQueue<T> heap;
+
+    BoundedTopK(Comparator<? super T> cmp, int k) {
+        this.cmp = cmp;
+        this.k = k;
+        this.heap = new PriorityQueue<>(Math.min(k, 1024) + 1, Collections.reverseOrder(cmp));
+    }
+
+    /** offset + size + 1(다음 페이지 존재 확인용) 를 int 범위 안으로 */
+    static int windowOf(MemberQuery query) {
+        long k = (long) query.getOffset() + query.getSize() + 1;
+        return (int) Math.min(k, Integer.MAX_VALUE - 8);
+    }
+
+    void offer(T m) {
+        if (heap.size() < k) {
+            heap.add(m);
+        } else if (cmp.compare(m, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(m);
+        }
+    }
+
+    BoundedTopK<T> merge(BoundedTopK<T> other) {
+        for (T m : other.heap) offer(m);
+        return this;
+    }
+
+    /** 정렬된 결과(최대 k 개) */
+    List<T> sorted() {
+        List<T> out = new ArrayList<>(heap);
+        out.sort(cmp);
+        return out;
+    }
+
+    static <T> BoundedTopK<T> select(Iterable<? extends T> source, Predicate<? super T> filter, Comparator<? super T> cmp, int k) {
+        BoundedTopK<T> top = new BoundedTopK<>(cmp, k);
+        for (T m : source) {
+            if (filter.test(m)) top.offer(m);
+        }
+        return top;
+    }
+
+    /** 전체 스캔. 원소 수가 기준 이상이면 fork-join 으로 병렬 처리 */
+    static <T> BoundedTopK<T> scan(Collection<T> source, Predicate<? super T> filter, Comparator<? super T> cmp, int k) {
+        if (source.size() < PARALLEL_THRESHOLD) return select(source, filter, cmp, k);
+        return scan(source.spliterator(), filter, cmp, k);
+    }
+
+    /** 임의의 Spliterator(예: 컴팩트 저장소의 슬롯 구간)를 fork-join 으로 나눠 스캔 (공용 풀 스레드에도 요청의 trace 컨텍스트를 붙인다) */
+    static <T> BoundedTopK<T> scan(Spliterator<T> source, Predicate<? super T> filter, Comparator<? super T> cmp, int k) {
+        return ForkJoinPool.commonPool().invoke(new ScanTask<>(source, filter, cmp, k, TraceContext.current()));
+    }
+
+    private static final class ScanTask<T> extends RecursiveTask<BoundedTopK<T>> {
+        private final Spliterator<T> split;
+        private final Predicate<? super T> filter;
+        private final Comparator<? super T> cmp;
+        private final int k;
+        private final TraceContext trace; // null 이면 붙이지 않음
+
+        ScanTask(Spliterator<T> split, Predicate<? super T> filter, Comparator<? super T> cmp, int k, TraceContext trace) {
+            this.split = split;
+            this.filter = filter;
+            this.cmp = cmp;
+            this.k = k;
+            this.trace = trace;
+        }
+
+        @Override
+        protected BoundedTopK<T> compute() {
+            if (trace == null) return scan();
+            try (TraceContext.Scope ignored = trace.attach()) { // 끝나면 풀 스레드의 이전 상태로 되돌린다
+                return scan();
+            }
+        }
+
+        private BoundedTopK<T> scan() {
+            // 조각이 충분히 작아질 때까지 앞부분을 떼어서 fork → 남은 부분은 현재 스레드가 처리
+            List<ScanTask<T>> forks = new ArrayList<>();
+            Spliterator<T> rest = split;
+            while (rest.estimateSize() > LEAF_SIZE) {
+                Spliterator<T> prefix = rest.trySplit();
+                if (prefix == null) break;
+                ScanTask<T> t = new ScanTask<>(prefix, filter, cmp, k, trace);
+                t.fork();
+                forks.add(t);
+            }
+            BoundedTopK<T> local = new BoundedTopK<>(cmp, k);
+            rest.forEachRemaining(m -> {
+                if (filter.test(m)) local.offer(m);
+            });
+            for (ScanTask<T> t : forks) local.merge(t.join());
+            return local;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.solwith.repository;
+
+import com.example.solwith.common.NotFoundException;
+import com.example.solwith.common.VersionConflictException;
+import com.example.solwith.domain.Member;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * 메모리 절약형 인메모리 저장소 (member-compact 프로파일).
+ * - 회원을 객체가 아닌 원시 배열 + UTF-8 슬랩으로 보관(CompactMemberStore) → 같은 힙에 훨씬 많은 회원을 담는다
+ * - 대신 보조 색인(트라이그램/정렬)이 없어서 검색/정렬은 크기 제한 힙 + (큰 저장소면 병렬) 전체 스캔으로 처리
+ * - streamAll(내보내기)은 슬롯을 청크 단위로 훑어서 회원 수와 상관없이 메모리를 일정하게 쓴다
+ * - 반환되는 Member 는 읽을 때 만든 사본이므로, 수정했으면 save 로 다시 저장해야 반영된다
+ * - 버전은 슬롯마다 int 로 보관하고, 비교 후 교체(compareAndSet)는 저장 구조의 쓰기 락 안에서 한 번에 처리한다
+ */
+@Repository
+@Profile("member-compact")
+public class CompactMemberRepository implements MemberRepository {
+
+    private final CompactMemberStore store;
+    private final MemberIdGenerator ids;
+
+    public CompactMemberRepository(boolean offHeap, int slabBytes) {
+        this(offHeap, slabBytes, new SequenceIdGenerator());
+    }
+
+    @Autowired
+    public CompactMemberRepository(@Value("${member.compact.off-heap:false}") boolean offHeap,
+                                   @Value("${member.compact.slab-bytes:1048576}") int slabBytes,
+                                   MemberIdGenerator ids) {
+        this.store = new CompactMemberStore(offHeap, slabBytes);
+        this.ids = ids;
+    }
+
+    // id 가 있으면 있는 회원의 이름 변경만 한다: 존재 확인과 교체를 저장 구조의 쓰기 락 안에서 한 번에 처리해서
+    // 그 사이 삭제된 회원을 되살리지 않고, 없는 id 는 새 id 로 바꿔 넣지 않고 거부한다 (JDBC 저장소와 같은 동작)
+    @Override
+    public Member save(Member member) {
+        if (member.getId() == null) {
+            member.setId(ids.nextId());
+            member.setVersion(store.put(member.getId(), member.getName()));
+            return member;
+        }
+        int version = store.update(member.getId(), member.getName());
+        if (version == 0) throw new NotFoundException("member " + member.getId() + " not found");
+        member.setVersion(version);
+        return member;
+    }
+
+    @Override
+    public Optional<Member> compareAndSet(Long id, long expectedVersion, String name) {
+        int expected = (int) Math.min(expectedVersion, Integer.MAX_VALUE); // 슬롯 버전은 int (범위 밖이면 어차피 불일치)
+        int result = store.replaceIfVersion(id, expected, name);
+        if (result == 0) return Optional.empty();
+        if (result < 0) {
+            throw new VersionConflictException("member " + id + " version mismatch: expected " + expectedVersion + ", current " + -result);
+        }
+        return Optional.of(new Member(id, name, result));
+    }
+
+    @Override
+    public Optional<Member> findById(Long id) {
+        return Optional.ofNullable(store.get(id));
+    }
+
+    @Override
+    public List<Member> findAll() {
+        List<Member> all = store.collect(m -> true);
+        all.sort(MemberSortKey.ID.comparator()); // 인메모리 저장소와 같은 id 순서
+        return all;
+    }
+
+    // 내보내기용: 전체 목록(과 id 정렬)을 만들지 않고 슬롯을 청크 단위로 훑는다 → 순서는 id 가 아니라 슬롯 순서
+    @Override
+    public Stream<Member> streamAll() {
+        return store.stream();
+    }
+
+    @Override
+    public List<Member> findByNameContaining(String keyword) {
+        String kw = NameTrigramIndex.normalize(keyword);
+        return store.collect(m -> matches(m, kw));
+    }
+
+    @Override
+    public MemberSlice query(MemberQuery query) {
+        Comparator<Member> cmp = query.comparator();
+        MemberCursor cursor = query.decodeCursor();
+        String kw = NameTrigramIndex.normalize(query.getKeyword());
+        Member probe = cursor == null ? null : cursor.toProbe();
+
+        Predicate<Member> filter = m -> (kw == null || matches(m, kw)) && (probe == null || cmp.compare(m, probe) > 0);
+        List<Member> window = store.top(filter, cmp, BoundedTopK.windowOf(query)).sorted();
+        int from = Math.min(cursor == null ? query.getOffset() : 0, window.size());
+        return MemberSlice.of(window.subList(from, window.size()), query);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        store.remove(id);
+    }
+
+    private static boolean matches(Member m, String normalizedKeyword) {
+        return m.getName() != null && NameTrigramIndex.normalize(m.getName()).contains(normalizedKeyword);
+    }
+}
@@ -0,0 +1,459 @@
+package com.example.solwith.repository;
+
+import com.example.solwith.domain.Member;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 회원 1명당 힙 사용량을 줄이기 위한 컴팩트 저장 구조.
+ * - id → 이름 주소(long) + 버전(int) 을 원시 배열 기반 open addressing 해시(선형 탐사)로 보관 → Long 박싱/맵 노드 없음
+ * - 이름은 UTF-8 바이트로 큰 슬랩(ByteBuffer, 힙 또는 off-heap)에 [varint 길이][바이트] 형태로 이어 붙인다
+ * - Member 객체는 읽을 때만 만든다(저장소에는 객체가 없다)
+ * - 동시성: StampedLock. 단건 조회는 낙관적 읽기 → 실패 시 읽기 락, 쓰기/리사이즈/슬랩 정리는 쓰기 락
+ */
+final class CompactMemberStore {
+    private static final long EMPTY = 0L;      // 비어 있는 슬롯 (id 는 1부터)
+    private static final long TOMBSTONE = -1L; // 삭제된 슬롯 (탐사 체인 유지용)
+    private static final long NULL_NAME = -1L; // 이름이 null 인 회원의 주소
+    private static final double MAX_LOAD = 0.6;
+    private static final int STREAM_CHUNK = 1024; // stream() 이 읽기 락 한 번에 훑는 슬롯 수
+
+    private final StampedLock lock = new StampedLock();
+    private final boolean offHeap;
+    private final int slabBytes;
+
+    private long[] keys = new long[1024];
+    private long[] addrs = new long[1024];
+    private int[] versions = new int[1024];
+    private int size;
+    private int tombstones;
+
+    private ByteBuffer[] slabs = new ByteBuffer[8];
+    private int slabCount;
+    private int slabPos;
+    private long liveBytes;   // 현재 이름들이 차지하는 바이트
+    private long wastedBytes; // 이름 변경/삭제로 버려진 바이트 → 일정 이상이면 슬랩 정리
+
+    CompactMemberStore(boolean offHeap, int slabBytes) {
+        this.offHeap = offHeap;
+        this.slabBytes = slabBytes;
+        newSlab();
+    }
+
+    // --- 읽기 ---
+
+    Member get(long id) {
+        long stamp = lock.tryOptimisticRead();
+        Member m = null;
+        try {
+            m = read(id);
+        } catch (RuntimeException ignored) {
+            // 리사이즈 도중 옛 배열을 읽다 생긴 예외 → 아래에서 락을 잡고 다시 읽는다
+        }
+        if (lock.validate(stamp)) return m;
+        stamp = lock.readLock();
+        try {
+            return read(id);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /** 이름 슬랩 개수 (정리 후 줄어드는지 확인용) */
+    int slabCount() {
+        long stamp = lock.readLock();
+        try {
+            return slabCount;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /** 조건에 맞는 회원 전부 (읽기 락을 잡은 채 슬롯을 훑는다) */
+    List<Member> collect(Predicate<Member> filter) {
+        long stamp = lock.readLock();
+        try {
+            List<Member> out = new ArrayList<>();
+            new SlotSpliterator(keys, addrs, versions, slabs, 0, keys.length).forEachRemaining(m -> {
+                if (filter.test(m)) out.add(m);
+            });
+            return out;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 전체 회원을 슬롯 순서로 흘려보낸다. 읽기 락은 슬롯 STREAM_CHUNK 개를 훑는 동안만 잡고 놓는다 → 메모리는 청크 하나분,
+     * 느린 소비자(내보내기 응답 등)가 쓰기를 막지 않는다.
+     * - 시작할 때의 키 배열을 끝까지 따라간다. 도중에 리사이즈로 배열이 바뀌면 그 키로 현재 테이블을 조회해서 이름/버전을 읽는다
+     *   (id 는 재사용되지 않아 한 키 배열에 한 번만 나온다 → 같은 회원이 두 번 나오지 않는다)
+     * - 약한 일관성: 시작 후 추가된 회원은 나올 수도 안 나올 수도 있고, 이미 지나간 뒤 삭제된 회원은 이미 나온 상태다
+     */
+    Stream<Member> stream() {
+        long stamp = lock.readLock();
+        try {
+            return StreamSupport.stream(new ChunkedSlots(keys), false);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /** 조건에 맞는 회원 중 정렬상 앞쪽 k 개. 큰 저장소는 슬롯 구간을 fork-join 으로 나눠 병렬 스캔 */
+    BoundedTopK<Member> top(Predicate<Member> filter, Comparator<Member> cmp, int k) {
+        long stamp = lock.readLock();
+        try {
+            SlotSpliterator slots = new SlotSpliterator(keys, addrs, versions, slabs, 0, keys.length);
+            if (size < BoundedTopK.PARALLEL_THRESHOLD) {
+                BoundedTopK<Member> top = new BoundedTopK<>(cmp, k);
+                slots.forEachRemaining(m -> {
+                    if (filter.test(m)) top.offer(m);
+                });
+                return top;
+            }
+            return BoundedTopK.scan(slots, filter, cmp, k); // 락은 이 스레드가 쥐고 있고, 작업 스레드들은 읽기만 한다
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private Member read(long id) {
+        long[] k = keys;
+        long[] a = addrs;
+        int[] v = versions;
+        ByteBuffer[] s = slabs;
+        int mask = k.length - 1;
+        for (int i = mix(id) & mask; ; i = (i + 1) & mask) {
+            long key = k[i];
+            if (key == EMPTY) return null;
+            if (key == id) return materialize(id, a[i], v[i], s);
+        }
+    }
+
+    // --- 쓰기 ---
+
+    /** 저장(없으면 추가, 있으면 덮어씀) 후 새 버전을 돌려준다 */
+    int put(long id, String name) {
+        byte[] bytes = name == null ? null : name.getBytes(StandardCharsets.UTF_8);
+        long stamp = lock.writeLock();
+        try {
+            int slot = find(id);
+            if (slot >= 0) return replace(slot, bytes);
+            if ((size + tombstones + 1) > keys.length * MAX_LOAD) rehash();
+            insert(id, append(bytes), 1);
+            size++;
+            maybeCompact();
+            return 1;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** 이미 있는 회원일 때만 이름을 바꾼다(확인과 교체를 한 쓰기 락 안에서). 새 버전, 없으면 0 */
+    int update(long id, String name) {
+        byte[] bytes = name == null ? null : name.getBytes(StandardCharsets.UTF_8);
+        long stamp = lock.writeLock();
+        try {
+            int slot = find(id);
+            return slot < 0 ? 0 : replace(slot, bytes);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** 현재 버전이 expected 일 때만 이름을 바꾼다. 새 버전, 없으면 0, 버전이 다르면 -(현재 버전) */
+    int replaceIfVersion(long id, int expected, String name) {
+        byte[] bytes = name == null ? null : name.getBytes(StandardCharsets.UTF_8);
+        long stamp = lock.writeLock();
+        try {
+            int slot = find(id);
+            if (slot < 0) return 0;
+            if (versions[slot] != expected) return -versions[slot];
+            return replace(slot, bytes);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private int replace(int slot, byte[] bytes) {
+        discard(addrs[slot]);
+        addrs[slot] = append(bytes);
+        int version = ++versions[slot];
+        maybeCompact();
+        return version;
+    }
+
+    boolean remove(long id) {
+        long stamp = lock.writeLock();
+        try {
+            int slot = find(id);
+            if (slot < 0) return false;
+            discard(addrs[slot]);
+            keys[slot] = TOMBSTONE;
+            addrs[slot] = 0;
+            versions[slot] = 0;
+            size--;
+            tombstones++;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private int find(long id) {
+        int mask = keys.length - 1;
+        for (int i = mix(id) & mask; ; i = (i + 1) & mask) {
+            long key = keys[i];
+            if (key == EMPTY) return -1;
+            if (key == id) return i;
+        }
+    }
+
+    private void insert(long id, long addr, int version) {
+        int mask = keys.length - 1;
+        int i = mix(id) & mask;
+        while (keys[i] != EMPTY && keys[i] != TOMBSTONE) i = (i + 1) & mask;
+        if (keys[i] == TOMBSTONE) tombstones--;
+        keys[i] = id;
+        addrs[i] = addr;
+        versions[i] = version;
+    }
+
+    // 살아있는 항목이 적으면 같은 크기로(툼스톤만 청소), 많으면 두 배로
+    private void rehash() {
+        long[] oldKeys = keys;
+        long[] oldAddrs = addrs;
+        int[] oldVersions = versions;
+        int cap = size + 1 > oldKeys.length * (MAX_LOAD / 2) ? oldKeys.length * 2 : oldKeys.length;
+        keys = new long[cap];
+        addrs = new long[cap];
+        versions = new int[cap];
+        tombstones = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != EMPTY && key != TOMBSTONE) insert(key, oldAddrs[i], oldVersions[i]);
+        }
+    }
+
+    // --- 이름 슬랩 ---
+
+    private long append(byte[] bytes) {
+        if (bytes == null) return NULL_NAME;
+        int need = varintSize(bytes.length) + bytes.length;
+        if (need > slabBytes) throw new IllegalArgumentException("name too long for compact store: " + bytes.length + " bytes");
+        if (slabPos + need > slabBytes) newSlab();
+        ByteBuffer slab = slabs[slabCount - 1];
+        int start = slabPos;
+        int p = writeVarint(slab, start, bytes.length);
+        slab.put(p, bytes);
+        slabPos += need;
+        liveBytes += need;
+        return ((long) (slabCount - 1) << 32) | start;
+    }
+
+    private void discard(long addr) {
+        if (addr == NULL_NAME) return;
+        ByteBuffer slab = slabs[(int) (addr >>> 32)];
+        int off = (int) addr;
+        int len = readVarint(slab, off);
+        int need = varintSize(len) + len;
+        liveBytes -= need;
+        wastedBytes += need;
+    }
+
+    private void newSlab() {
+        if (slabCount == slabs.length) slabs = Arrays.copyOf(slabs, slabCount * 2);
+        slabs[slabCount++] = offHeap ? ByteBuffer.allocateDirect(slabBytes) : ByteBuffer.allocate(slabBytes);
+        slabPos = 0;
+    }
+
+    // 버려진 바이트가 살아있는 바이트보다 많아지면 살아있는 이름만 새 슬랩으로 옮긴다 (쓰기 락 안)
+    private void maybeCompact() {
+        if (wastedBytes < slabBytes || wastedBytes < liveBytes) return;
+        ByteBuffer[] old = slabs;
+        slabs = new ByteBuffer[8];
+        slabCount = 0;
+        liveBytes = 0;
+        wastedBytes = 0;
+        newSlab();
+        for (int i = 0; i < keys.length; i++) {
+            long key = keys[i];
+            if (key == EMPTY || key == TOMBSTONE || addrs[i] == NULL_NAME) continue;
+            addrs[i] = append(nameBytes(old, addrs[i]));
+        }
+    }
+
+    private static Member materialize(long id, long addr, int version, ByteBuffer[] slabs) {
+        return new Member(id, addr == NULL_NAME ? null : new String(nameBytes(slabs, addr), StandardCharsets.UTF_8), version);
+    }
+
+    private static byte[] nameBytes(ByteBuffer[] slabs, long addr) {
+        ByteBuffer slab = slabs[(int) (addr >>> 32)];
+        int off = (int) addr;
+        int len = readVarint(slab, off);
+        if (len < 0 || off + varintSize(len) + len > slab.limit()) {
+            throw new IllegalStateException("torn read"); // 낙관적 읽기 중 정리(compaction)와 겹침 → 호출 측이 락 잡고 재시도
+        }
+        byte[] bytes = new byte[len];
+        slab.get(off + varintSize(len), bytes);
+        return bytes;
+    }
+
+    // --- 유틸 ---
+
+    private static int mix(long id) { // murmur3 finalizer: 연속된 id 가 한 곳에 몰리지 않게
+        long h = id;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    private static int varintSize(int v) {
+        int n = 1;
+        while ((v >>>= 7) != 0) n++;
+        return n;
+    }
+
+    private static int writeVarint(ByteBuffer b, int p, int v) {
+        while ((v & ~0x7F) != 0) {
+            b.put(p++, (byte) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        b.put(p++, (byte) v);
+        return p;
+    }
+
+    private static int readVarint(ByteBuffer b, int p) {
+        int v = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte x = b.get(p++);
+            v |= (x & 0x7F) << shift;
+            if (x >= 0) return v;
+        }
+    }
+
+    /** stream() 용: 청크마다 읽기 락을 잡고 슬롯을 훑어 버퍼에 담는다 */
+    private final class ChunkedSlots implements Spliterator<Member> {
+        private final long[] table;
+        private final ArrayDeque<Member> buffer = new ArrayDeque<>();
+        private int pos;
+
+        ChunkedSlots(long[] table) {
+            this.table = table;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Member> action) {
+            if (buffer.isEmpty()) fill();
+            Member m = buffer.poll();
+            if (m == null) return false;
+            action.accept(m);
+            return true;
+        }
+
+        private void fill() {
+            while (buffer.isEmpty() && pos < table.length) {
+                long stamp = lock.readLock();
+                try {
+                    int end = Math.min(pos + STREAM_CHUNK, table.length);
+                    for (; pos < end; pos++) {
+                        long key = table[pos];
+                        if (key == EMPTY || key == TOMBSTONE) continue;
+                        Member m = table == keys ? materialize(key, addrs[pos], versions[pos], slabs) : read(key);
+                        if (m != null) buffer.add(m);
+                    }
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+        }
+
+        @Override
+        public Spliterator<Member> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return NONNULL | DISTINCT;
+        }
+    }
+
+    /** 슬롯 구간 [from, to) 을 훑는 Spliterator. 절반씩 나눠서 fork-join 스캔에 쓰인다 */
+    private static final class SlotSpliterator implements Spliterator<Member> {
+        private final long[] keys;
+        private final long[] addrs;
+        private final int[] versions;
+        private final ByteBuffer[] slabs;
+        private int from;
+        private final int to;
+
+        SlotSpliterator(long[] keys, long[] addrs, int[] versions, ByteBuffer[] slabs, int from, int to) {
+            this.keys = keys;
+            this.addrs = addrs;
+            this.versions = versions;
+            this.slabs = slabs;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Member> action) {
+            while (from < to) {
+                int i = from++;
+                long key = keys[i];
+                if (key != EMPTY && key != TOMBSTONE) {
+                    action.accept(materialize(key, addrs[i], versions[i], slabs));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<Member> trySplit() {
+            int mid = (from + to) >>> 1;
+            if (mid - from < 1024) return null;
+            Spliterator<Member> prefix = new SlotSpliterator(keys, addrs, versions, slabs, from, mid);
+            from = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from; // 슬롯 수 기준(실제 회원 수는 load factor 만큼 적다)
+        }
+
+        @Override
+        public int characteristics() {
+            return NONNULL | DISTINCT;
+        }
+    }
+}
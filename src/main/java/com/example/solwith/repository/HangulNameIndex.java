@@ -0,0 +1,252 @@
+package com.example.solwith.repository;
+
+import com.example.solwith.domain.Member;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 한글 이름 자동완성 색인 (초성 / 자모 단위 접두 검색).
+ * - 저장 시점에 이름을 초성열("홍길동" → "ㅎㄱㄷ")과 자판 입력열("ㅎㅗㅇㄱㅣㄹㄷㅗㅇ")로 한 번만 분해해서 정렬 집합에 넣는다
+ * - 입력 중인 글자("홍기" → ㅎㅗㅇㄱㅣ)도 입력열의 접두사가 되므로, 검색은 정렬 집합의 범위 조회 한 번 = O(log n + k)
+ * - 이름 중간 일치("ㄱㄷ" → 홍길동)를 위해 글자 경계마다 접미열도 넣는다. 결과는 앞부분 일치 → 중간 일치 순서
+ * - 겹받침/겹모음은 자판 순서대로 풀어서 넣는다(ㄺ → ㄹㄱ, ㅘ → ㅗㅏ) → "달" 입력 중에도 "닭" 이 걸린다
+ * - 키 하나는 MAX_KEY 글자까지만 → 이름이 길어도 색인 크기는 글자 수에 비례(접미열 전체를 만들면 제곱)
+ *   그보다 긴 검색어는 앞 MAX_KEY 글자로 범위를 찾고, 호출 쪽이 rank 로 이름 전체를 다시 확인한다
+ */
+final class HangulNameIndex {
+    private static final char HEAD = '\u0000'; // 이름 첫 글자부터 시작하는 키
+    private static final char TAIL = '\u0001'; // 이름 중간 글자부터 시작하는 키(앞부분 일치보다 뒤에 정렬)
+    static final int MAX_KEY = 48;               // 키 하나의 최대 길이(자모 기준, 한글 약 16글자)
+
+    private static final int SYLLABLE_BASE = 0xAC00, SYLLABLE_LAST = 0xD7A3;
+    private static final int JAMO_FIRST = 0x3131, JAMO_LAST = 0x3163, CONSONANT_LAST = 0x314E;
+
+    private static final String CHO = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    private static final String[] JUNG = {"ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅛ",
+            "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"};
+    private static final String[] JONG = {"", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ",
+            "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"};
+    private static final String[] COMPAT = new String[JAMO_LAST - JAMO_FIRST + 1]; // 낱자(ㄺ, ㅘ ..) → 자판 입력열
+
+    static {
+        for (int i = 0; i < COMPAT.length; i++) COMPAT[i] = String.valueOf((char) (JAMO_FIRST + i));
+        for (String s : JONG) if (s.length() == 2) COMPAT[compound(s) - JAMO_FIRST] = s;
+        for (String s : JUNG) if (s.length() == 2) COMPAT[compound(s) - JAMO_FIRST] = s;
+    }
+
+    private record Entry(String key, long id) implements Comparable<Entry> {
+        @Override
+        public int compareTo(Entry o) {
+            int c = key.compareTo(o.key);
+            return c != 0 ? c : Long.compare(id, o.id);
+        }
+    }
+
+    private final NavigableSet<Entry> initials = new ConcurrentSkipListSet<>();
+    private final NavigableSet<Entry> strokes = new ConcurrentSkipListSet<>();
+    private final Map<Long, Keys> indexed = new ConcurrentHashMap<>(); // id -> 색인된 키
+
+    /** 신규/변경 모두 처리. 같은 id 에 대한 갱신은 compute 로 직렬화된다. */
+    void put(Long id, String name) {
+        Keys keys = keys(name == null ? "" : name);
+        indexed.compute(id, (k, old) -> {
+            if (keys.equals(old)) return old;
+            // 새 키를 먼저 넣고 옛 키를 지운다 → 검색 중에 회원이 "사라지는" 순간이 없다
+            replace(initials, id, old == null ? List.of() : old.initials(), keys.initials());
+            replace(strokes, id, old == null ? List.of() : old.strokes(), keys.strokes());
+            return keys;
+        });
+    }
+
+    void remove(Long id) {
+        indexed.computeIfPresent(id, (k, old) -> {
+            replace(initials, id, old.initials(), List.of());
+            replace(strokes, id, old.strokes(), List.of());
+            return null;
+        });
+    }
+
+    private static void replace(NavigableSet<Entry> set, long id, List<String> oldKeys, List<String> newKeys) {
+        for (String key : newKeys) set.add(new Entry(key, id));
+        for (String key : oldKeys) if (!newKeys.contains(key)) set.remove(new Entry(key, id));
+    }
+
+    /**
+     * @return 검색어와 일치하는 id (앞부분 일치 먼저, 같은 순위는 키 → id 순), 최대 limit 개
+     */
+    List<Long> complete(Probe probe, int limit) {
+        NavigableSet<Entry> set = probe.initials() ? initials : strokes;
+        String key = cap(probe.key(), 0); // 키가 잘려 있으므로 검색어도 같은 길이로 (넘치면 후보가 넓어질 뿐)
+        Set<Long> ids = new LinkedHashSet<>();
+        collect(set, HEAD + key, ids, limit);
+        collect(set, TAIL + key, ids, limit); // 한 이름이 여러 위치에서 걸릴 수 있으므로 중복 제거
+        return new ArrayList<>(ids);
+    }
+
+    private static void collect(NavigableSet<Entry> set, String prefix, Set<Long> ids, int limit) {
+        Iterator<Entry> it = set.tailSet(new Entry(prefix, Long.MIN_VALUE), true).iterator();
+        while (ids.size() < limit && it.hasNext()) {
+            Entry e = it.next();
+            if (!e.key().startsWith(prefix)) return;
+            ids.add(e.id());
+        }
+    }
+
+    /**
+     * 검색어 분석 결과. 자음 낱자로만 이뤄졌으면 초성 검색, 아니면 자판 입력열 검색.
+     * 공백은 무시하고, 검색어가 비어 있으면 null
+     */
+    static Probe probe(String query) {
+        if (query == null) return null;
+        String q = compact(query);
+        if (q.isEmpty()) return null;
+        boolean initials = true;
+        for (int i = 0; i < q.length() && initials; i++) {
+            char c = q.charAt(i);
+            initials = c >= JAMO_FIRST && c <= CONSONANT_LAST;
+        }
+        return new Probe(initials, initials ? q : strokes(q));
+    }
+
+    record Probe(boolean initials, String key) {
+        /** 색인과 같은 기준의 정렬 키(앞부분 일치 / 가장 앞선 중간 일치), 일치하지 않으면 null. 일치 여부는 이름 전체로 본다 */
+        String rank(String name) {
+            Split split = split(name == null ? "" : name);
+            String text = initials ? split.initials() : split.strokes();
+            if (text.startsWith(key)) return HEAD + cap(text, 0);
+            String best = null;
+            for (int i = 1; i < split.starts().length; i++) {
+                int from = initials ? i : split.starts()[i];
+                if (!text.startsWith(key, from)) continue; // 접미열을 만들지 않고 제자리에서 비교
+                String c = TAIL + cap(text, from);
+                if (best == null || c.compareTo(best) < 0) best = c;
+            }
+            return best;
+        }
+
+        /** 색인이 없는 저장소용: 한 번 훑으면서 크기 제한 힙으로 상위 limit 개만 남긴다 */
+        List<Member> top(Iterator<Member> source, int limit) {
+            record Ranked(String key, Member member) {}
+            Comparator<Ranked> order = Comparator.comparing(Ranked::key)
+                    .thenComparing(r -> r.member().getId(), Comparator.nullsLast(Comparator.naturalOrder()));
+            PriorityQueue<Ranked> heap = new PriorityQueue<>(order.reversed()); // 가장 뒤 순위가 맨 위
+            while (source.hasNext()) {
+                Member m = source.next();
+                String rank = rank(m.getName());
+                if (rank == null) continue;
+                heap.add(new Ranked(rank, m));
+                if (heap.size() > limit) heap.poll();
+            }
+            List<Ranked> ranked = new ArrayList<>(heap);
+            ranked.sort(order);
+            return ranked.stream().map(Ranked::member).toList();
+        }
+    }
+
+    private record Keys(List<String> initials, List<String> strokes) {}
+
+    // 초성열 / 자판 입력열 (한 번만 만든다). starts[i] = i 번째 글자가 입력열에서 시작하는 위치
+    private record Split(String initials, String strokes, int[] starts) {}
+
+    // 첫 원소는 이름 전체(HEAD), 나머지는 글자 경계마다의 접미열(TAIL). 모두 MAX_KEY 글자까지
+    private static Keys keys(String name) {
+        Split split = split(name);
+        int n = split.starts().length;
+        List<String> initialKeys = new ArrayList<>(Math.max(1, n));
+        List<String> strokeKeys = new ArrayList<>(Math.max(1, n));
+        initialKeys.add(HEAD + cap(split.initials(), 0));
+        strokeKeys.add(HEAD + cap(split.strokes(), 0));
+        for (int i = 1; i < n; i++) {
+            initialKeys.add(TAIL + cap(split.initials(), i));
+            strokeKeys.add(TAIL + cap(split.strokes(), split.starts()[i]));
+        }
+        return new Keys(initialKeys, strokeKeys);
+    }
+
+    private static Split split(String name) {
+        String n = compact(name);
+        StringBuilder cho = new StringBuilder(n.length());
+        StringBuilder jamo = new StringBuilder(n.length() * 3);
+        int[] starts = new int[n.length()];
+        for (int i = 0; i < n.length(); i++) {
+            char c = n.charAt(i);
+            starts[i] = jamo.length();
+            cho.append(initial(c));
+            appendStrokes(jamo, c);
+        }
+        return new Split(cho.toString(), jamo.toString(), starts);
+    }
+
+    private static String cap(String s, int from) {
+        return s.substring(from, Math.min(s.length(), from + MAX_KEY));
+    }
+
+    // 소문자 + 공백 제거 ("홍 길동" 과 "홍길동" 을 같게)
+    private static String compact(String s) {
+        String lower = Objects.requireNonNull(NameTrigramIndex.normalize(s));
+        StringBuilder sb = new StringBuilder(lower.length());
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (!Character.isWhitespace(c)) sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    private static char initial(char c) {
+        if (c < SYLLABLE_BASE || c > SYLLABLE_LAST) return c; // 한글 음절이 아니면 글자 그대로
+        return CHO.charAt((c - SYLLABLE_BASE) / 588);
+    }
+
+    private static String strokes(String s) {
+        StringBuilder sb = new StringBuilder(s.length() * 3);
+        for (int i = 0; i < s.length(); i++) appendStrokes(sb, s.charAt(i));
+        return sb.toString();
+    }
+
+    private static void appendStrokes(StringBuilder sb, char c) {
+        if (c >= SYLLABLE_BASE && c <= SYLLABLE_LAST) {
+            int s = c - SYLLABLE_BASE;
+            sb.append(CHO.charAt(s / 588)).append(JUNG[(s % 588) / 28]).append(JONG[s % 28]);
+        } else if (c >= JAMO_FIRST && c <= JAMO_LAST) {
+            sb.append(COMPAT[c - JAMO_FIRST]);
+        } else {
+            sb.append(c);
+        }
+    }
+
+    // 두 낱자로 풀어 쓴 겹자모 → 호환 자모 한 글자 (ㄹ+ㄱ → ㄺ)
+    private static char compound(String pair) {
+        return switch (pair) {
+            case "ㄱㅅ" -> 'ㄳ';
+            case "ㄴㅈ" -> 'ㄵ';
+            case "ㄴㅎ" -> 'ㄶ';
+            case "ㄹㄱ" -> 'ㄺ';
+            case "ㄹㅁ" -> 'ㄻ';
+            case "ㄹㅂ" -> 'ㄼ';
+            case "ㄹㅅ" -> 'ㄽ';
+            case "ㄹㅌ" -> 'ㄾ';
+            case "ㄹㅍ" -> 'ㄿ';
+            case "ㄹㅎ" -> 'ㅀ';
+            case "ㅂㅅ" -> 'ㅄ';
+            case "ㅗㅏ" -> 'ㅘ';
+            case "ㅗㅐ" -> 'ㅙ';
+            case "ㅗㅣ" -> 'ㅚ';
+            case "ㅜㅓ" -> 'ㅝ';
+            case "ㅜㅔ" -> 'ㅞ';
+            case "ㅜㅣ" -> 'ㅟ';
+            case "ㅡㅣ" -> 'ㅢ';
+            default -> throw new IllegalArgumentException(pair);
+        };
+    }
+}
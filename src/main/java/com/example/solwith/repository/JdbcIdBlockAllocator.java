@@ -0,0 +1,78 @@
+package com.example.solwith.repository;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * DB 테이블에서 id 를 "블록 단위"로 예약해 오는 풀(pooled/hi-lo 방식).
+ * - INSERT 마다 IDENTITY 값을 돌려받을 필요가 없으므로 여러 건을 JDBC batch 로 한 번에 넣을 수 있다
+ * - 블록 예약은 REQUIRES_NEW 트랜잭션 + SELECT ... FOR UPDATE 로 직렬화 → 여러 인스턴스가 같은 테이블을 써도 겹치지 않음
+ * - 재시작하면 쓰다 남은 블록은 버려진다(id 에 구멍이 생길 수 있음)
+ */
+class JdbcIdBlockAllocator {
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final String sequenceName;
+    private final int blockSize;
+
+    private long next;  // 다음에 줄 id
+    private long limit; // 현재 블록의 끝(미포함)
+
+    JdbcIdBlockAllocator(JdbcTemplate jdbc, PlatformTransactionManager txm, String sequenceName, int blockSize) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(txm);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.sequenceName = sequenceName;
+        this.blockSize = blockSize;
+    }
+
+    /** 시퀀스 테이블/행이 없으면 만든다(1부터). 이미 쓰던 id 가 있으면 advancePast 로 그 뒤로 옮긴다 */
+    void init() {
+        jdbc.execute("CREATE TABLE IF NOT EXISTS id_block_sequence (" +
+                "name VARCHAR(64) NOT NULL PRIMARY KEY, next_val BIGINT NOT NULL)");
+        try {
+            jdbc.update("INSERT INTO id_block_sequence (name, next_val) VALUES (?, 1)", sequenceName);
+        } catch (DuplicateKeyException ignored) {
+            // 이미 있음(다른 인스턴스가 먼저 만들었거나 재시작)
+        }
+    }
+
+    /** 이후 예약하는 구간이 모두 id 보다 크도록 한다. 이미 더 앞서 있으면 그대로 */
+    synchronized void advancePast(long id) {
+        jdbc.update("UPDATE id_block_sequence SET next_val = ? WHERE name = ? AND next_val <= ?", id + 1, sequenceName, id);
+        if (next <= id) next = limit; // 들고 있던 블록이 id 보다 앞이면 버린다
+    }
+
+    synchronized long next() {
+        if (next >= limit) {
+            long start = lease(blockSize);
+            next = start;
+            limit = start + blockSize;
+        }
+        return next++;
+    }
+
+    /** count 개의 연속된 id 를 한 번에 예약(배치 저장용). 반환값은 첫 id */
+    synchronized long nextBlock(int count) {
+        if (limit - next >= count) {
+            long start = next;
+            next += count;
+            return start;
+        }
+        return lease(count);
+    }
+
+    private long lease(int count) {
+        Long start = tx.execute(status -> {
+            Long current = jdbc.queryForObject(
+                    "SELECT next_val FROM id_block_sequence WHERE name = ? FOR UPDATE", Long.class, sequenceName);
+            jdbc.update("UPDATE id_block_sequence SET next_val = ? WHERE name = ?", current + count, sequenceName);
+            return current;
+        });
+        if (start == null) throw new IllegalStateException("id block lease failed: " + sequenceName);
+        return start;
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.solwith.repository;
+
+import com.example.solwith.common.NotFoundException;
+import com.example.solwith.common.VersionConflictException;
+import com.example.solwith.domain.Member;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * DB(MySQL 등) 기반 회원 저장소 (member-jdbc 프로파일).
+ * - id 는 MemberIdGenerator 가 미리 정한다(기본: DB 테이블 블록 임대) → saveAll 은 JDBC batch INSERT 한 번
+ * - 검색 필터/정렬/페이징은 SQL 로 내린다. 정렬과 keyset 커서는 PK(id) 와 (name, id) 인덱스를 그대로 탄다
+ *   (부분 일치 LIKE '%..%' 자체는 B-tree 인덱스를 못 타므로 후보 행은 스캔된다)
+ * - 목록 전체가 필요하면 streamAll 로 커서를 열어 한 행씩 읽는다(fetch size 지정)
+ * - 이름 null 은 '' 로 저장한다(정렬 규칙 MemberSortKey 와 동일하게 맞추기 위함)
+ * - compareAndSet 은 UPDATE ... WHERE id = ? AND version = ? 한 문장(조건부 갱신)으로 처리한다. id 가 있는 save 도 같은 방식
+ */
+@Repository
+@Profile("member-jdbc")
+public class JdbcMemberRepository implements MemberRepository {
+    private static final String TABLE = "members";
+    private static final int IN_CHUNK = 500;
+    private static final RowMapper<Member> ROW = (rs, n) ->
+            new Member(rs.getLong("id"), rs.getString("name"), rs.getLong("version"));
+
+    private final JdbcTemplate jdbc;
+    private final MemberIdGenerator ids;
+    private final int fetchSize;
+
+    public JdbcMemberRepository(JdbcTemplate jdbc, PlatformTransactionManager txm, int idBlockSize, int fetchSize) {
+        this(jdbc, new BlockIdGenerator(jdbc, txm, TABLE, idBlockSize), fetchSize);
+    }
+
+    @Autowired
+    public JdbcMemberRepository(JdbcTemplate jdbc, MemberIdGenerator ids,
+                                @Value("${member.jdbc.fetch-size:1000}") int fetchSize) {
+        this.jdbc = jdbc;
+        this.ids = ids;
+        this.fetchSize = fetchSize;
+        initSchema();
+        // 이미 있는 행의 id 와 겹치지 않게 (블록 임대면 시퀀스 테이블이 이미 앞서 있어서 그대로)
+        Long max = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + TABLE, Long.class);
+        ids.advancePast(max == null ? 0 : max);
+    }
+
+    private void initSchema() {
+        jdbc.execute("CREATE TABLE IF NOT EXISTS " + TABLE + " (" +
+                "id BIGINT NOT NULL PRIMARY KEY, " +
+                "name VARCHAR(255) NOT NULL, " +
+                "version BIGINT NOT NULL DEFAULT 1)");
+        // 버전 컬럼이 없던 이전 스키마면 추가
+        Boolean hasVersion = jdbc.execute((Connection con) -> {
+            DatabaseMetaData meta = con.getMetaData();
+            for (String t : new String[]{TABLE, TABLE.toUpperCase(Locale.ROOT)}) {
+                try (ResultSet rs = meta.getColumns(con.getCatalog(), null, t, null)) {
+                    while (rs.next()) {
+                        if ("version".equalsIgnoreCase(rs.getString("COLUMN_NAME"))) return true;
+                    }
+                }
+            }
+            return false;
+        });
+        if (!Boolean.TRUE.equals(hasVersion)) {
+            jdbc.execute("ALTER TABLE " + TABLE + " ADD COLUMN version BIGINT NOT NULL DEFAULT 1");
+        }
+        // CREATE INDEX IF NOT EXISTS 는 MySQL 이 지원하지 않으므로 메타데이터로 확인 후 생성
+        Boolean exists = jdbc.execute((Connection con) -> {
+            DatabaseMetaData meta = con.getMetaData();
+            for (String t : new String[]{TABLE, TABLE.toUpperCase(Locale.ROOT)}) {
+                try (ResultSet rs = meta.getIndexInfo(con.getCatalog(), null, t, false, false)) {
+                    while (rs.next()) {
+                        if ("idx_members_name_id".equalsIgnoreCase(rs.getString("INDEX_NAME"))) return true;
+                    }
+                }
+            }
+            return false;
+        });
+        if (!Boolean.TRUE.equals(exists)) {
+            jdbc.execute("CREATE INDEX idx_members_name_id ON " + TABLE + " (name, id)");
+        }
+    }
+
+    @Override
+    public Member save(Member member) {
+        String name = nameOf(member);
+        if (member.getId() != null) {
+            member.setVersion(update(member.getId(), name));
+            return member;
+        }
+        member.setId(ids.nextId());
+        member.setVersion(1);
+        jdbc.update("INSERT INTO " + TABLE + " (id, name, version) VALUES (?, ?, 1)", member.getId(), name);
+        return member;
+    }
+
+    // 기존 회원 이름 변경. 읽은 버전일 때만 다음 버전으로 바꾸고(compareAndSet 과 같은 조건부 UPDATE), 그 사이 다른 갱신이
+    // 먼저 반영됐으면 다시 읽어 재시도 → 돌려주는 버전은 항상 이 UPDATE 가 쓴 값 (별도 SELECT 로 남의 버전을 읽지 않는다)
+    // 없는 id 는 새 id 로 바꿔 넣지 않고 거부한다 (호출자가 든 id 가 조용히 바뀌지 않게)
+    private long update(Long id, String name) {
+        while (true) {
+            List<Long> current = jdbc.queryForList("SELECT version FROM " + TABLE + " WHERE id = ?", Long.class, id);
+            if (current.isEmpty()) throw new NotFoundException("member " + id + " not found");
+            long version = current.get(0);
+            if (jdbc.update("UPDATE " + TABLE + " SET name = ?, version = ? WHERE id = ? AND version = ?",
+                    name, version + 1, id, version) == 1) {
+                return version + 1;
+            }
+        }
+    }
+
+    @Override
+    public Optional<Member> compareAndSet(Long id, long expectedVersion, String name) {
+        String stored = name == null ? "" : name;
+        if (jdbc.update("UPDATE " + TABLE + " SET name = ?, version = ? WHERE id = ? AND version = ?",
+                stored, expectedVersion + 1, id, expectedVersion) == 1) {
+            return Optional.of(new Member(id, stored, expectedVersion + 1));
+        }
+        // 갱신된 행이 없음 → 없는 id 인지, 버전이 다른지 구분
+        List<Long> current = jdbc.queryForList("SELECT version FROM " + TABLE + " WHERE id = ?", Long.class, id);
+        if (current.isEmpty()) return Optional.empty();
+        throw new VersionConflictException("member " + id + " version mismatch: expected " + expectedVersion + ", current " + current.get(0));
+    }
+
+    @Override
+    public List<Member> saveAll(Collection<Member> members) {
+        List<Member> inserts = new ArrayList<>();
+        List<Member> saved = new ArrayList<>(members.size());
+        for (Member m : members) {
+            if (m.getId() != null) saved.add(save(m)); // 갱신은 드물어서 단건 처리
+            else inserts.add(m);
+        }
+        if (inserts.isEmpty()) return saved;
+
+        for (Member m : inserts) { // 스레드 버퍼에서 꺼내므로 건마다 DB 왕복은 없다
+            m.setId(ids.nextId());
+            m.setVersion(1);
+        }
+        jdbc.batchUpdate("INSERT INTO " + TABLE + " (id, name, version) VALUES (?, ?, 1)", inserts, 500,
+                (ps, m) -> {
+                    ps.setLong(1, m.getId());
+                    ps.setString(2, nameOf(m));
+                });
+        saved.addAll(inserts);
+        return saved;
+    }
+
+    @Override
+    public Optional<Member> findById(Long id) {
+        return jdbc.query("SELECT id, name, version FROM " + TABLE + " WHERE id = ?", ROW, id).stream().findFirst();
+    }
+
+    @Override
+    public List<Member> findAllById(Collection<Long> ids) {
+        List<Long> list = new ArrayList<>(ids);
+        List<Member> found = new ArrayList<>(list.size());
+        for (int from = 0; from < list.size(); from += IN_CHUNK) { // IN 목록이 너무 길어지지 않게 나눠서
+            List<Long> part = list.subList(from, Math.min(from + IN_CHUNK, list.size()));
+            String marks = String.join(", ", Collections.nCopies(part.size(), "?"));
+            found.addAll(jdbc.query("SELECT id, name, version FROM " + TABLE + " WHERE id IN (" + marks + ")", ROW, part.toArray()));
+        }
+        return found;
+    }
+
+    @Override
+    public boolean prefersBatchedLookups() {
+        return true; // 단건마다 DB 왕복 → 동시에 온 조회는 IN 한 번으로 묶는다
+    }
+
+    @Override
+    public List<Member> findAll() {
+        return jdbc.query("SELECT id, name, version FROM " + TABLE + " ORDER BY id", ROW);
+    }
+
+    @Override
+    public Stream<Member> streamAll() {
+        JdbcTemplate streaming = new JdbcTemplate(jdbc.getDataSource());
+        streaming.setFetchSize(fetchSize); // MySQL 은 useCursorFetch=true 일 때 이 크기만큼씩 가져온다
+        return streaming.queryForStream("SELECT id, name, version FROM " + TABLE + " ORDER BY id", ROW);
+    }
+
+    @Override
+    public List<Member> findByNameContaining(String keyword) {
+        return jdbc.query("SELECT id, name, version FROM " + TABLE + " WHERE LOWER(name) LIKE ? ESCAPE '!' ORDER BY id",
+                ROW, likePattern(keyword));
+    }
+
+    @Override
+    public MemberSlice query(MemberQuery query) {
+        MemberCursor cursor = query.decodeCursor();
+        boolean desc = query.isDescending();
+        String dir = desc ? "DESC" : "ASC";
+        String cmp = desc ? "<" : ">";
+
+        StringBuilder sql = new StringBuilder("SELECT id, name, version FROM " + TABLE + " WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (query.hasKeyword()) {
+            sql.append(" AND LOWER(name) LIKE ? ESCAPE '!'");
+            args.add(likePattern(query.getKeyword()));
+        }
+        if (query.getSortKey() == MemberSortKey.NAME) {
+            if (cursor != null) { // keyset: (name, id) 가 커서 "다음"인 행만 → 인덱스 range scan
+                sql.append(" AND (name ").append(cmp).append(" ? OR (name = ? AND id ").append(cmp).append(" ?))");
+                args.add(cursor.getLastName());
+                args.add(cursor.getLastName());
+                args.add(cursor.getLastId());
+            }
+            sql.append(" ORDER BY name ").append(dir).append(", id ").append(dir);
+        } else {
+            if (cursor != null) {
+                sql.append(" AND id ").append(cmp).append(" ?");
+                args.add(cursor.getLastId());
+            }
+            sql.append(" ORDER BY id ").append(dir);
+        }
+        sql.append(" LIMIT ? OFFSET ?"); // size+1: 다음 페이지 존재 확인용
+        args.add(query.getSize() + 1);
+        args.add(cursor == null ? query.getOffset() : 0);
+
+        return MemberSlice.of(jdbc.query(sql.toString(), ROW, args.toArray()), query);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        jdbc.update("DELETE FROM " + TABLE + " WHERE id = ?", id);
+    }
+
+    private static String nameOf(Member m) {
+        return m.getName() == null ? "" : m.getName();
+    }
+
+    // 사용자가 입력한 %, _ 는 와일드카드가 아니라 글자로 취급
+    private static String likePattern(String keyword) {
+        String kw = keyword.toLowerCase(Locale.ROOT)
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+        return "%" + kw + "%";
+    }
+}
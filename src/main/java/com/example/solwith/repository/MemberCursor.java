@@ -0,0 +1,60 @@
+package com.example.solwith.repository;
+
+import com.example.solwith.common.BadRequestException;
+import com.example.solwith.domain.Member;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * keyset 페이징용 불투명 커서.
+ * - 마지막으로 내려준 회원의 (정렬 키, id) 를 담아 "그 다음부터" 조회하게 한다 → 깊은 페이지도 0페이지와 같은 비용
+ * - 클라이언트에는 Base64URL 문자열로만 노출 (구조에 의존하지 말 것)
+ */
+public class MemberCursor {
+    private final MemberSortKey sortKey;
+    private final MemberQuery.Direction direction;
+    private final long lastId;
+    private final String lastName;
+
+    public MemberCursor(MemberSortKey sortKey, MemberQuery.Direction direction, long lastId, String lastName) {
+        this.sortKey = sortKey;
+        this.direction = direction;
+        this.lastId = lastId;
+        this.lastName = lastName;
+    }
+
+    public static MemberCursor after(MemberQuery query, Member last) {
+        return new MemberCursor(query.getSortKey(), query.getDirection(),
+                MemberSortKey.idOf(last), MemberSortKey.nameOf(last));
+    }
+
+    public MemberSortKey getSortKey() { return sortKey; }
+    public MemberQuery.Direction getDirection() { return direction; }
+    public long getLastId() { return lastId; }
+    public String getLastName() { return lastName; }
+
+    /** 커서 위치를 나타내는 가상의 회원(비교자에 그대로 넣기 위함) */
+    public Member toProbe() {
+        Member probe = new Member(lastName);
+        probe.setId(lastId);
+        return probe;
+    }
+
+    // 형식: sortKey|direction|lastId|lastName (이름에 '|' 가 있어도 되도록 이름을 맨 끝에 둔다)
+    public String encode() {
+        String raw = sortKey.name() + "|" + direction.name() + "|" + lastId + "|" + lastName;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MemberCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            return new MemberCursor(MemberSortKey.valueOf(parts[0]), MemberQuery.Direction.valueOf(parts[1]),
+                    Long.parseLong(parts[2]), parts[3]);
+        } catch (RuntimeException e) { // 잘못된 Base64, 필드 누락, 숫자 형식 오류 등
+            throw new BadRequestException("invalid cursor", e);
+        }
+    }
+}
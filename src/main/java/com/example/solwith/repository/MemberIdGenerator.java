@@ -0,0 +1,37 @@
+package com.example.solwith.repository;
+
+/**
+ * 회원 id 발급 SPI (member.id.generator 로 선택, MemberIdConfig 참고).
+ * - sequence: 프로세스 안 카운터. 인스턴스 하나일 때만 유일
+ * - snowflake: 시간(ms) + 노드 id + 순번. 노드 id 만 다르면 여러 인스턴스가 조율 없이 발급
+ * - block: DB 테이블에서 id 구간을 임대(JdbcIdBlockAllocator). 여러 인스턴스가 같은 테이블을 공유
+ * 어느 구현이든 ThreadLocalIdBuffer 로 감싸면 스레드마다 구간을 미리 가져가서 발급 경로에 경합이 없다.
+ */
+public interface MemberIdGenerator {
+
+    /** 연속된 id count 개를 한 번에 예약하고 첫 id 를 돌려준다 (count 는 1 ~ maxReserve) */
+    long reserve(int count);
+
+    default long nextId() {
+        return reserve(1);
+    }
+
+    /** 한 번에 예약할 수 있는 최대 개수 */
+    default int maxReserve() {
+        return Integer.MAX_VALUE;
+    }
+
+    /** 발급하는 id 가 JavaScript number 로 정확히 표현되는지(2^53 이하). false 면 응답 JSON 에 id 를 문자열로 쓴다 */
+    default boolean jsonSafe() {
+        return true;
+    }
+
+    /** 이후 발급되는 id 가 모두 id 보다 크도록 한다(재시작 후 복구한 최대 id 반영). 시간 기반 구현은 무시해도 된다 */
+    default void advancePast(long id) {
+    }
+
+    /** 지금까지 발급(예약)했을 수 있는 가장 큰 id. 스냅샷에 기록해 두었다가 재시작 시 advancePast 로 넘긴다. 모르면 0 */
+    default long highWaterMark() {
+        return 0;
+    }
+}
@@ -0,0 +1,511 @@
+package com.example.solwith.repository;
+
+import com.example.solwith.domain.Member;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.CRC32C;
+
+/**
+ * MemoryMemberRepository 용 선택적 영속화(append-only 로그 + 주기적 바이너리 스냅샷).
+ *
+ * 파일 구성 (member.journal.dir)
+ *  - members-{세그먼트번호}.log : 메모리 매핑된 고정 크기 로그 세그먼트. 레코드 = [len][crc32c][type][id][version][nameLen][name(UTF-8)]
+ *  - snapshot-{세그먼트번호}.bin : 해당 번호 "이전" 세그먼트까지를 압축한 전체 상태. 복구 시 이 번호부터의 세그먼트만 재생
+ *
+ * 쓰기 경로
+ *  - 레코드를 매핑된 버퍼에 쓰고(페이지 캐시) 메모리 저장소에 반영한다. 두 단계를 한 모니터 안에서 처리해
+ *    "로그 순서 = 메모리 반영 순서"가 되게 한다(같은 id 를 동시에 바꿔도 재생 결과가 메모리와 같다).
+ *  - fsync 는 전용 flusher 스레드가 묶어서 한 번에 한다(group commit). sync=true 면 쓰기 스레드는 자기 레코드가 디스크에 닿을 때까지 기다린다.
+ *    flusher 는 모니터 밖에서 fsync 하므로 그동안에도 다음 레코드를 계속 쓸 수 있다.
+ *
+ * 스냅샷(compaction)
+ *  - snapshot-every 건마다 백그라운드에서 새 세그먼트로 넘긴 뒤(roll) 메모리 상태를 통째로 기록 → 이전 세그먼트/스냅샷 삭제.
+ *  - roll 도 같은 모니터 안에서 하므로 "로그 기록 + 메모리 반영"이 반쯤 끝난 쓰기가 없다. 이후 상태 순회는 락 없이 진행하며,
+ *    그 사이의 쓰기는 새 세그먼트에 남으므로 재생 시 덮어써진다(PUT/DELETE 는 id 단위 전체 상태라 여러 번 재생해도 안전).
+ */
+@Component
+@ConditionalOnProperty(prefix = "member.journal", name = "enabled", havingValue = "true")
+public class MemberJournal {
+    private static final Logger log = LoggerFactory.getLogger(MemberJournal.class);
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int HEADER = 4 + 4;                // len + crc
+    private static final int SNAPSHOT_MAGIC = 0x4D534E50;   // "MSNP"
+    private static final int SNAPSHOT_VERSION = 2;         // 2: 회원 버전 포함
+
+    /** 복구(재생) 시 호출되는 콜백. 스냅샷 기록 시에도 같은 형태로 상태를 받는다. */
+    public interface Sink {
+        void put(long id, String name, long version);
+        void delete(long id);
+    }
+
+    /** 스냅샷 대상(현재 메모리 상태) */
+    public interface State {
+        long sequence();
+        void forEach(Sink sink);
+    }
+
+    private final Path dir;
+    private final int segmentBytes;
+    private final boolean syncWrites;
+    private final long flushIntervalMs;
+    private final long snapshotEvery;
+
+    // 세그먼트 상태 (synchronized(this) 로 보호)
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long segmentNo;
+    private int position;
+
+    // group commit 상태
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Condition hasPending = flushLock.newCondition();
+    private final Condition flushed = flushLock.newCondition();
+    private long appendedBytes; // 지금까지 로그에 쓴 누적 바이트 (논리 오프셋)
+    private long durableBytes;  // fsync 가 끝난 누적 바이트
+    private volatile boolean running;
+    private Thread flusher;
+
+    private final AtomicLong sinceSnapshot = new AtomicLong();
+    private final ExecutorService snapshotExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "member-journal-snapshot");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile State state;
+
+    public MemberJournal(@Value("${member.journal.dir:./data/member-journal}") String dir,
+                         @Value("${member.journal.segment-bytes:67108864}") int segmentBytes,
+                         @Value("${member.journal.sync:true}") boolean syncWrites,
+                         @Value("${member.journal.flush-interval-ms:10}") long flushIntervalMs,
+                         @Value("${member.journal.snapshot-every:1000000}") long snapshotEvery) {
+        this.dir = Paths.get(dir);
+        this.segmentBytes = segmentBytes;
+        this.syncWrites = syncWrites;
+        this.flushIntervalMs = flushIntervalMs;
+        this.snapshotEvery = snapshotEvery;
+    }
+
+    /**
+     * 최신 스냅샷을 매핑해서 읽고, 그 뒤 세그먼트를 순서대로 재생한 다음 새 세그먼트로 쓰기를 시작한다.
+     * @return 복구된 id 시퀀스(스냅샷 헤더와 재생된 최대 id 중 큰 값)
+     */
+    public synchronized long open(Sink sink, State state) {
+        if (running) throw new IllegalStateException("journal already opened");
+        this.state = state;
+        try {
+            Files.createDirectories(dir);
+            long start = System.currentTimeMillis();
+
+            long snapshotNo = -1;
+            long maxId = 0;
+            Path snapshot = latest("snapshot-", ".bin");
+            if (snapshot != null) {
+                snapshotNo = numberOf(snapshot, "snapshot-", ".bin");
+                maxId = readSnapshot(snapshot, sink);
+            }
+
+            long lastSegment = -1;
+            long replayed = 0;
+            for (Path seg : list("members-", ".log")) {
+                long no = numberOf(seg, "members-", ".log");
+                lastSegment = Math.max(lastSegment, no);
+                if (no < snapshotNo) continue; // 스냅샷에 이미 포함된 구간
+                long[] r = replay(seg, sink);
+                maxId = Math.max(maxId, r[0]);
+                replayed += r[1];
+            }
+
+            openSegment(Math.max(snapshotNo, lastSegment + 1));
+            running = true;
+            flusher = new Thread(this::flushLoop, "member-journal-flusher");
+            flusher.setDaemon(true);
+            flusher.start();
+
+            log.info("[Journal] recovered snapshot={} replayed={} records maxId={} in {}ms",
+                    snapshot == null ? "-" : snapshot.getFileName(), replayed, maxId, System.currentTimeMillis() - start);
+            return maxId;
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to open member journal at " + dir, e);
+        }
+    }
+
+    /**
+     * prepare 로 새 레코드(다음 버전)를 만들어 기록하고 apply 로 메모리에 반영한다.
+     * prepare 는 모니터 안에서 돌기 때문에 그 사이 같은 id 가 바뀌지 않는다 → 버전 비교(If-Match)를 여기서 하면 된다.
+     * prepare 가 null 을 돌려주거나 예외를 던지면 아무것도 기록하지 않는다.
+     */
+    StoredMember put(Supplier<StoredMember> prepare, Consumer<StoredMember> apply) {
+        StoredMember record;
+        long end;
+        synchronized (this) {
+            record = prepare.get();
+            if (record == null) return null;
+            end = write(PUT, record.id(), record.version(), nameBytes(record));
+            apply.accept(record);
+        }
+        afterAppend(1, end);
+        return record;
+    }
+
+    public void delete(long id, Runnable apply) {
+        long end;
+        synchronized (this) {
+            end = write(DELETE, id, 0, null);
+            apply.run();
+        }
+        afterAppend(1, end);
+    }
+
+    /** 여러 건을 한 번에 기록/반영하고 fsync 는 마지막 레코드 기준으로 한 번만 기다린다 (일괄 등록용) */
+    List<StoredMember> putAll(List<Member> members, Function<Member, StoredMember> prepare, Consumer<StoredMember> apply) {
+        List<StoredMember> records = new ArrayList<>(members.size());
+        if (members.isEmpty()) return records;
+        long end = 0;
+        synchronized (this) {
+            for (Member m : members) {
+                StoredMember record = prepare.apply(m);
+                end = write(PUT, record.id(), record.version(), nameBytes(record));
+                apply.accept(record);
+                records.add(record);
+            }
+        }
+        afterAppend(members.size(), end);
+        return records;
+    }
+
+    // 스냅샷 주기 확인 + (sync 면) 마지막 레코드가 디스크에 닿을 때까지 대기
+    private void afterAppend(int count, long end) {
+        long after = sinceSnapshot.addAndGet(count);
+        if (after >= snapshotEvery && after - count < snapshotEvery) {
+            snapshotExecutor.execute(this::snapshot);
+        }
+        if (syncWrites) awaitDurable(end);
+    }
+
+    private static byte[] nameBytes(StoredMember m) {
+        return m.name() == null ? null : m.name().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // 레코드 하나를 현재 세그먼트에 기록하고 누적 오프셋(이 레코드의 끝)을 돌려준다
+    private synchronized long write(byte type, long id, long version, byte[] name) {
+        if (!running) throw new IllegalStateException("journal is closed");
+        int payload = 1 + 8 + 8 + 4 + (name == null ? 0 : name.length);
+        int size = HEADER + payload;
+        if (size + 4 > segmentBytes) throw new IllegalArgumentException("record too large for journal segment: " + size);
+        if (position + size + 4 > segmentBytes) roll(); // 끝 표시(len=0) 자리를 항상 남겨 둔다
+
+        int p = position + HEADER;
+        segment.put(p, type);
+        segment.putLong(p + 1, id);
+        segment.putLong(p + 9, version);
+        segment.putInt(p + 17, name == null ? -1 : name.length);
+        if (name != null) segment.put(p + 21, name);
+
+        CRC32C crc = new CRC32C();
+        crc.update(segment.slice(p, payload));
+        segment.putInt(position + 4, (int) crc.getValue());
+        segment.putInt(position, payload); // 길이를 마지막에 써서 반쯤 쓴 레코드는 len=0 으로 보이게 한다
+        position += size;
+
+        flushLock.lock();
+        try {
+            appendedBytes += size;
+            return appendedBytes;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void awaitDurable(long offset) {
+        flushLock.lock();
+        try {
+            hasPending.signal();
+            while (durableBytes < offset) {
+                if (!running) throw new IllegalStateException("journal closed before write became durable");
+                flushed.awaitUninterruptibly();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // group commit: 기다리는 쓰기가 있거나 flush 주기가 되면, 그때까지 쌓인 레코드를 fsync 한 번으로 내린다
+    private void flushLoop() {
+        while (running) {
+            long target;
+            flushLock.lock();
+            try {
+                if (appendedBytes == durableBytes) {
+                    hasPending.await(flushIntervalMs, TimeUnit.MILLISECONDS);
+                }
+                target = appendedBytes;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                flushLock.unlock();
+            }
+            if (target == durableBytes) continue;
+
+            // target 을 먼저 정하고 세그먼트를 나중에 잡으므로, target 안의 레코드는 잡은 세그먼트나 그 이전 세그먼트에 있다.
+            // 이전 세그먼트는 roll 이 닫기 전에 force 했다. 그 사이 roll 이 일어나 잡은 세그먼트가 닫혀도
+            // 매핑은 채널과 무관하게 유효하므로 force 는 안전하다 (이미 내려간 페이지를 다시 확인할 뿐)
+            MappedByteBuffer current;
+            synchronized (this) { // 참조만 잡고 바로 놓는다. fsync 동안 쓰기 스레드가 모니터를 기다리지 않게
+                current = segment;
+            }
+            current.force();
+            flushLock.lock();
+            try {
+                durableBytes = Math.max(durableBytes, target);
+                flushed.signalAll();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    /** 새 세그먼트로 넘기고 메모리 상태를 스냅샷으로 기록한 뒤, 스냅샷에 포함된 세그먼트를 지운다 */
+    public void snapshot() {
+        State s = state;
+        if (s == null || !running) return;
+        long cut;
+        long sequence;
+        synchronized (this) { // 진행 중인 쓰기가 모두 메모리에 반영된 시점을 기준점으로
+            roll();
+            cut = segmentNo;
+            sequence = s.sequence();
+            sinceSnapshot.set(0);
+        }
+
+        Path tmp = dir.resolve(String.format("snapshot-%020d.bin.tmp", cut));
+        Path target = dir.resolve(String.format("snapshot-%020d.bin", cut));
+        long start = System.currentTimeMillis();
+        try {
+            long count = writeSnapshot(tmp, sequence, s);
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            for (Path old : list("members-", ".log")) {
+                if (numberOf(old, "members-", ".log") < cut) Files.deleteIfExists(old);
+            }
+            for (Path old : list("snapshot-", ".bin")) {
+                if (numberOf(old, "snapshot-", ".bin") < cut) Files.deleteIfExists(old);
+            }
+            log.info("[Journal] snapshot {} members -> {} ({}ms)", count, target.getFileName(), System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            log.warn("[Journal] snapshot failed: {}", e.toString()); // 로그 세그먼트는 남아 있으므로 복구에는 지장 없음
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (!running) return;
+        snapshotExecutor.shutdown();
+        try {
+            snapshotExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        snapshot(); // 다음 기동 때 재생할 로그를 최소화
+        synchronized (this) {
+            segment.force();
+            running = false;
+        }
+        flushLock.lock();
+        try {
+            durableBytes = appendedBytes;
+            hasPending.signalAll();
+            flushed.signalAll();
+        } finally {
+            flushLock.unlock();
+        }
+        try {
+            flusher.join(1_000);
+            channel.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("[Journal] close failed: {}", e.toString());
+        }
+    }
+
+    // --- 세그먼트 ---
+
+    private void roll() {
+        segment.force();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        openSegment(segmentNo + 1);
+    }
+
+    private void openSegment(long no) {
+        try {
+            Path path = dir.resolve(String.format("members-%020d.log", no));
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+            segmentNo = no;
+            position = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to open journal segment " + no, e);
+        }
+    }
+
+    // 세그먼트 재생: len=0(미기록 영역) 또는 CRC 불일치(쓰다 만 레코드)에서 멈춘다. {maxId, 레코드 수}
+    private long[] replay(Path path, Sink sink) throws IOException {
+        long maxId = 0;
+        long count = 0;
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            int p = 0;
+            int limit = buf.limit();
+            CRC32C crc = new CRC32C();
+            while (p + HEADER <= limit) {
+                int len = buf.getInt(p);
+                if (len <= 0 || p + HEADER + len > limit) break;
+                crc.reset();
+                crc.update(buf.slice(p + HEADER, len));
+                if ((int) crc.getValue() != buf.getInt(p + 4)) {
+                    log.warn("[Journal] torn record in {} at {}, ignoring the rest", path.getFileName(), p);
+                    break;
+                }
+                int q = p + HEADER;
+                byte type = buf.get(q);
+                long id = buf.getLong(q + 1);
+                if (type == PUT) {
+                    long version = buf.getLong(q + 9);
+                    int nameLen = buf.getInt(q + 17);
+                    String name = null;
+                    if (nameLen >= 0) {
+                        byte[] bytes = new byte[nameLen];
+                        buf.get(q + 21, bytes);
+                        name = new String(bytes, StandardCharsets.UTF_8);
+                    }
+                    sink.put(id, name, version);
+                } else if (type == DELETE) {
+                    sink.delete(id);
+                }
+                maxId = Math.max(maxId, id);
+                count++;
+                p += HEADER + len;
+            }
+        }
+        return new long[]{maxId, count};
+    }
+
+    // --- 스냅샷 파일: [magic][format][sequence] ([id][version][nameLen][name])* [-1] ---
+
+    private long writeSnapshot(Path tmp, long sequence, State s) throws IOException {
+        long[] count = {0};
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             OutputStream os = Channels.newOutputStream(ch);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os, 1 << 16))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(sequence);
+            s.forEach(new Sink() {
+                @Override
+                public void put(long id, String name, long version) {
+                    try {
+                        out.writeLong(id);
+                        out.writeLong(version);
+                        if (name == null) {
+                            out.writeInt(-1);
+                        } else {
+                            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                            out.writeInt(bytes.length);
+                            out.write(bytes);
+                        }
+                        count[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+
+                @Override
+                public void delete(long id) { }
+            });
+            out.writeLong(-1L);
+            out.flush();
+            ch.force(true);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return count[0];
+    }
+
+    private long readSnapshot(Path path, Sink sink) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            if (buf.getInt() != SNAPSHOT_MAGIC || buf.getInt() != SNAPSHOT_VERSION) {
+                throw new IOException("not a member snapshot: " + path);
+            }
+            long maxId = buf.getLong();
+            while (true) {
+                long id = buf.getLong();
+                if (id < 0) break;
+                long version = buf.getLong();
+                int nameLen = buf.getInt();
+                String name = null;
+                if (nameLen >= 0) {
+                    byte[] bytes = new byte[nameLen];
+                    buf.get(bytes);
+                    name = new String(bytes, StandardCharsets.UTF_8);
+                }
+                sink.put(id, name, version);
+                maxId = Math.max(maxId, id);
+            }
+            return maxId;
+        }
+    }
+
+    // --- 파일 목록 ---
+
+    private List<Path> list(String prefix, String suffix) throws IOException {
+        List<Path> out = new ArrayList<>();
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir, prefix + "*" + suffix)) {
+            ds.forEach(out::add);
+        }
+        out.sort(null);
+        return out;
+    }
+
+    private Path latest(String prefix, String suffix) throws IOException {
+        List<Path> all = list(prefix, suffix);
+        return all.isEmpty() ? null : all.get(all.size() - 1);
+    }
+
+    private static long numberOf(Path p, String prefix, String suffix) {
+        String f = p.getFileName().toString();
+        return Long.parseLong(f.substring(prefix.length(), f.length() - suffix.length()));
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.solwith.repository;
+
+import com.example.solwith.common.BadRequestException;
+import com.example.solwith.domain.Member;
+
+import java.util.Comparator;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * 저장소로 내려보내는(push-down) 회원 조회 조건.
+ * - keyword  : 이름 부분 일치 필터(없으면 전체)
+ * - sortKey / direction : 정렬
+ * - cursor   : 이전 페이지가 돌려준 불투명 커서(keyset 페이징). 있으면 offset 은 무시
+ * - offset   : 커서 없이 page/size 로 들어온 기존 요청 호환용
+ * 저장소 구현체(인메모리/DB)는 이 조건을 각자 네이티브로 평가한다.
+ */
+public class MemberQuery {
+    public enum Direction { ASC, DESC }
+
+    private final String keyword;
+    private final MemberSortKey sortKey;
+    private final Direction direction;
+    private final String cursor;
+    private final int offset;
+    private final int size;
+
+    public MemberQuery(String keyword, MemberSortKey sortKey, Direction direction, String cursor, int offset, int size) {
+        this.keyword = (keyword == null || keyword.isBlank()) ? null : keyword;
+        this.sortKey = sortKey == null ? MemberSortKey.ID : sortKey;
+        this.direction = direction == null ? Direction.ASC : direction;
+        this.cursor = (cursor == null || cursor.isBlank()) ? null : cursor;
+        this.offset = Math.max(offset, 0);
+        this.size = Math.max(size, 1);
+    }
+
+    /** 커서(keyset) 페이징 */
+    public static MemberQuery keyset(String keyword, MemberSortKey sortKey, Direction direction, String cursor, int size) {
+        return new MemberQuery(keyword, sortKey, direction, cursor, 0, size);
+    }
+
+    /** 기존 page/size(0-based) 페이징. page * size 가 int 를 넘으면 0페이지로 돌아가지 않게 거부 */
+    public static MemberQuery page(String keyword, MemberSortKey sortKey, Direction direction, int page, int size) {
+        int safeSize = Math.max(size, 1);
+        long offset = (long) Math.max(page, 0) * safeSize;
+        if (offset > Integer.MAX_VALUE) {
+            throw new BadRequestException("page too large: page=" + page + ", size=" + safeSize);
+        }
+        return new MemberQuery(keyword, sortKey, direction, null, (int) offset, safeSize);
+    }
+
+    public String getKeyword() { return keyword; }
+    public MemberSortKey getSortKey() { return sortKey; }
+    public Direction getDirection() { return direction; }
+    public String getCursor() { return cursor; }
+    public int getOffset() { return offset; }
+    public int getSize() { return size; }
+
+    public boolean hasKeyword() { return keyword != null; }
+    public boolean isDescending() { return direction == Direction.DESC; }
+
+    /** 정렬 방향까지 반영한 비교자 */
+    public Comparator<Member> comparator() {
+        Comparator<Member> c = sortKey.comparator();
+        return isDescending() ? c.reversed() : c;
+    }
+
+    /** 정렬 방향까지 반영한 비교자 (Member 가 아닌 값용, MemberSortKey.comparing 참고) */
+    <T> Comparator<T> comparator(Function<? super T, String> name, ToLongFunction<? super T> id) {
+        Comparator<T> c = sortKey.comparing(name, id);
+        return isDescending() ? c.reversed() : c;
+    }
+
+    /** 커서를 해석해 이 조회 조건과 맞는지 확인한다(다른 정렬로 만든 커서는 거부). 커서가 없으면 null */
+    public MemberCursor decodeCursor() {
+        if (cursor == null) return null;
+        MemberCursor c = MemberCursor.decode(cursor);
+        if (c.getSortKey() != sortKey || c.getDirection() != direction) {
+            throw new BadRequestException("cursor does not match sort: " + sortKey + "," + direction);
+        }
+        return c;
+    }
+}
@@ -2,9 +2,13 @@ package com.example.solwith.repository;
 
 import com.example.solwith.domain.Member;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+// 조회 결과는 저장된 값의 사본이다: 고쳐도 저장소에는 반영되지 않으므로 save/compareAndSet 으로 새 버전을 만든다
 public interface MemberRepository {
     Member save(Member member);
 
@@ -12,9 +16,55 @@ public interface MemberRepository {
     Optional<Member> findById(Long id);
 
     //같은 값을 중복해서 넣을 수 있고, 인덱스(0부터 시작)로 접근할 수 있습니다.
+    //구현체가 스냅샷을 공유할 수 있으므로 반환된 리스트는 읽기 전용으로 취급한다.
     List<Member> findAll();
 
+    //이름 부분 일치(대소문자 무시) 검색 - 구현체가 보조 색인을 쓸 수 있도록 저장소로 내린다
+    List<Member> findByNameContaining(String keyword);
+
+    //한글 자동완성: 초성("ㅎㄱㄷ") 또는 입력 중인 글자("홍기")로 이름을 찾는다. 앞부분 일치가 먼저, 그다음 중간 일치 순서로 최대 limit 개
+    //기본 구현은 전체를 한 번 훑으며 이름마다 분해한다 - 인메모리 저장소는 저장 시점에 만든 색인으로 범위 조회만 한다
+    default List<Member> autocomplete(String query, int limit) {
+        HangulNameIndex.Probe probe = HangulNameIndex.probe(query);
+        if (probe == null || limit <= 0) return List.of();
+        try (Stream<Member> all = streamAll()) {
+            return probe.top(all.iterator(), limit);
+        }
+    }
+
+    //필터 + 정렬 + 페이징을 한 번에 저장소로 내린다. 커서가 있으면 keyset 페이징(다음 페이지 커서를 함께 반환)
+    MemberSlice query(MemberQuery query);
+
     void deleteById(Long id);
 
+    //현재 버전이 expectedVersion 일 때만 이름을 바꾸고 버전을 올린다(낙관적 동시성, 락 없음)
+    //없는 id 면 empty, 버전이 다르면 VersionConflictException
+    Optional<Member> compareAndSet(Long id, long expectedVersion, String name);
+
+    //여러 건 저장 - DB 구현체는 JDBC batch 로 한 번에 넣는다
+    default List<Member> saveAll(Collection<Member> members) {
+        List<Member> saved = new ArrayList<>(members.size());
+        for (Member m : members) saved.add(save(m));
+        return saved;
+    }
+
+    //여러 id 를 한 번에 조회(multi-get). 없는 id 는 빠지고, 순서는 보장하지 않는다 - DB 구현체는 IN (...) 한 번
+    default List<Member> findAllById(Collection<Long> ids) {
+        List<Member> found = new ArrayList<>(ids.size());
+        for (Long id : ids) findById(id).ifPresent(found::add);
+        return found;
+    }
+
+    //단건 조회가 왕복 비용이 커서(DB 등) 동시에 들어온 단건 조회를 findAllById 로 묶는 편이 나은 구현체면 true
+    default boolean prefersBatchedLookups() {
+        return false;
+    }
+
+    //전체를 한 건씩 흘려보낸다(전체 목록을 메모리에 만들지 않음). 사용 후 반드시 close
+    //순서는 구현체마다 다르다: 인메모리/JDBC 는 id 순서, 컴팩트 저장소는 슬롯(해시) 순서
+    default Stream<Member> streamAll() {
+        return findAll().stream();
+    }
+
 
 }
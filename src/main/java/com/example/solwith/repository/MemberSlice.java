@@ -0,0 +1,35 @@
+package com.example.solwith.repository;
+
+import com.example.solwith.domain.Member;
+
+import java.util.List;
+
+/**
+ * 조회 결과 한 페이지 + 다음 페이지 커서.
+ * nextCursor 가 null 이면 마지막 페이지.
+ */
+public class MemberSlice {
+    private final List<Member> content;
+    private final String nextCursor;
+
+    public MemberSlice(List<Member> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public static MemberSlice empty() { return new MemberSlice(List.of(), null); }
+
+    /**
+     * size+1 개까지 읽어 온 결과로 페이지를 만든다.
+     * 한 개 더 있으면 다음 페이지가 있다는 뜻 → 이 페이지 마지막 원소로 커서를 만든다.
+     */
+    public static MemberSlice of(List<Member> fetched, MemberQuery query) {
+        if (fetched.size() <= query.getSize()) return new MemberSlice(fetched, null);
+        List<Member> page = fetched.subList(0, query.getSize());
+        return new MemberSlice(page, MemberCursor.after(query, page.get(page.size() - 1)).encode());
+    }
+
+    public List<Member> getContent() { return content; }
+    public String getNextCursor() { return nextCursor; }
+    public boolean hasNext() { return nextCursor != null; }
+}
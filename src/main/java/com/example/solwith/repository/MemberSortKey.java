@@ -0,0 +1,46 @@
+package com.example.solwith.repository;
+
+import com.example.solwith.domain.Member;
+
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * 회원 조회 정렬 키.
+ * - 모든 정렬은 id 를 마지막 비교 키로 써서 전순서(total order)를 보장 → keyset 커서가 안정적으로 동작
+ * - 이름이 null 이면 "" 로 취급(기존 검색 API 와 동일)
+ */
+public enum MemberSortKey {
+    ID(false),
+    NAME(true);
+
+    private final boolean byName;
+    private final Comparator<Member> comparator;
+
+    MemberSortKey(boolean byName) {
+        this.byName = byName;
+        this.comparator = comparing(MemberSortKey::nameOf, MemberSortKey::idOf);
+    }
+
+    public Comparator<Member> comparator() { return comparator; }
+
+    /** 같은 정렬 규칙을 Member 가 아닌 값(인메모리 저장소의 레코드 등)에 적용. name 은 null 대신 "" 를 돌려줘야 한다 */
+    <T> Comparator<T> comparing(Function<? super T, String> name, ToLongFunction<? super T> id) {
+        Comparator<T> byId = Comparator.comparingLong(id);
+        return byName ? Comparator.<T, String>comparing(name).thenComparing(byId) : byId;
+    }
+
+    /** "name", "id" 등 요청 파라미터 → 정렬 키 (모르는 값은 기존처럼 id) */
+    public static MemberSortKey from(String field) {
+        if (field == null) return ID;
+        return switch (field.trim().toLowerCase(Locale.ROOT)) {
+            case "name" -> NAME;
+            default -> ID;
+        };
+    }
+
+    static String nameOf(Member m) { return m.getName() == null ? "" : m.getName(); }
+    static long idOf(Member m) { return m.getId() == null ? Long.MIN_VALUE : m.getId(); }
+}
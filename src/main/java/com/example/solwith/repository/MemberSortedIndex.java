@@ -0,0 +1,108 @@
+package com.example.solwith.repository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.BiPredicate;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * 회원 정렬용 동시성 보조 색인 (skip list). 인메모리 저장소의 레코드(StoredMember) 기준
+ * - id 순서 / (name, id) 순서를 각각 ConcurrentSkipListSet 으로 유지 → 정렬된 구간 스캔이 O(log n + 페이지 크기)
+ * - 같은 id 에 대한 갱신은 current.compute 로 직렬화한다(이름 변경 시 옛 키 제거 + 새 키 추가를 한 덩어리로)
+ * - 읽기는 락 없이 진행되므로 이름 변경 직후 잠깐 옛 키가 보일 수 있다 → 스캔 시 실제 회원 이름과 키를 대조해서 거른다
+ */
+final class MemberSortedIndex {
+
+    /** 이름 정렬 키. MemberSortKey.NAME 과 같은 순서(name → id) */
+    record NameKey(String name, long id) implements Comparable<NameKey> {
+        @Override
+        public int compareTo(NameKey o) {
+            int c = name.compareTo(o.name);
+            return c != 0 ? c : Long.compare(id, o.id);
+        }
+    }
+
+    private final ConcurrentSkipListSet<Long> ids = new ConcurrentSkipListSet<>();
+    private final ConcurrentSkipListSet<NameKey> names = new ConcurrentSkipListSet<>();
+    private final Map<Long, NameKey> current = new ConcurrentHashMap<>(); // id -> 현재 색인된 이름 키
+
+    void put(StoredMember m) {
+        long id = m.id();
+        NameKey key = new NameKey(m.sortName(), id);
+        current.compute(id, (k, old) -> {
+            names.add(key); // 새 키를 먼저 넣고 옛 키를 지운다 → 스캔 중에 회원이 "사라지는" 순간이 없다
+            if (old != null && !old.equals(key)) names.remove(old);
+            ids.add(id);
+            return key;
+        });
+    }
+
+    void remove(Long id) {
+        current.computeIfPresent(id, (k, old) -> {
+            names.remove(old);
+            ids.remove(id);
+            return null;
+        });
+    }
+
+    /**
+     * 정렬 순서대로 회원을 흘려보내는 구간 스캔.
+     * @param after 이 위치 "다음"부터 (null 이면 처음부터)
+     * @param resolver id → 레코드 (저장소 조회)
+     */
+    Iterator<StoredMember> scan(MemberSortKey sortKey, boolean desc, MemberCursor after, LongFunction<StoredMember> resolver) {
+        if (sortKey == MemberSortKey.NAME) {
+            NavigableSet<NameKey> range = names;
+            if (after != null) {
+                NameKey from = new NameKey(after.getLastName(), after.getLastId());
+                range = desc ? names.headSet(from, false) : names.tailSet(from, false);
+            }
+            Iterator<NameKey> keys = desc ? range.descendingIterator() : range.iterator();
+            return new ResolvingIterator<>(keys, NameKey::id, resolver,
+                    (key, m) -> key.name().equals(m.sortName()));
+        }
+        NavigableSet<Long> range = ids;
+        if (after != null) {
+            range = desc ? ids.headSet(after.getLastId(), false) : ids.tailSet(after.getLastId(), false);
+        }
+        Iterator<Long> keys = desc ? range.descendingIterator() : range.iterator();
+        return new ResolvingIterator<>(keys, Long::longValue, resolver, (key, m) -> true);
+    }
+
+    /** 색인 키 → 레코드로 바꾸면서 이미 지워졌거나(동시 삭제) 키가 낡은(동시 이름 변경) 항목은 건너뛴다 */
+    private static final class ResolvingIterator<K> implements Iterator<StoredMember> {
+        private final Iterator<K> keys;
+        private final ToLongFunction<K> idOf;
+        private final LongFunction<StoredMember> resolver;
+        private final BiPredicate<K, StoredMember> fresh;
+        private StoredMember next;
+
+        ResolvingIterator(Iterator<K> keys, ToLongFunction<K> idOf,
+                          LongFunction<StoredMember> resolver, BiPredicate<K, StoredMember> fresh) {
+            this.keys = keys;
+            this.idOf = idOf;
+            this.resolver = resolver;
+            this.fresh = fresh;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && keys.hasNext()) {
+                K key = keys.next();
+                StoredMember m = resolver.apply(idOf.applyAsLong(key));
+                if (m != null && fresh.test(key, m)) next = m;
+            }
+            return next != null;
+        }
+
+        @Override
+        public StoredMember next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            StoredMember m = next;
+            next = null;
+            return m;
+        }
+    }
+}
@@ -1,41 +1,323 @@
 package com.example.solwith.repository;
 
+import com.example.solwith.common.VersionConflictException;
 import com.example.solwith.domain.Member;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Repository
+@Profile("!member-compact & !member-jdbc") // member-compact → CompactMemberRepository, member-jdbc → JdbcMemberRepository
 public class MemoryMemberRepository implements MemberRepository{
 
-    private final Map<Long, Member> store = new ConcurrentHashMap<>();
-    private final AtomicLong sequence = new AtomicLong(0L);
+    private final ConcurrentMap<Long, StoredMember> store = new ConcurrentHashMap<>(); // id -> 불변 레코드 (바깥으로는 Member 사본만)
+    private final MemberIdGenerator idGenerator; // 기본 SequenceIdGenerator, 여러 인스턴스면 snowflake/block (MemberIdConfig)
+    private final NameTrigramIndex nameIndex = new NameTrigramIndex(); // 이름 부분 검색용 보조 색인
+    private final MemberSortedIndex sortedIndex = new MemberSortedIndex(); // id / (name, id) 정렬 색인
+    private final HangulNameIndex hangulIndex = new HangulNameIndex(); // 초성/자모 자동완성 색인
 
+    // findAll 스냅샷: 쓰기마다 버전만 올리고, 읽을 때 버전이 바뀌었으면 그때 한 번 다시 만든다(lazy)
+    // → 다음 쓰기 전까지 모든 읽기 요청이 같은 불변 리스트를 공유(요청당 복사/할당 없음)
+    private final AtomicLong writeVersion = new AtomicLong();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    private record Snapshot(long version, List<Member> members) {}
+
+    // member.journal.enabled=true 일 때만 주입 → 재시작 후에도 회원/시퀀스 복구
+    private final MemberJournal journal;
+
+    public MemoryMemberRepository() {
+        this(Optional.empty());
+    }
+
+    public MemoryMemberRepository(Optional<MemberJournal> journal) {
+        this(journal, new SequenceIdGenerator());
+    }
+
+    @Autowired
+    public MemoryMemberRepository(Optional<MemberJournal> journal, MemberIdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+        this.journal = journal.orElse(null);
+        if (this.journal != null) {
+            long maxId = this.journal.open(new MemberJournal.Sink() {
+                @Override
+                public void put(long id, String name, long version) {
+                    applyPut(new StoredMember(id, name, version));
+                }
+
+                @Override
+                public void delete(long id) {
+                    applyDelete(id);
+                }
+            }, new MemberJournal.State() {
+                @Override
+                public long sequence() {
+                    return idGenerator.highWaterMark();
+                }
+
+                @Override
+                public void forEach(MemberJournal.Sink sink) {
+                    store.values().forEach(m -> sink.put(m.id(), m.name(), m.version()));
+                }
+            });
+            idGenerator.advancePast(maxId); // 재시작 후에도 이미 쓴 id 를 다시 발급하지 않게
+        }
+    }
+
+    /**
+     * 저장소에는 넘겨받은 객체가 아니라 불변 레코드(StoredMember)를 넣는다. 넘겨받은 객체에는 id/버전만 채워서 돌려준다.
+     * 이미 있는 회원이면 마지막 쓰기가 이긴다(버전 비교가 필요하면 compareAndSet).
+     */
     @Override
     public Member save(Member member) {
-        long id = sequence.incrementAndGet();
-        member.setId(id);
-        store.put(id, member);
+        StoredMember record = journal == null ? putLatest(member) : journal.put(() -> next(member), this::applyPut);
+        member.setId(record.id());
+        member.setVersion(record.version());
         return member;
     }
 
+    @Override
+    public List<Member> saveAll(Collection<Member> members) {
+        List<Member> batch = new ArrayList<>(members);
+        List<StoredMember> records;
+        if (journal == null) {
+            records = new ArrayList<>(batch.size());
+            for (Member m : batch) records.add(putLatest(m));
+        } else {
+            records = journal.putAll(batch, this::next, this::applyPut); // 건마다 fsync 를 기다리지 않고 묶음 끝에서 한 번
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).setId(records.get(i).id());
+            batch.get(i).setVersion(records.get(i).version());
+        }
+        return batch;
+    }
+
+    @Override
+    public Optional<Member> compareAndSet(Long id, long expectedVersion, String name) {
+        if (journal != null) { // 저널 모니터 안에서 비교 → 기록 → 반영 (그 사이 같은 id 의 다른 쓰기가 끼어들 수 없다)
+            return Optional.ofNullable(journal.put(() -> {
+                StoredMember current = store.get(id);
+                if (current == null) return null;
+                if (current.version() != expectedVersion) throw conflict(id, expectedVersion, current);
+                return new StoredMember(id, name, expectedVersion + 1);
+            }, this::applyPut)).map(StoredMember::toMember);
+        }
+        StoredMember current = store.get(id);
+        if (current == null) return Optional.empty();
+        if (current.version() != expectedVersion) throw conflict(id, expectedVersion, current);
+        StoredMember record = new StoredMember(id, name, expectedVersion + 1);
+        if (!store.replace(id, current, record)) { // 읽은 뒤 다른 쓰기가 먼저 반영됨 (레코드 동일성으로 비교하는 CAS)
+            StoredMember now = store.get(id);
+            if (now == null) return Optional.empty();
+            throw conflict(id, expectedVersion, now);
+        }
+        reindex(record);
+        return Optional.of(record.toMember());
+    }
+
+    private static VersionConflictException conflict(Long id, long expected, StoredMember current) {
+        return new VersionConflictException("member " + id + " version mismatch: expected " + expected + ", current " + current.version());
+    }
+
+    // 저장할 다음 레코드: 없는 회원이면 새 id + 버전 1, 있으면 현재 버전 + 1 (저널 모니터 안에서 호출)
+    private StoredMember next(Member member) {
+        StoredMember current = member.getId() == null ? null : store.get(member.getId());
+        if (current == null) return new StoredMember(idGenerator.nextId(), member.getName(), 1);
+        return new StoredMember(current.id(), member.getName(), current.version() + 1);
+    }
+
+    // 저널 없이 락 없는 반영: 새 id 는 이 스레드만 알므로 바로 넣고, 기존 회원은 읽은 레코드 그대로일 때만 교체(실패하면 다시 읽어 재시도)
+    private StoredMember putLatest(Member member) {
+        while (true) {
+            StoredMember current = member.getId() == null ? null : store.get(member.getId());
+            if (current == null) {
+                StoredMember record = new StoredMember(idGenerator.nextId(), member.getName(), 1);
+                applyPut(record);
+                return record;
+            }
+            StoredMember record = new StoredMember(current.id(), member.getName(), current.version() + 1);
+            if (store.replace(current.id(), current, record)) {
+                reindex(record);
+                return record;
+            }
+        }
+    }
+
     @Override
     public Optional<Member> findById(Long id) {
-        return Optional.ofNullable(store.get(id));
+        StoredMember m = store.get(id);
+        return m == null ? Optional.empty() : Optional.of(m.toMember());
     }
 
+    /**
+     * 읽기 전용(불변) 리스트를 돌려준다. 리스트와 원소(Member 사본)는 호출자끼리 공유하므로 고치면 안 된다
+     * (고쳐도 저장소에는 반영되지 않는다. 바꾸려면 save/compareAndSet).
+     * 버전을 먼저 읽고 목록을 만들기 때문에, 만드는 도중 쓰기가 끼어들면 스냅샷이 "옛 버전"으로 기록되어
+     * 다음 읽기에서 다시 만들어진다(최신 쓰기를 놓치는 일은 없다).
+     */
     @Override
     public List<Member> findAll() {
-        return new ArrayList<>(store.values());
+        long version = writeVersion.get();
+        Snapshot cached = snapshot.get();
+        if (cached != null && cached.version() == version) return cached.members();
+
+        List<Member> members = new ArrayList<>(store.size());
+        sortedIndex.scan(MemberSortKey.ID, false, null, store::get).forEachRemaining(m -> members.add(m.toMember())); // id 순서
+        Snapshot fresh = new Snapshot(version, Collections.unmodifiableList(members));
+        // 더 새 버전으로 이미 교체됐으면 덮어쓰지 않는다
+        snapshot.accumulateAndGet(fresh, (cur, next) -> cur == null || cur.version() < next.version() ? next : cur);
+        return fresh.members();
+    }
+
+    @Override
+    public Stream<Member> streamAll() {
+        Iterator<StoredMember> it = sortedIndex.scan(MemberSortKey.ID, false, null, store::get);
+        return StreamSupport.stream(Spliterators.spliterator(it, store.size(), Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .map(StoredMember::toMember);
+    }
+
+    @Override
+    public List<Member> findByNameContaining(String keyword) {
+        return matching(keyword);
+    }
+
+    @Override
+    public List<Member> autocomplete(String query, int limit) {
+        HangulNameIndex.Probe probe = HangulNameIndex.probe(query);
+        if (probe == null || limit <= 0) return List.of();
+        List<Member> result = new ArrayList<>(limit);
+        for (Long id : hangulIndex.complete(probe, limit)) {
+            StoredMember m = store.get(id);
+            if (m != null && probe.rank(m.name()) != null) result.add(m.toMember()); // 색인 갱신 직전의 옛 이름으로 걸린 경우 제외
+        }
+        return result;
+    }
+
+    @Override
+    public MemberSlice query(MemberQuery query) {
+        MemberCursor cursor = query.decodeCursor();
+
+        // 필터가 없으면 정렬 색인을 커서 위치부터 순서대로 읽기만 하면 된다 → O(log n + offset + size)
+        if (!query.hasKeyword()) {
+            Iterator<StoredMember> it = sortedIndex.scan(query.getSortKey(), query.isDescending(), cursor, store::get);
+            for (int skip = cursor == null ? query.getOffset() : 0; skip > 0 && it.hasNext(); skip--) it.next();
+            List<Member> fetched = new ArrayList<>(query.getSize() + 1);
+            while (fetched.size() <= query.getSize() && it.hasNext()) fetched.add(it.next().toMember());
+            return MemberSlice.of(fetched, query);
+        }
+
+        // 필터가 있으면 조건에 맞는 것 중 앞쪽 (offset + size + 1) 개만 크기 제한 힙으로 골라낸다 (레코드 위에서 비교, 결과만 Member 로)
+        Comparator<StoredMember> cmp = query.comparator(StoredMember::sortName, StoredMember::id);
+        String kw = NameTrigramIndex.normalize(query.getKeyword());
+        StoredMember probe = cursor == null ? null : new StoredMember(cursor.getLastId(), cursor.getLastName(), 0);
+        Predicate<StoredMember> filter = probe == null
+                ? m -> matches(m, kw)
+                : m -> matches(m, kw) && cmp.compare(m, probe) > 0; // 커서 이전(이미 내려준 구간)은 건너뜀
+        int k = BoundedTopK.windowOf(query);
+
+        Set<Long> candidates = nameIndex.candidates(kw);
+        BoundedTopK<StoredMember> top = candidates != null
+                ? BoundedTopK.select(resolve(candidates), filter, cmp, k) // 트라이그램 후보만
+                : BoundedTopK.scan(store.values(), filter, cmp, k);       // 색인 불가 → (큰 저장소면 병렬) 전체 스캔
+
+        List<StoredMember> window = top.sorted();
+        int from = Math.min(cursor == null ? query.getOffset() : 0, window.size());
+        List<Member> fetched = new ArrayList<>(window.size() - from);
+        for (StoredMember m : window.subList(from, window.size())) fetched.add(m.toMember());
+        return MemberSlice.of(fetched, query);
     }
 
     @Override
     public void deleteById(Long id) {
+        if (journal == null) applyDelete(id);
+        else journal.delete(id, () -> applyDelete(id));
+    }
+
+    // 메모리 반영(저장소 + 보조 색인 + 스냅샷 버전). 로그 재생도 이 경로를 탄다
+    private void applyPut(StoredMember record) {
+        store.put(record.id(), record);
+        reindex(record);
+    }
+
+    // 보조 색인 갱신. 같은 id 를 동시에 바꾸면 색인 갱신 순서가 뒤집힐 수 있으므로
+    // 반영 후 저장소의 최신 레코드와 다르면 최신 것으로 다시 맞춘다(삭제됐으면 색인에서도 뺀다)
+    private void reindex(StoredMember record) {
+        Long id = record.id();
+        StoredMember indexed = record;
+        while (true) {
+            nameIndex.put(id, indexed.name());
+            hangulIndex.put(id, indexed.name());
+            sortedIndex.put(indexed);
+            StoredMember latest = store.get(id);
+            if (latest == indexed) break;
+            if (latest == null) {
+                nameIndex.remove(id);
+                hangulIndex.remove(id);
+                sortedIndex.remove(id);
+                break;
+            }
+            indexed = latest;
+        }
+        writeVersion.incrementAndGet();
+    }
+
+    private void applyDelete(Long id) {
         store.remove(id);
+        nameIndex.remove(id);
+        hangulIndex.remove(id);
+        sortedIndex.remove(id);
+        writeVersion.incrementAndGet();
+    }
+
+    private List<Member> matching(String keyword) {
+        String kw = NameTrigramIndex.normalize(keyword);
+        Set<Long> candidates = nameIndex.candidates(kw);
+
+        // 색인을 못 쓰는 짧은 검색어(3글자 미만)는 전체 스캔
+        if (candidates == null) {
+            return store.values().stream()
+                    .filter(m -> matches(m, kw))
+                    .map(StoredMember::toMember)
+                    .toList();
+        }
+        // 트라이그램 교집합은 후보일 뿐이므로 실제 포함 여부를 한 번 더 확인
+        List<Member> result = new ArrayList<>(candidates.size());
+        for (StoredMember m : resolve(candidates)) {
+            if (matches(m, kw)) result.add(m.toMember());
+        }
+        return result;
+    }
+
+    // 후보 id → 회원 (그 사이 삭제된 id 는 제외)
+    private List<StoredMember> resolve(Set<Long> ids) {
+        List<StoredMember> out = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            StoredMember m = store.get(id);
+            if (m != null) out.add(m);
+        }
+        return out;
+    }
+
+    private static boolean matches(StoredMember m, String normalizedKeyword) {
+        return m.name() != null && NameTrigramIndex.normalize(m.name()).contains(normalizedKeyword);
     }
-}
\ No newline at end of file
+}
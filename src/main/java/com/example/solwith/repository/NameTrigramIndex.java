@@ -0,0 +1,92 @@
+package com.example.solwith.repository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 회원 이름 부분 검색용 트라이그램(3-gram) 역색인.
+ * - 이름을 소문자로 정규화한 뒤 3글자 조각마다 id 목록(posting list)을 유지한다.
+ * - 검색 시 검색어의 트라이그램 posting list 들을 교집합 → 후보만 남긴다.
+ * - 트라이그램 교집합은 "포함 가능성"만 보장하므로 최종 contains 확인은 호출 측에서 한다.
+ * - 검색어가 3글자 미만이면 색인을 쓸 수 없으므로 null 을 돌려준다(→ 전체 스캔).
+ */
+final class NameTrigramIndex {
+    static final int GRAM = 3;
+
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, String> indexed = new ConcurrentHashMap<>(); // id -> 색인된(정규화된) 이름
+
+    static String normalize(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
+
+    /** 신규/변경 모두 처리. 같은 id 에 대한 갱신은 compute 로 직렬화된다. */
+    void put(Long id, String name) {
+        String norm = normalize(name);
+        indexed.compute(id, (k, old) -> {
+            if (Objects.equals(old, norm)) return old;
+            Set<String> oldGrams = grams(old);
+            Set<String> newGrams = grams(norm);
+            for (String g : oldGrams) if (!newGrams.contains(g)) removePosting(g, id);
+            for (String g : newGrams) if (!oldGrams.contains(g)) addPosting(g, id);
+            return norm;
+        });
+    }
+
+    void remove(Long id) {
+        indexed.computeIfPresent(id, (k, old) -> {
+            for (String g : grams(old)) removePosting(g, id);
+            return null;
+        });
+    }
+
+    /**
+     * @param keyword 정규화(소문자)된 검색어
+     * @return 후보 id 집합, 색인을 쓸 수 없는 검색어면 null
+     */
+    Set<Long> candidates(String keyword) {
+        if (keyword == null || keyword.length() < GRAM) return null;
+
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String g : grams(keyword)) {
+            Set<Long> p = postings.get(g);
+            if (p == null) return Set.of(); // 한 조각이라도 없으면 결과 없음
+            lists.add(p);
+        }
+        // 가장 짧은 posting list 부터 돌면서 나머지에 모두 있는 id 만 남긴다
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Long> result = new HashSet<>();
+        Set<Long> smallest = lists.get(0);
+        List<Set<Long>> rest = lists.subList(1, lists.size());
+        outer:
+        for (Long id : smallest) {
+            for (Set<Long> other : rest) {
+                if (!other.contains(id)) continue outer;
+            }
+            result.add(id);
+        }
+        return result;
+    }
+
+    private void addPosting(String gram, Long id) {
+        postings.compute(gram, (k, set) -> {
+            if (set == null) set = ConcurrentHashMap.newKeySet();
+            set.add(id);
+            return set;
+        });
+    }
+
+    private void removePosting(String gram, Long id) {
+        postings.computeIfPresent(gram, (k, set) -> {
+            set.remove(id);
+            return set.isEmpty() ? null : set; // 빈 posting list 는 지워서 메모리 회수
+        });
+    }
+
+    private static Set<String> grams(String s) {
+        if (s == null || s.length() < GRAM) return Set.of();
+        Set<String> out = new HashSet<>();
+        for (int i = 0; i + GRAM <= s.length(); i++) out.add(s.substring(i, i + GRAM));
+        return out;
+    }
+}
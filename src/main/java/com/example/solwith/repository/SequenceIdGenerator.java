@@ -0,0 +1,24 @@
+package com.example.solwith.repository;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** 단일 JVM 카운터(1부터). 재시작 후에는 저널이 복구한 최대 id 다음부터 발급한다 */
+public final class SequenceIdGenerator implements MemberIdGenerator {
+    private final AtomicLong last = new AtomicLong(); // 마지막으로 예약한 id
+
+    @Override
+    public long reserve(int count) {
+        if (count < 1) throw new IllegalArgumentException("count must be positive: " + count);
+        return last.getAndAdd(count) + 1;
+    }
+
+    @Override
+    public void advancePast(long id) {
+        last.accumulateAndGet(id, Math::max);
+    }
+
+    @Override
+    public long highWaterMark() {
+        return last.get();
+    }
+}
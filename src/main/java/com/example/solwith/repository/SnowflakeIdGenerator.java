@@ -0,0 +1,98 @@
+package com.example.solwith.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * 시간순 id: [41비트 ms(2024-01-01 기준)][10비트 노드 id][12비트 ms 내 순번].
+ * - 노드 id(0~1023)만 인스턴스마다 다르게 주면 DB/코디네이터 없이 전역 유일
+ * - 상태(마지막 ms + 순번)를 long 하나에 담아 CAS 한 번으로 구간을 예약한다(락 없음)
+ * - 시계가 뒤로 가면 마지막 ms 를 계속 쓰고, 그 ms 의 순번을 다 쓰면 시계가 따라올 때까지 기다린다 → id 는 단조 증가
+ *   단, MAX_BACKWARD_MS 보다 많이 뒤로 갔으면 기다리지 않고 IllegalStateException (요청 스레드가 하염없이 돌지 않게)
+ * - 값이 2^53 보다 커서 JavaScript number 로는 정확히 표현되지 않는다 → jsonSafe() = false, 응답에는 문자열로 나간다
+ */
+public final class SnowflakeIdGenerator implements MemberIdGenerator {
+    static final long EPOCH = 1704067200000L; // 2024-01-01T00:00:00Z
+    static final int NODE_BITS = 10;
+    static final int SEQ_BITS = 12;
+    static final int MAX_NODE = (1 << NODE_BITS) - 1;
+    static final int SEQ_PER_MS = 1 << SEQ_BITS;
+
+    private static final int STATE_SHIFT = SEQ_BITS + 1; // 사용한 순번 수는 0 ~ SEQ_PER_MS 이므로 한 비트 더
+    private static final long USED_MASK = (1L << STATE_SHIFT) - 1;
+    static final long MAX_BACKWARD_MS = 10; // 순번을 다 썼을 때 시계를 기다려 주는 최대 역행 폭
+    private static final Logger log = LoggerFactory.getLogger(SnowflakeIdGenerator.class);
+
+    private final long node;
+    private final LongSupplier clock;
+    private final AtomicLong state = new AtomicLong(); // (ms << STATE_SHIFT) | 그 ms 에 사용한 순번 수
+
+    public SnowflakeIdGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE) {
+            throw new IllegalArgumentException("node id must be between 0 and " + MAX_NODE + ": " + nodeId);
+        }
+        this.node = nodeId;
+        this.clock = clock;
+    }
+
+    @Override
+    public long reserve(int count) {
+        if (count < 1 || count > SEQ_PER_MS) {
+            throw new IllegalArgumentException("count must be between 1 and " + SEQ_PER_MS + ": " + count);
+        }
+        while (true) {
+            long now = clock.getAsLong() - EPOCH;
+            long cur = state.get();
+            long ms = cur >>> STATE_SHIFT;
+            long used = cur & USED_MASK;
+            if (now > ms) {
+                ms = now;
+                used = 0;
+            } else if (used + count > SEQ_PER_MS) {
+                awaitClock(ms - now); // 이 ms 의 순번을 다 씀 → 시계가 다음 ms 로 넘어갈 때까지 대기
+                continue;
+            }
+            if (state.compareAndSet(cur, (ms << STATE_SHIFT) | (used + count))) {
+                return (ms << (NODE_BITS + SEQ_BITS)) | (node << SEQ_BITS) | used;
+            }
+        }
+    }
+
+    // behind = 마지막 ms 가 시계보다 앞선 정도. 0 이면 보통의 순번 소진(1ms 안에 풀림), 크면 시계 역행
+    private void awaitClock(long behind) {
+        if (behind == 0) {
+            Thread.onSpinWait();
+        } else if (behind <= MAX_BACKWARD_MS) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        } else {
+            log.warn("clock moved backwards by {} ms and sequence for the last ms is exhausted (node={})", behind, node);
+            throw new IllegalStateException("clock moved backwards by " + behind + " ms; refusing to issue ids");
+        }
+    }
+
+    @Override
+    public int maxReserve() {
+        return SEQ_PER_MS;
+    }
+
+    @Override
+    public boolean jsonSafe() {
+        return false;
+    }
+
+    @Override
+    public void advancePast(long id) {
+        // 복구한 id 의 ms 가 (시계가 뒤로 간 탓에) 지금보다 미래면 그 ms 이후부터 발급
+        long ms = id >>> (NODE_BITS + SEQ_BITS);
+        state.accumulateAndGet((ms << STATE_SHIFT) | SEQ_PER_MS, Math::max);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.solwith.repository;
+
+import com.example.solwith.domain.Member;
+
+/**
+ * 인메모리 저장소에 들어가는 회원 레코드 (불변).
+ * - 저장소, 보조 색인, findAll 스냅샷은 이 레코드만 들고 있고 바깥으로는 toMember() 로 만든 Member 만 나간다
+ *   → 조회 결과를 고쳐도 저장소와 이름/정렬/자모 색인, ETag 버전이 어긋나지 않는다. 바꾸려면 save 나 compareAndSet
+ * - 검색/정렬은 레코드 위에서 하고, 결과로 나가는 것만 Member 로 바꾼다 (전체 스캔에서 회원마다 사본을 만들지 않음)
+ */
+record StoredMember(long id, String name, long version) {
+
+    Member toMember() {
+        return new Member(id, name, version);
+    }
+
+    /** 정렬용 이름 (MemberSortKey 와 같은 규칙: null 은 "") */
+    String sortName() {
+        return name == null ? "" : name;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.solwith.repository;
+
+/**
+ * 스레드마다 id 구간을 미리 예약해 두고 나눠 주는 데코레이터.
+ * - 발급(nextId)은 자기 스레드 버퍼만 건드리므로 CAS/락 경합이 없다. 공유 상태는 구간을 새로 받을 때만 건드린다
+ * - 스레드가 끝나면 쓰다 남은 구간은 버려진다(id 에 구멍이 생길 수 있음). 같은 스레드 안에서는 증가 순서
+ * - advancePast 가 불리면 세대(epoch)를 올려서 모든 스레드가 다음 발급 때 구간을 새로 받는다
+ */
+public final class ThreadLocalIdBuffer implements MemberIdGenerator {
+    private final MemberIdGenerator delegate;
+    private final int blockSize;
+    private volatile int epoch;
+
+    private final ThreadLocal<long[]> buffer = ThreadLocal.withInitial(() -> new long[]{0, 0, -1}); // {next, limit, epoch}
+
+    public ThreadLocalIdBuffer(MemberIdGenerator delegate, int blockSize) {
+        if (blockSize < 1) throw new IllegalArgumentException("block size must be positive: " + blockSize);
+        this.delegate = delegate;
+        this.blockSize = Math.min(blockSize, delegate.maxReserve());
+    }
+
+    @Override
+    public long nextId() {
+        long[] b = buffer.get();
+        int e = epoch;
+        if (b[0] >= b[1] || b[2] != e) {
+            b[0] = delegate.reserve(blockSize);
+            b[1] = b[0] + blockSize;
+            b[2] = e;
+        }
+        return b[0]++;
+    }
+
+    @Override
+    public long reserve(int count) {
+        return delegate.reserve(count); // 큰 묶음은 버퍼를 거치지 않고 바로 예약
+    }
+
+    @Override
+    public int maxReserve() {
+        return delegate.maxReserve();
+    }
+
+    @Override
+    public boolean jsonSafe() {
+        return delegate.jsonSafe();
+    }
+
+    @Override
+    public void advancePast(long id) {
+        delegate.advancePast(id);
+        epoch++; // 이미 받아 둔 구간은 id 보다 작을 수 있으므로 버린다 (기동 시 한 번 불리므로 경합 없음)
+    }
+
+    @Override
+    public long highWaterMark() {
+        return delegate.highWaterMark();
+    }
+}
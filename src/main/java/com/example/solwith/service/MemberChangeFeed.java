@@ -0,0 +1,211 @@
+package com.example.solwith.service;
+
+import com.example.solwith.common.TraceContext;
+import com.example.solwith.domain.Member;
+import com.example.solwith.dto.MemberChange;
+import com.example.solwith.dto.MemberChangePage;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 회원 변경 피드 (메모리 링 버퍼).
+ * - 생성/수정/삭제마다 단조 증가 seq 를 붙여 고정 크기 링에 기록 → 오래된 변경은 덮어써진다
+ * - 커서 = "{epoch}.{seq}". epoch 는 기동 시각이라 서버가 재시작되면 옛 커서는 resnapshot 으로 처리된다
+ * - 쓰기는 락 없이 seq 예약 → 칸에 기록. 읽기는 "아직 기록 안 된 칸" 앞에서 멈추므로 변경을 건너뛰지 않는다
+ * - 대기 중인 long-poll / SSE 구독자는 전용 스레드가 깨운다(쓰기 스레드는 신호만 보내고 바로 돌아감)
+ * - 그 스레드에서는 막히지 않는 일만 한다. SSE 전송처럼 막힐 수 있는 구독자는 subscribeAsync 로 → 구독자마다 sender 풀에서 따로 돈다
+ * - 리스너는 구독한 요청의 trace 컨텍스트로 돈다 (피드/sender 스레드 로그도 그 요청의 traceId 로 묶인다)
+ */
+@Component
+public class MemberChangeFeed {
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<MemberChange> ring;
+    private final AtomicLong head = new AtomicLong(); // 마지막으로 예약된 seq
+
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean signalPending = new AtomicBoolean();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "member-feed");
+        t.setDaemon(true);
+        return t;
+    });
+    private final ExecutorService senders;
+    private final long stallNanos;
+
+    public MemberChangeFeed(int capacity) {
+        this(capacity, 4, 10_000);
+    }
+
+    @Autowired
+    public MemberChangeFeed(@Value("${member.feed.capacity:65536}") int capacity,
+                            @Value("${member.feed.sender-threads:4}") int senderThreads,
+                            @Value("${member.feed.stall-ms:10000}") long stallMs) {
+        this.capacity = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1; // 2의 거듭제곱으로 올림
+        this.mask = this.capacity - 1;
+        this.ring = new AtomicReferenceArray<>(this.capacity);
+        AtomicInteger seq = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(Math.max(1, senderThreads), r -> {
+            Thread t = new Thread(r, "member-feed-sender-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.stallNanos = TimeUnit.MILLISECONDS.toNanos(stallMs);
+    }
+
+    public void publish(MemberChange.Type type, Member m) {
+        long seq = head.incrementAndGet();
+        ring.set((int) (seq & mask), new MemberChange(seq, cursorOf(seq), type, m.getId(), m.getName(), m.getVersion()));
+        signal();
+    }
+
+    /** 지금 시점의 커서 (여기서부터 받기 시작) */
+    public String currentCursor() {
+        return cursorOf(head.get());
+    }
+
+    /** cursor 다음 변경을 최대 limit 건. cursor 가 null 이면 지금부터(빈 결과) */
+    public MemberChangePage read(String cursor, int limit) {
+        long h = head.get();
+        if (cursor == null) return new MemberChangePage(List.of(), cursorOf(h), false);
+        long after = seqOf(cursor);
+        if (after < 0 || after > h || after < h - capacity) return resnapshot(h); // 다른 epoch / 이미 덮어쓴 구간
+
+        List<MemberChange> out = new ArrayList<>(Math.min(limit, (int) Math.min(h - after, 1024)));
+        long s = after;
+        while (out.size() < limit && s < h) {
+            MemberChange c = ring.get((int) ((s + 1) & mask));
+            if (c == null || c.getSeq() < s + 1) break;      // 아직 기록 중인 칸 → 다음 요청에서
+            if (c.getSeq() > s + 1) return resnapshot(h);    // 읽는 사이 덮어써짐
+            out.add(c);
+            s++;
+        }
+        return new MemberChangePage(out, cursorOf(s), false);
+    }
+
+    /** 새 변경이 생기면 호출될 리스너 등록. 반환값을 실행하면 해제. 피드 스레드에서 바로 불리므로 막히면 안 된다 */
+    public Runnable subscribe(Runnable listener) {
+        Runnable traced = TraceContext.wrap(listener);
+        listeners.add(traced);
+        return () -> listeners.remove(traced);
+    }
+
+    /**
+     * 막힐 수 있는 리스너(SSE 전송 등) 등록. 피드 스레드는 신호만 넘기고, 리스너는 sender 풀에서 돈다.
+     * - 구독자마다 한 번에 하나만 돈다. 도는 중에 온 신호는 끝난 뒤 한 번 더 돌려서 처리(몰린 신호는 합쳐짐)
+     * - 한 번 실행이 stall-ms 넘게 안 끝난 채로 새 신호가 오면 뒤처진 것으로 보고 구독을 끊은 뒤 onStall 을 부른다
+     *   (onStall 은 피드 스레드에서 불리므로 표시만 하고 막히는 일은 하지 말 것). 클라이언트는 커서로 다시 붙거나 resnapshot
+     */
+    public Runnable subscribeAsync(Runnable listener, Runnable onStall) {
+        AsyncListener async = new AsyncListener(TraceContext.wrap(listener), onStall); // sender 풀에서도 구독한 요청의 trace 로
+        async.unsubscribe = subscribe(async::wake);
+        return async.unsubscribe;
+    }
+
+    // 여러 쓰기가 몰려도 깨우기 작업은 한 번만 예약된다
+    private void signal() {
+        if (listeners.isEmpty() || !signalPending.compareAndSet(false, true)) return;
+        dispatcher.execute(() -> {
+            signalPending.set(false);
+            for (Runnable l : listeners) {
+                try {
+                    l.run();
+                } catch (RuntimeException ignored) {
+                    // 구독자 하나의 실패(끊긴 연결 등)가 다른 구독자에게 번지지 않게
+                }
+            }
+        });
+    }
+
+    private MemberChangePage resnapshot(long h) {
+        return new MemberChangePage(List.of(), cursorOf(h), true);
+    }
+
+    private String cursorOf(long seq) {
+        return epoch + "." + seq;
+    }
+
+    // 다른 epoch 이거나 형식이 틀리면 -1
+    private long seqOf(String cursor) {
+        int dot = cursor.indexOf('.');
+        if (dot < 0 || !cursor.regionMatches(0, epoch, 0, dot) || dot != epoch.length()) return -1;
+        try {
+            return Long.parseLong(cursor.substring(dot + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    private final class AsyncListener {
+        final Runnable listener;
+        final Runnable onStall;
+        final AtomicInteger signals = new AtomicInteger(); // 0 = 쉬는 중, 그 외 = 실행 중/예약됨 + 밀린 신호 수
+        volatile long runningSince;                       // 지금 실행이 시작된 시각 (0 = 실행 중 아님)
+        volatile boolean stalled;
+        volatile Runnable unsubscribe;
+
+        AsyncListener(Runnable listener, Runnable onStall) {
+            this.listener = listener;
+            this.onStall = onStall;
+        }
+
+        // 피드 스레드에서만 불린다
+        void wake() {
+            if (stalled) return;
+            if (signals.getAndIncrement() > 0) {
+                long since = runningSince;
+                if (since != 0 && System.nanoTime() - since > stallNanos) stall();
+                return;
+            }
+            try {
+                senders.execute(this::drain);
+            } catch (RejectedExecutionException e) { // 종료 중
+                signals.set(0);
+            }
+        }
+
+        private void drain() {
+            int seen = signals.get();
+            while (true) {
+                runningSince = Math.max(1, System.nanoTime());
+                try {
+                    listener.run();
+                } catch (RuntimeException ignored) {
+                    // 구독자 하나의 실패가 풀 스레드를 죽이지 않게
+                } finally {
+                    runningSince = 0;
+                }
+                int left = signals.addAndGet(-seen);
+                if (left == 0 || stalled) return;
+                seen = left;
+            }
+        }
+
+        private void stall() {
+            stalled = true;
+            unsubscribe.run();
+            onStall.run();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.solwith.service;
+
+import com.example.solwith.common.TraceContext;
+import com.example.solwith.domain.Member;
+import com.example.solwith.dto.MemberChange;
+import com.example.solwith.dto.MemberCreateRequest;
+import com.example.solwith.dto.MemberImportReport;
+import com.example.solwith.repository.MemberRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * 회원 일괄 등록 (NDJSON / CSV).
+ * - 본문을 한 줄씩 읽어 chunk(기본 2000줄) 단위로 모은다 → 전체 본문을 메모리에 올리지 않음
+ * - chunk 안의 파싱 + @NotBlank 검증은 병렬로, 통과한 것만 MemberRepository.saveAll 로 한 번에 저장
+ * - 읽기 스레드가 다음 chunk 를 모으는 동안 이전 chunk 를 저장한다 (진행 중인 chunk 는 최대 1개 → 메모리 상한, 저장 순서 유지)
+ * - 저장은 writer-threads 개짜리 공용 풀에서 돈다. 한 import 의 chunk 는 앞 chunk 가 끝나야 넘어가므로 풀에 항상 1개뿐
+ *   → 동시에 들어온 import 끼리는 풀 스레드를 나눠 쓰고, 큰 import 하나가 다른 import 의 chunk 를 뒤로 밀지 않는다
+ * - 전체가 하나의 트랜잭션은 아니다: 실패한 줄만 빠지고 나머지는 저장된다(줄 번호별 에러 리포트)
+ */
+@Service
+public class MemberImportService {
+    public enum Format { NDJSON, CSV }
+
+    private final MemberRepository memberRepository;
+    private final MemberChangeFeed changeFeed;
+    private final Validator validator;
+    private final ObjectReader requestReader;
+    private final int chunkSize;
+    private final ExecutorService writers;
+
+    public MemberImportService(MemberRepository memberRepository, MemberChangeFeed changeFeed, Validator validator,
+                               ObjectMapper objectMapper, int chunkSize) {
+        this(memberRepository, changeFeed, validator, objectMapper, chunkSize, 4);
+    }
+
+    @Autowired
+    public MemberImportService(MemberRepository memberRepository, MemberChangeFeed changeFeed, Validator validator,
+                               ObjectMapper objectMapper, @Value("${member.import.chunk-size:2000}") int chunkSize,
+                               @Value("${member.import.writer-threads:4}") int writerThreads) {
+        this.memberRepository = memberRepository;
+        this.changeFeed = changeFeed;
+        this.validator = validator;
+        this.requestReader = objectMapper.readerFor(MemberCreateRequest.class);
+        this.chunkSize = chunkSize;
+        AtomicInteger seq = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(Math.max(1, writerThreads), r -> {
+            Thread t = new Thread(r, "member-import-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public MemberImportReport importMembers(InputStream body, Format format) throws IOException {
+        Progress progress = new Progress();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024);
+        int nameColumn = 0;
+        long lineNo = 0;
+        List<String> lines = new ArrayList<>(chunkSize);
+        long firstLine = 1;
+        CompletableFuture<Void> inFlight = CompletableFuture.completedFuture(null);
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (format == Format.CSV && lineNo == 1) {
+                int header = headerColumn(line);
+                if (header >= 0) { // 헤더 줄이면 name 열 위치만 기억하고 건너뜀
+                    nameColumn = header;
+                    lines.add(null);
+                    continue;
+                }
+            }
+            lines.add(line);
+            if (lines.size() == chunkSize) {
+                inFlight = submit(inFlight, new Chunk(firstLine, lines), format, nameColumn, progress);
+                firstLine = lineNo + 1;
+                lines = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!lines.isEmpty()) inFlight = submit(inFlight, new Chunk(firstLine, lines), format, nameColumn, progress);
+        await(inFlight);
+        return progress.report();
+    }
+
+    // 이전 chunk 저장이 끝나야 다음 chunk 를 넘긴다 → 동시에 메모리에 있는 chunk 는 읽는 중 1 + 저장 중 1
+    // (같은 import 의 chunk 는 풀의 어느 스레드에서 돌든 차례로만 돈다)
+    private CompletableFuture<Void> submit(CompletableFuture<Void> previous, Chunk chunk, Format format,
+                                           int nameColumn, Progress progress) {
+        await(previous);
+        return TraceContext.runAsync(() -> process(chunk, format, nameColumn, progress), writers); // 저장 스레드 로그에도 요청 traceId
+    }
+
+    // 저장 중 난 예외(DB 오류 등)는 감싸지 않고 그대로 → GlobalExceptionHandler 에서 처리
+    private static void await(CompletableFuture<Void> f) {
+        try {
+            f.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    private void process(Chunk chunk, Format format, int nameColumn, Progress progress) {
+        int n = chunk.lines.size();
+        Object[] parsed = new Object[n]; // Member(성공) 또는 String(에러 메시지), 빈 줄은 null
+        IntStream.range(0, n).parallel().forEach(i -> parsed[i] = parse(chunk.lines.get(i), format, nameColumn));
+
+        List<Member> valid = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            if (parsed[i] instanceof Member m) valid.add(m);
+            else if (parsed[i] instanceof String error) progress.fail(chunk.firstLine + i, error);
+            if (parsed[i] != null) progress.total++;
+        }
+        if (!valid.isEmpty()) {
+            for (Member m : memberRepository.saveAll(valid)) changeFeed.publish(MemberChange.Type.CREATED, m);
+        }
+        progress.imported += valid.size();
+    }
+
+    private Object parse(String line, Format format, int nameColumn) {
+        if (line == null || line.isBlank()) return null;
+        MemberCreateRequest req;
+        if (format == Format.NDJSON) {
+            try {
+                req = requestReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                return "invalid json: " + e.getOriginalMessage();
+            }
+        } else {
+            List<String> fields = splitCsv(line);
+            if (nameColumn >= fields.size()) return "missing name column";
+            req = new MemberCreateRequest();
+            req.setName(fields.get(nameColumn));
+        }
+        Set<ConstraintViolation<MemberCreateRequest>> violations = validator.validate(req);
+        if (!violations.isEmpty()) return violations.iterator().next().getMessage();
+        return new Member(req.getName());
+    }
+
+    /** 첫 줄에 "name" 열이 있으면 그 위치, 헤더가 아니면 -1 */
+    static int headerColumn(String line) {
+        List<String> fields = splitCsv(line);
+        for (int i = 0; i < fields.size(); i++) {
+            if ("name".equals(fields.get(i).trim().toLowerCase(Locale.ROOT))) return i;
+        }
+        return -1;
+    }
+
+    /** RFC 4180 한 줄 분리 ("" 는 따옴표 하나). 따옴표 안의 줄바꿈은 지원하지 않는다 */
+    static List<String> splitCsv(String line) {
+        List<String> out = new ArrayList<>();
+        StringBuilder cur = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cur.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    cur.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                out.add(cur.toString());
+                cur.setLength(0);
+            } else {
+                cur.append(c);
+            }
+        }
+        out.add(cur.toString());
+        return out;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        writers.shutdown();
+    }
+
+    private record Chunk(long firstLine, List<String> lines) {}
+
+    // 한 import 의 chunk 는 차례로 처리되므로 잠금 없이 누적 (스레드가 바뀌어도 앞 chunk 의 join 으로 가시성 보장)
+    private static final class Progress {
+        long total;
+        long imported;
+        long failed;
+        final List<MemberImportReport.LineError> errors = new ArrayList<>();
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < MemberImportReport.MAX_ERRORS) errors.add(new MemberImportReport.LineError(line, message));
+        }
+
+        MemberImportReport report() {
+            return new MemberImportReport(total, imported, failed, errors);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.solwith.service;
+
+import com.example.solwith.domain.Member;
+import com.example.solwith.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 동시에 들어온 단건 조회(findById)를 findAllById 한 번으로 묶는다 (smart batching).
+ * - 타이머로 기다리지 않는다: 처리 중인 배치가 없으면 호출자가 바로 "리더"가 되어 자기 것(과 쌓인 것)을 조회
+ * - 배치가 도는 동안 들어온 조회는 큐에 쌓였다가 다음 리더가 한 번에 처리 → 부하가 클수록 배치가 커진다
+ * - 리더는 배치 하나만 처리하고 큐에 남은 대기자 하나를 깨워 넘긴다(한 스레드가 계속 남의 일을 하지 않게)
+ */
+final class MemberLookupBatcher {
+    private final MemberRepository repository;
+    private final int maxBatch;
+    private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean leading = new AtomicBoolean();
+
+    MemberLookupBatcher(MemberRepository repository, int maxBatch) {
+        this.repository = repository;
+        this.maxBatch = maxBatch;
+    }
+
+    Member load(Long id) {
+        Pending p = new Pending(id, Thread.currentThread());
+        queue.add(p);
+        boolean interrupted = false;
+        while (!p.done) {
+            if (leading.compareAndSet(false, true)) {
+                try {
+                    runBatch();
+                } finally {
+                    leading.set(false);
+                }
+                Pending next = queue.peek(); // 남은 대기자에게 리더를 넘김
+                if (next != null) LockSupport.unpark(next.waiter);
+            } else {
+                LockSupport.park(this); // 리더가 결과를 채우거나 리더 자리를 넘겨줄 때 깨어남
+                // 인터럽트 상태면 park 가 바로 돌아와 헛돈다 → 지우고 기다린 뒤 끝에서 되돌린다 (이미 큐에 있어 리더가 곧 채워 준다)
+                if (Thread.interrupted()) interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+        if (p.error != null) throw p.error;
+        return p.result;
+    }
+
+    private void runBatch() {
+        List<Pending> batch = new ArrayList<>();
+        Pending p;
+        while (batch.size() < maxBatch && (p = queue.poll()) != null) batch.add(p);
+        if (batch.isEmpty()) return;
+
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Pending b : batch) ids.add(b.id);
+        try {
+            Map<Long, Member> found = new HashMap<>();
+            for (Member m : repository.findAllById(ids)) found.put(m.getId(), m);
+            for (Pending b : batch) b.complete(found.get(b.id), null);
+        } catch (RuntimeException e) {
+            for (Pending b : batch) b.complete(null, e);
+        }
+    }
+
+    private static final class Pending {
+        final Long id;
+        final Thread waiter;
+        Member result;
+        RuntimeException error;
+        volatile boolean done; // result/error 를 쓴 뒤 done 을 쓰므로 done 을 본 스레드는 결과도 본다
+
+        Pending(Long id, Thread waiter) {
+            this.id = id;
+            this.waiter = waiter;
+        }
+
+        void complete(Member result, RuntimeException error) {
+            this.result = result;
+            this.error = error;
+            this.done = true;
+            LockSupport.unpark(waiter);
+        }
+    }
+}
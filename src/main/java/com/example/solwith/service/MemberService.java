@@ -1,14 +1,27 @@
 package com.example.solwith.service;
 
 import com.example.solwith.domain.Member;
+import com.example.solwith.repository.MemberQuery;
+import com.example.solwith.repository.MemberSlice;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface MemberService {
     Member join(Member member);
     List<Member> findMembers();
+    /** 전체 회원을 id 순으로 흘려 보낸다. 다 쓰면 close 해야 한다 */
+    Stream<Member> streamMembers();
+    List<Member> searchByName(String keyword);
+    MemberSlice search(MemberQuery query);
+    /** 한글 초성/자모 자동완성. 앞부분 일치 → 중간 일치 순으로 최대 size 개 */
+    List<Member> autocomplete(String query, int size);
     Member findOne(Long id);
+    /** 여러 id 를 한 번에 조회. 요청 순서대로 돌려주며 없는 id 는 빠진다 */
+    List<Member> findMany(List<Long> ids);
     Member update(Long id, String name);
+    /** expectedVersion 이 있으면 현재 버전과 같을 때만 수정(다르면 VersionConflictException), null 이면 최신 버전에 덮어씀 */
+    Member update(Long id, String name, Long expectedVersion);
     void delete(Long id);
 }
@@ -1,28 +1,49 @@
 package com.example.solwith.service;
 
 import com.example.solwith.aop.LogExecutionTime;
+import com.example.solwith.common.BadRequestException;
+import com.example.solwith.common.NotFoundException;
+import com.example.solwith.common.VersionConflictException;
 import com.example.solwith.domain.Member;
+import com.example.solwith.dto.MemberChange;
+import com.example.solwith.repository.MemberQuery;
 import com.example.solwith.repository.MemberRepository;
+import com.example.solwith.repository.MemberSlice;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 public class MemberServiceImpl implements MemberService{
+    static final int MAX_IDS = 100; // 한 번에 조회할 수 있는 id 수
+    static final int MAX_SUGGESTIONS = 50; // 자동완성 최대 개수
 
     private final MemberRepository memberRepository;
+    private final MemberLookupBatcher lookupBatcher; // DB 저장소처럼 묶어 읽는 편이 나을 때만 (아니면 null)
+    private final MemberChangeFeed changeFeed;       // 생성/수정/삭제 기록 → 변경 피드 구독자에게 전달
 
-    public MemberServiceImpl(MemberRepository memberRepository) {
+    public MemberServiceImpl(MemberRepository memberRepository, MemberChangeFeed changeFeed) {
         this.memberRepository = memberRepository;
+        this.changeFeed = changeFeed;
+        this.lookupBatcher = memberRepository.prefersBatchedLookups()
+                ? new MemberLookupBatcher(memberRepository, MAX_IDS) : null;
     }
 
 
     @Override
     public Member join(Member member) {
         //중복 이름 체크 같은 비즈니스 룰은 여기서
-        return memberRepository.save(member);
+        Member saved = memberRepository.save(member);
+        changeFeed.publish(MemberChange.Type.CREATED, saved);
+        return saved;
     }
 
     @Override
@@ -30,26 +51,95 @@ public class MemberServiceImpl implements MemberService{
         return memberRepository.findAll();
     }
 
-    @PreAuthorize("hasAnyRole('MANGER', 'ADMIN')") // MANAGER 이상
+    @Override
+    public Stream<Member> streamMembers() {
+        return memberRepository.streamAll();
+    }
+
+    @Override
+    public List<Member> searchByName(String keyword) {
+        return memberRepository.findByNameContaining(keyword);
+    }
+
+    @Override
+    public MemberSlice search(MemberQuery query) {
+        return memberRepository.query(query);
+    }
+
+    @Override
+    public List<Member> autocomplete(String query, int size) {
+        if (size <= 0 || size > MAX_SUGGESTIONS) {
+            throw new BadRequestException("size must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        return memberRepository.autocomplete(query, size);
+    }
+
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')") // MANAGER 이상
     @LogExecutionTime
     @Override
     public Member findOne(Long id) {
+        if (lookupBatcher != null) return lookupBatcher.load(id);
         return memberRepository.findById(id).orElse(null);
     }
 
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')") // 단건 조회와 같은 권한 (MANAGER 이상)
+    @LogExecutionTime
+    @Override
+    public List<Member> findMany(List<Long> ids) {
+        Set<Long> unique = new LinkedHashSet<>(ids);
+        if (unique.size() > MAX_IDS) {
+            throw new BadRequestException("too many ids: " + unique.size() + " (max " + MAX_IDS + ")");
+        }
+        Map<Long, Member> found = new HashMap<>();
+        for (Member m : memberRepository.findAllById(unique)) found.put(m.getId(), m);
+        List<Member> ordered = new ArrayList<>(found.size()); // 요청한 순서대로, 없는 id 는 빠진다
+        for (Long id : unique) {
+            Member m = found.get(id);
+            if (m != null) ordered.add(m);
+        }
+        return ordered;
+    }
+
     @PreAuthorize("isAuthenticated()") // 로그인 사용자면 OK
     @Override
     public Member update(Long id, String name) {
-        Member m = findOne(id);
-        m.setName(name);
-        return m;
+        Member updated = change(id, name, null);
+        changeFeed.publish(MemberChange.Type.UPDATED, updated);
+        return updated;
+    }
+
+    // 저장된 회원은 불변 레코드 → 제자리 setName 대신 저장소의 버전 비교 교체(compareAndSet)로 새 버전을 만든다
+    @PreAuthorize("isAuthenticated()")
+    @Override
+    public Member update(Long id, String name, Long expectedVersion) {
+        Member updated = change(id, name, expectedVersion);
+        changeFeed.publish(MemberChange.Type.UPDATED, updated);
+        return updated;
+    }
+
+    private Member change(Long id, String name, Long expectedVersion) {
+        if (expectedVersion != null) {
+            return memberRepository.compareAndSet(id, expectedVersion, name).orElseThrow(() -> notFound(id));
+        }
+        while (true) { // 조건 없는 수정: 방금 읽은 버전 기준으로 교체, 그 사이 다른 수정이 끼어들었으면 다시 읽어서 재시도
+            Member current = memberRepository.findById(id).orElseThrow(() -> notFound(id));
+            try {
+                return memberRepository.compareAndSet(id, current.getVersion(), name).orElseThrow(() -> notFound(id));
+            } catch (VersionConflictException retry) {
+                // 다시 읽는다
+            }
+        }
     }
 
     @PreAuthorize("hasRole('ADMIN')") //ADMIN만 접근 가능
     @Override
     public void delete(Long id) {
-        Member m = findOne(id);
-        m.setName("[DELETED]");
+        Member deleted = change(id, "[DELETED]", null);
+        changeFeed.publish(MemberChange.Type.DELETED, deleted);
+    }
+
+    private static NotFoundException notFound(Long id) {
+        return new NotFoundException("member not found: " + id);
     }
 
 
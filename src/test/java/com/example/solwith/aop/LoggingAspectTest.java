@@ -0,0 +1,98 @@
+package com.example.solwith.aop;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+
+//목표: 메서드 메타 캐시/마스킹, 샘플링(느리거나 실패한 호출은 항상), 비동기 기록 검증 (스프링 컨테이너 X)
+public class LoggingAspectTest {
+    Logger logger = mock(Logger.class);
+
+    static class Target {
+        public String login(Long id, String password, List<String> tags) { return "ok"; }
+    }
+
+    static Method login() throws NoSuchMethodException {
+        return Target.class.getMethod("login", Long.class, String.class, List.class);
+    }
+
+    @Test
+    void 인자는_민감값을_가리고_복잡객체는_요약() throws Exception {
+        MethodLogMeta meta = MethodLogMeta.of(Target.class, login(), Set.of("password"));
+
+        assertThat(meta.name).isEqualTo("Target.login");
+        assertThat(meta.formatArgs(new Object[]{7L, "p@ss", List.of("a", "b")}))
+                .isEqualTo("id=7, password=***, tags=Collection(size=2)");
+        assertThat(meta.formatArgs(new Object[]{null, null, null})).isEqualTo("id=null, password=null, tags=null");
+    }
+
+    @Test
+    void 빠른_호출은_샘플링되고_실패한_호출은_항상_로그() throws Throwable {
+        //given: 사실상 샘플링 안 함, 느린 기준 1분
+        MethodLatencyRecorder latencies = new MethodLatencyRecorder();
+        LoggingAspect sut = new LoggingAspect(latencies, Integer.MAX_VALUE, 60_000, new AsyncLogWriter(logger, 0));
+        ProceedingJoinPoint ok = joinPoint();
+        given(ok.proceed()).willReturn("ok");
+        ProceedingJoinPoint failing = joinPoint();
+        given(failing.proceed()).willThrow(new IllegalStateException("boom"));
+
+        //when
+        for (int i = 0; i < 100; i++) sut.around(ok);
+        assertThatThrownBy(() -> sut.around(failing)).isInstanceOf(IllegalStateException.class);
+
+        //then
+        then(logger).should(never()).info(anyString(), any(Object[].class));
+        then(logger).should().warn(anyString(), any(Object[].class));
+        assertThat(latencies.total().get(0).getCount()).isEqualTo(101); // 기록은 로그와 상관없이 전부
+    }
+
+    @Test
+    void 느린_호출은_샘플링과_상관없이_로그() throws Throwable {
+        LoggingAspect sut = new LoggingAspect(new MethodLatencyRecorder(), Integer.MAX_VALUE, 0, new AsyncLogWriter(logger, 0));
+        ProceedingJoinPoint pjp = joinPoint();
+        given(pjp.proceed()).willReturn("ok");
+
+        sut.around(pjp);
+        sut.around(pjp);
+
+        then(logger).should(times(2)).info(eq("[AOP] {} took={}ms traceId={} args={} resultType={}"), any(Object[].class));
+    }
+
+    @Test
+    void 비동기_기록기는_닫을때_남은_레코드를_모두_찍는다() {
+        AsyncLogWriter writer = new AsyncLogWriter(logger, 1_000);
+
+        for (int i = 0; i < 500; i++) writer.info("trace-" + i, "[AOP] n={}", i);
+        writer.close();
+
+        then(logger).should(timeout(1_000).times(500)).info(eq("[AOP] n={}"), any(Object[].class));
+        assertThat(writer.dropped()).isZero();
+    }
+
+    private static ProceedingJoinPoint joinPoint() throws NoSuchMethodException {
+        ProceedingJoinPoint pjp = mock(ProceedingJoinPoint.class);
+        MethodSignature sig = mock(MethodSignature.class);
+        given(pjp.getSignature()).willReturn(sig);
+        given(sig.getMethod()).willReturn(login());
+        given(sig.getDeclaringType()).willReturn(Target.class);
+        given(pjp.getArgs()).willReturn(new Object[]{1L, "secret", List.of()});
+        return pjp;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.solwith.aop;
+
+import com.example.solwith.dto.LatencyStats;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+//목표: 히스토그램 백분위 정확도 / 구간 스냅샷 / 기록 경로 무할당 검증 (스프링 컨테이너 X)
+public class MethodLatencyRecorderTest {
+    AtomicLong now = new AtomicLong();
+    MethodLatencyRecorder sut = new MethodLatencyRecorder(now::get);
+
+    static Method method(String name) throws NoSuchMethodException {
+        return String.class.getMethod(name);
+    }
+
+    @Test
+    void 백분위는_상대오차_3퍼센트_이내() throws Exception {
+        //given: 1µs ~ 10ms 균등 분포
+        Method m = method("length");
+        for (long us = 1; us <= 10_000; us++) sut.record(m, TimeUnit.MICROSECONDS.toNanos(us));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+        //when
+        LatencyStats s = sut.total().get(0);
+
+        //then
+        assertThat(s.getMethod()).isEqualTo("String.length");
+        assertThat(s.getCount()).isEqualTo(10_000);
+        assertThat(s.getPerSecond()).isEqualTo(5_000.0);
+        assertThat(s.getP50Us()).isCloseTo(5_000, within(150.0));
+        assertThat(s.getP90Us()).isCloseTo(9_000, within(270.0));
+        assertThat(s.getP99Us()).isCloseTo(9_900, within(300.0));
+        assertThat(s.getMaxUs()).isCloseTo(10_000, within(300.0));
+    }
+
+    @Test
+    void 칸_경계값은_자기_칸의_상한_이하() {
+        for (long v : new long[]{0, 1, 63, 64, 65, 1000, 123_456_789L, LatencyHistogram.MAX_VALUE}) {
+            int i = LatencyHistogram.index(v);
+            assertThat(i).isBetween(0, LatencyHistogram.LENGTH - 1);
+            assertThat(LatencyHistogram.highestValueAt(i)).isGreaterThanOrEqualTo(v);
+            if (i > 0) assertThat(LatencyHistogram.highestValueAt(i - 1)).isLessThan(v);
+        }
+        assertThat(LatencyHistogram.index(Long.MAX_VALUE)).isEqualTo(LatencyHistogram.LENGTH - 1); // 범위 밖은 마지막 칸
+    }
+
+    @Test
+    void 구간_스냅샷은_지난_조회_이후만() throws Exception {
+        Method a = method("length"), b = method("isEmpty");
+        for (int i = 0; i < 100; i++) sut.record(a, 1_000);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(sut.interval()).extracting(LatencyStats::getCount).containsExactly(100L);
+
+        for (int i = 0; i < 30; i++) sut.record(b, 2_000);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        List<LatencyStats> second = sut.interval();
+
+        assertThat(second).extracting(LatencyStats::getMethod).containsExactly("String.isEmpty", "String.length");
+        assertThat(second).extracting(LatencyStats::getCount).containsExactly(30L, 0L);
+        assertThat(sut.total()).extracting(LatencyStats::getCount).containsExactly(30L, 100L);
+    }
+
+    @Test
+    void 여러_스레드_기록이_합쳐진다() throws Exception {
+        Method m = method("length");
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> { for (int i = 0; i < 10_000; i++) sut.record(m, i); });
+            threads[t].start();
+        }
+        for (Thread t : threads) t.join();
+
+        assertThat(sut.total().get(0).getCount()).isEqualTo(40_000);
+    }
+
+    @Test
+    void 끝난_스레드의_기록자는_합쳐지고_목록에서_빠진다() throws Exception {
+        //given: 스레드를 계속 갈아 치우는 풀처럼 짧게 살다 끝나는 스레드 50개
+        Method m = method("length");
+        for (int t = 0; t < 50; t++) {
+            Thread worker = new Thread(() -> { for (int i = 0; i < 100; i++) sut.record(m, i); });
+            worker.start();
+            worker.join();
+        }
+
+        //when & then: 기록은 그대로 남고, 끝난 스레드의 기록자는 남지 않는다
+        assertThat(sut.total().get(0).getCount()).isEqualTo(5_000);
+        assertThat(sut.recorders()).isZero();
+
+        //when: 정리 후에도 새 기록과 구간 계산이 이어진다
+        sut.record(m, 1);
+        assertThat(sut.interval().get(0).getCount()).isEqualTo(5_001);
+        assertThat(sut.recorders()).isEqualTo(1);
+    }
+
+    @Test
+    void 기록_경로는_할당하지_않는다() throws Exception {
+        //given: 처음 한 번은 스레드 기록자를 만든다
+        Method m = method("length");
+        for (int i = 0; i < 20_000; i++) sut.record(m, i);
+        var mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().getId();
+
+        //when
+        long before = mx.getThreadAllocatedBytes(tid);
+        for (int i = 0; i < 100_000; i++) sut.record(m, i * 31L);
+        long allocated = mx.getThreadAllocatedBytes(tid) - before;
+
+        //then
+        assertThat(allocated).isLessThan(1_000); // 측정 호출 자체의 몇 바이트 정도만
+    }
+}
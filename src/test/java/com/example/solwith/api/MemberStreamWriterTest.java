@@ -0,0 +1,77 @@
+package com.example.solwith.api;
+
+import com.example.solwith.common.BadRequestException;
+import com.example.solwith.controller.MemberStreamWriter;
+import com.example.solwith.domain.Member;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+//목표: 스트리밍 내보내기 포맷이 NDJSON / JSON 배열로 올바르게 나오는지 (스프링 컨테이너 X)
+public class MemberStreamWriterTest {
+    ObjectMapper om = new ObjectMapper();
+    MemberStreamWriter writer = new MemberStreamWriter(om.getFactory());
+
+    private List<Member> members() {
+        Member a = new Member("홍길동");
+        a.setId(1L);
+        Member b = new Member("say \"hi\"");
+        b.setId(2L);
+        return List.of(a, b);
+    }
+
+    @Test
+    void NDJSON_은_한줄에_한명() throws Exception {
+        //given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        long n = writer.write(members().iterator(), MemberStreamWriter.Format.NDJSON, out);
+
+        //then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(n).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(om.readTree(lines[0]).get("name").asText()).isEqualTo("홍길동");
+        assertThat(om.readTree(lines[1]).get("name").asText()).isEqualTo("say \"hi\"");
+    }
+
+    @Test
+    void ARRAY_는_JSON_배열로_파싱된다() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        writer.write(members().iterator(), MemberStreamWriter.Format.ARRAY, out);
+
+        var tree = om.readTree(out.toByteArray());
+        assertThat(tree.isArray()).isTrue();
+        assertThat(tree.get(1).get("id").asLong()).isEqualTo(2L);
+    }
+
+    @Test
+    void 큰_id_용_설정이면_id_를_문자열로_쓴다() throws Exception {
+        //given: snowflake 처럼 2^53 을 넘는 id
+        Member big = new Member("홍길동");
+        big.setId((1L << 53) + 1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        new MemberStreamWriter(om.getFactory(), true).write(List.of(big).iterator(), MemberStreamWriter.Format.NDJSON, out);
+
+        //then
+        var id = om.readTree(out.toString(StandardCharsets.UTF_8).trim()).get("id");
+        assertThat(id.isTextual()).isTrue();
+        assertThat(id.asText()).isEqualTo(Long.toString((1L << 53) + 1));
+    }
+
+    @Test
+    void 알수없는_포맷은_거절() {
+        assertThat(MemberStreamWriter.Format.from(" Array ")).isEqualTo(MemberStreamWriter.Format.ARRAY);
+        assertThatThrownBy(() -> MemberStreamWriter.Format.from("csv")).isInstanceOf(BadRequestException.class);
+    }
+}
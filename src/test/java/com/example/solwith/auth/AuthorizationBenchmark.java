@@ -0,0 +1,52 @@
+package com.example.solwith.auth;
+
+import com.example.solwith.common.Benchmark;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.util.function.IntSupplier;
+
+import static com.example.solwith.common.BenchmarkSupport.nanosPerOp;
+import static com.example.solwith.common.BenchmarkSupport.report;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @PreAuthorize 판정 비용 비교: SpEL(역할 계층 포함) / 컴파일한 비트 판정.
+ * 평소에는 건너뛴다 → ./gradlew test -Dbenchmark=true --tests '*AuthorizationBenchmark'
+ */
+@Benchmark
+public class AuthorizationBenchmark {
+    static final int N = 1_000_000;
+
+    static class Target {
+        @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')") public void findOne() {}
+    }
+
+    @Test
+    void 권한판정_SpEL_vs_컴파일() throws Exception {
+        var spel = new PreAuthorizeAuthorizationManager();
+        spel.setExpressionHandler(MethodSecurityConfig.methodSecurityExpressionHandler(MethodSecurityConfig.roleHierarchy()));
+        var compiled = new CompiledPreAuthorizeManager(MethodSecurityConfig.HIERARCHY, spel);
+        MethodInvocation mi = new SimpleMethodInvocation(new Target(), Target.class.getMethod("findOne"));
+        Authentication admin = UsernamePasswordAuthenticationToken.authenticated("kim", null,
+                AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+        assertThat(spel.authorize(() -> admin, mi).isGranted()).isTrue(); // 두 판정이 같은 결과인지 먼저 확인
+        assertThat(compiled.authorize(() -> admin, mi).isGranted()).isTrue();
+
+        long spelNs = nanosPerOp(N, granted(spel, mi, admin));
+        long compiledNs = nanosPerOp(N, granted(compiled, mi, admin));
+
+        report("Authz", "spel", spelNs + "ns", "compiled", compiledNs + "ns");
+    }
+
+    private static IntSupplier granted(AuthorizationManager<MethodInvocation> manager, MethodInvocation mi, Authentication auth) {
+        return () -> manager.authorize(() -> auth, mi).isGranted() ? 1 : 0;
+    }
+}
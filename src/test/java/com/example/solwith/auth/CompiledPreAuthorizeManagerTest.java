@@ -0,0 +1,128 @@
+package com.example.solwith.auth;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//목표: 컴파일한 판정이 SpEL(역할 계층 포함) 판정과 항상 같은지 (스프링 컨테이너 X)
+public class CompiledPreAuthorizeManagerTest {
+
+    static class Target {
+        @PreAuthorize("hasAnyRole('MANGER', 'ADMIN')") public void findOne() {}
+        @PreAuthorize("hasRole('MANAGER')") public void manager() {}
+        @PreAuthorize("hasRole('ROLE_USER')") public void user() {}
+        @PreAuthorize("isAuthenticated()") public void update() {}
+        @PreAuthorize("isAnonymous() or hasAuthority('SCOPE_read')") public void anonymousOrScope() {}
+        @PreAuthorize("hasRole('USER') and !hasRole('ADMIN')") public void userOnly() {}
+        @PreAuthorize("(hasRole('USER') || hasAnyAuthority('SCOPE_read', 'SCOPE_write')) && not hasRole('MANAGER')") public void mixed() {}
+        @PreAuthorize("permitAll") public void open() {}
+        @PreAuthorize("denyAll") public void closed() {}
+        public void plain() {}
+    }
+
+    static final String[] METHODS = {"findOne", "manager", "user", "update", "anonymousOrScope", "userOnly", "mixed", "open", "closed"};
+
+    PreAuthorizeAuthorizationManager spel = spel();
+    CompiledPreAuthorizeManager sut = new CompiledPreAuthorizeManager(MethodSecurityConfig.HIERARCHY, spel);
+
+    @Test
+    void 모든_역할_조합에서_SpEL과_같은_판정() throws Exception {
+        //given
+        List<Authentication> users = users();
+
+        for (String name : METHODS) {
+            MethodInvocation mi = invocation(name);
+            for (Authentication user : users) {
+                //when
+                AuthorizationResult expected = spel.authorize(() -> user, mi);
+                AuthorizationResult actual = sut.authorize(() -> user, mi);
+
+                //then
+                assertThat(actual.isGranted())
+                        .as("%s / %s", name, user.getAuthorities())
+                        .isEqualTo(expected.isGranted());
+            }
+        }
+    }
+
+    @Test
+    void 계층_상위_역할은_하위_역할_규칙을_통과() throws Exception {
+        Authentication admin = authenticated("ROLE_ADMIN");
+        Authentication user = authenticated("ROLE_USER");
+
+        assertThat(sut.authorize(() -> admin, invocation("manager")).isGranted()).isTrue();
+        assertThat(sut.authorize(() -> admin, invocation("user")).isGranted()).isTrue();
+        assertThat(sut.authorize(() -> user, invocation("manager")).isGranted()).isFalse();
+    }
+
+    @Test
+    void 어노테이션이_없으면_판정하지_않는다() throws Exception {
+        assertThat(sut.authorize(() -> authenticated("ROLE_ADMIN"), invocation("plain"))).isNull();
+    }
+
+    @Test
+    void 지원하지_않는_식만_SpEL로_넘긴다() throws Exception {
+        //given
+        AtomicInteger delegated = new AtomicInteger();
+        AuthorizationManager<MethodInvocation> counting = (auth, mi) -> {
+            delegated.incrementAndGet();
+            return spel.check(auth, mi);
+        };
+        CompiledPreAuthorizeManager manager = new CompiledPreAuthorizeManager(MethodSecurityConfig.HIERARCHY, counting);
+        Authentication kim = authenticated("ROLE_USER");
+
+        //when
+        manager.authorize(() -> kim, invocation("update"));
+        manager.authorize(() -> kim, new SimpleMethodInvocation(new Owned(), Owned.class.getMethod("byName", String.class), "kim"));
+
+        //then
+        assertThat(delegated).hasValue(1);
+    }
+
+    static class Owned {
+        @PreAuthorize("#name == authentication.name") public void byName(String name) {}
+    }
+
+    private static PreAuthorizeAuthorizationManager spel() {
+        var manager = new PreAuthorizeAuthorizationManager();
+        manager.setExpressionHandler(MethodSecurityConfig.methodSecurityExpressionHandler(MethodSecurityConfig.roleHierarchy()));
+        return manager;
+    }
+
+    private static MethodInvocation invocation(String name) throws NoSuchMethodException {
+        Method method = Target.class.getMethod(name);
+        return new SimpleMethodInvocation(new Target(), method);
+    }
+
+    // 익명 + 권한 없음/단일/복수 조합 (계층 밖 권한 포함)
+    private static List<Authentication> users() {
+        String[] authorities = {"ROLE_ADMIN", "ROLE_MANAGER", "ROLE_USER", "ROLE_MANGER", "SCOPE_read"};
+        List<Authentication> users = new ArrayList<>();
+        users.add(new AnonymousAuthenticationToken("key", "anonymous", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+        for (int set = 0; set < 1 << authorities.length; set++) {
+            List<String> held = new ArrayList<>();
+            for (int i = 0; i < authorities.length; i++) if ((set & 1 << i) != 0) held.add(authorities[i]);
+            users.add(authenticated(held.toArray(String[]::new)));
+        }
+        return users;
+    }
+
+    private static Authentication authenticated(String... authorities) {
+        return UsernamePasswordAuthenticationToken.authenticated("kim", null, AuthorityUtils.createAuthorityList(authorities));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.solwith.auth;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+//목표: 검증된 토큰 캐시가 만료/위조 토큰을 통과시키지 않는지 (스프링 컨테이너 X)
+public class JwtProviderTest {
+    static final String SECRET = "test-secret-key-that-is-at-least-32-bytes-long";
+
+    AtomicLong now = new AtomicLong(1_700_000_000_000L);
+    JwtProvider provider = new JwtProvider(SECRET, 60, 100, now::get);
+
+    @Test
+    void 같은_토큰은_두번째부터_캐시에서() {
+        //given
+        String token = provider.createToken("kim", "USER", null);
+
+        //when
+        VerifiedToken first = provider.verify(token);
+        VerifiedToken second = provider.verify(new String(token)); // 요청마다 헤더에서 새로 잘라낸 문자열
+
+        //then
+        assertThat(first.username()).isEqualTo("kim");
+        assertThat(first.role()).isEqualTo("USER");
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void 만료되면_캐시에서_빠지고_거부() {
+        String token = provider.createToken("kim", "USER", null);
+        provider.verify(token);
+
+        now.addAndGet(61_000);
+
+        assertThatThrownBy(() -> provider.verify(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void 다른_키로_서명한_토큰은_거부() {
+        provider.verify(provider.createToken("kim", "USER", null));
+        String forged = new JwtProvider("another-secret-key-that-is-at-least-32-bytes", 60, 100, now::get)
+                .createToken("kim", "ADMIN", null);
+
+        assertThatThrownBy(() -> provider.verify(forged)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void 캐시는_크기_한도를_넘지_않고_만료된_것부터_비운다() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(100, now::get);
+        for (int i = 0; i < 50; i++) cache.put("old" + i, new VerifiedToken("u", "USER", now.get() + 1_000));
+        now.addAndGet(2_000); // old* 만료
+
+        for (int i = 0; i < 500; i++) cache.put("t" + i, new VerifiedToken("u" + i, "USER", now.get() + 60_000));
+
+        assertThat(cache.size()).isLessThanOrEqualTo(100);
+        assertThat(cache.get("old0")).isNull();
+        assertThat(cache.get("t499")).isNotNull(); // 방금 넣은 것은 남아 있다
+    }
+}
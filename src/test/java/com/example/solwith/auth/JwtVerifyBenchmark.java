@@ -0,0 +1,38 @@
+package com.example.solwith.auth;
+
+import com.example.solwith.common.Benchmark;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static com.example.solwith.common.BenchmarkSupport.nanosPerOp;
+import static com.example.solwith.common.BenchmarkSupport.report;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 토큰 검증 비용 비교: 요청마다 parser 생성(예전) / parser 재사용(cold, 처음 보는 토큰) / 캐시 hit(warm).
+ * 평소에는 건너뛴다 → ./gradlew test -Dbenchmark=true --tests '*JwtVerifyBenchmark'
+ */
+@Benchmark
+public class JwtVerifyBenchmark {
+    static final int N = 200_000;
+    static final String SECRET = "benchmark-secret-key-that-is-at-least-32-bytes";
+
+    @Test
+    void 토큰_검증_cold_vs_warm() {
+        JwtProvider provider = new JwtProvider(SECRET, 3600, 10_000);
+        String token = provider.createToken("kim", "USER", Map.of("nickname", "홍길동"));
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        assertThat(provider.verify(token).username()).isEqualTo("kim"); // 세 방식이 같은 토큰을 받아들이는지 먼저 확인
+
+        long legacy = nanosPerOp(N, () -> Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload().getSubject().length());
+        long cold = nanosPerOp(N, () -> provider.parse(new String(token)).getPayload().getSubject().length());
+        long warm = nanosPerOp(N, () -> provider.verify(new String(token)).username().length()); // 요청마다 헤더에서 새로 잘라낸 문자열
+
+        report("JwtVerify", "parser-per-call", legacy + "ns", "cold(shared parser)", cold + "ns", "warm(cache hit)", warm + "ns");
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.solwith.auth;
+
+import com.example.solwith.aop.MethodLatencyRecorder;
+import com.example.solwith.common.RouteLatencyTracker;
+import com.example.solwith.common.SlowRequestSampler;
+import com.example.solwith.common.SqlStatsCollector;
+import com.example.solwith.controller.MemberApiController;
+import com.example.solwith.controller.MetricsController;
+import com.example.solwith.dto.MemberImportReport;
+import com.example.solwith.repository.MemberIdGenerator;
+import com.example.solwith.service.MemberImportService;
+import com.example.solwith.service.MemberService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//목표: 보안 필터 체인의 경로별 인가 규칙 (웹 계층만 띄운 MockMvc, 서비스는 mock)
+@WebMvcTest(controllers = {MemberApiController.class, MetricsController.class})
+@Import({SecurityConfig.class, JwtProvider.class, MethodLatencyRecorder.class, RouteLatencyTracker.class, SqlStatsCollector.class})
+public class SecurityConfigTest {
+    @Autowired MockMvc mvc;
+    @Autowired JwtProvider jwtProvider;
+
+    @MockitoBean MemberService memberService;
+    @MockitoBean MemberImportService memberImportService;
+    @MockitoBean MemberIdGenerator memberIdGenerator;
+    @MockitoBean SlowRequestSampler sampler;
+
+    @Test
+    void 일괄_등록은_ADMIN_MANAGER_만() throws Exception {
+        //given
+        given(memberImportService.importMembers(any(), any())).willReturn(new MemberImportReport(1, 1, 0, List.of()));
+
+        //when & then: 익명/일반 사용자는 거부
+        mvc.perform(post("/api/members/import").contentType("application/x-ndjson").content("{\"name\":\"a\"}\n"))
+                .andExpect(status().isForbidden());
+        mvc.perform(post("/api/members/import").with(user("u").roles("USER"))
+                        .contentType("application/x-ndjson").content("{\"name\":\"a\"}\n"))
+                .andExpect(status().isForbidden());
+
+        //then: 매니저/관리자는 통과
+        for (String role : List.of("MANAGER", "ADMIN")) {
+            mvc.perform(post("/api/members/import").with(user("m").roles(role))
+                            .contentType("application/x-ndjson").content("{\"name\":\"a\"}\n"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.imported").value(1));
+        }
+    }
+
+    @Test
+    void 베어러_토큰의_역할로_인가한다() throws Exception {
+        //given: 실제 발급한 토큰 (필터가 검증 후 SecurityContext 에 올려야 통과)
+        String admin = jwtProvider.createToken("admin", "ADMIN", null);
+        String user = jwtProvider.createToken("u", "USER", null);
+
+        //when & then
+        mvc.perform(get("/api/metrics/latency").header("Authorization", "Bearer " + admin))
+                .andExpect(status().isOk());
+        mvc.perform(get("/api/metrics/latency").header("Authorization", "Bearer " + user))
+                .andExpect(status().isForbidden());
+        mvc.perform(get("/api/metrics/latency").header("Authorization", "Bearer broken.token.value"))
+                .andExpect(status().isUnauthorized());
+    }
+}
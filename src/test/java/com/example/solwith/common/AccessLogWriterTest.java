@@ -0,0 +1,120 @@
+package com.example.solwith.common;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//목표: 링 버퍼가 가득 차면 기다리지 않고 버리는지, 기록 스레드가 순서대로 파일에 쓰고 크기로 나누는지 (스프링 컨테이너 X)
+public class AccessLogWriterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void 링이_가득_차면_버리고_개수만_센다() {
+        //given
+        AccessLogRing ring = new AccessLogRing(4);
+
+        //when: 소비자 없이 6건
+        int accepted = 0;
+        for (int i = 0; i < 6; i++) {
+            if (ring.publish(i, "[Time]OK", "GET", "/api/members/" + i, null, 200, 1, "t" + i, 0, 0, "ua", -1, 0, 0)) accepted++;
+        }
+
+        //then
+        assertThat(accepted).isEqualTo(4);
+        assertThat(ring.dropped()).isEqualTo(2);
+        List<String> uris = new ArrayList<>();
+        assertThat(ring.drain(e -> uris.add(e.uri), 100)).isEqualTo(4);
+        assertThat(uris).containsExactly("/api/members/0", "/api/members/1", "/api/members/2", "/api/members/3");
+
+        // 비운 뒤에는 다시 받는다
+        assertThat(ring.publish(9, "[Time]OK", "GET", "/again", null, 200, 1, "t", 0, 0, "ua", -1, 0, 0)).isTrue();
+    }
+
+    @Test
+    void 닫으면_남은_이벤트까지_한_줄씩_파일에_쓴다() throws Exception {
+        //given
+        AccessLogWriter writer = new AccessLogWriter(dir, 1024, 1 << 20, 3);
+
+        //when
+        for (int i = 0; i < 100; i++) {
+            writer.publish(System.currentTimeMillis(), "[Time]OK", "GET", "/api/members/" + i, i == 0 ? "q=kim" : null,
+                    200, 3, "trace-" + i, 0, 512, "curl");
+        }
+        writer.close();
+
+        //then
+        List<String> lines = Files.readAllLines(dir.resolve("access.log"), StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(100);
+        assertThat(lines.get(0)).endsWith("[[Time]OK] GET /api/members/0?q=kim -> 200 (3 ms) traceId=trace-0 reqB=0B resB=512B ua=curl");
+        assertThat(lines.get(99)).contains("/api/members/99 ", "traceId=trace-99");
+        assertThat(writer.publish(0, "[Time]OK", "GET", "/", null, 200, 0, "t", 0, 0, "ua")).isFalse(); // 닫힌 뒤엔 안 받는다
+    }
+
+    @Test
+    void 여러_스레드가_동시에_넣어도_쓰인_줄과_버린_수의_합이_맞다() throws Exception {
+        //given: 일부러 작은 링
+        AccessLogWriter writer = new AccessLogWriter(dir, 64, 1L << 30, 3);
+        int threads = 8, perThread = 5_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong accepted = new AtomicLong();
+
+        //when
+        for (int t = 0; t < threads; t++) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    if (writer.publish(System.currentTimeMillis(), "[Time]OK", "GET", "/api/members", null, 200, 1, "t", 0, 0, "ua")) {
+                        accepted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        writer.close();
+
+        //then
+        List<String> lines = Files.readAllLines(dir.resolve("access.log"), StandardCharsets.UTF_8);
+        long written = lines.stream().filter(l -> l.contains("GET /api/members")).count();
+        long reportedDrops = lines.stream().filter(l -> l.contains("[AccessLog] dropped"))
+                .mapToLong(l -> Long.parseLong(l.replaceAll(".*dropped (\\d+) events.*", "$1"))).sum();
+        assertThat(written).isEqualTo(accepted.get());
+        assertThat(written + writer.dropped()).isEqualTo((long) threads * perThread);
+        assertThat(reportedDrops).isEqualTo(writer.dropped());
+    }
+
+    @Test
+    void 파일이_한도를_넘으면_나누고_최근_것만_남긴다() throws Exception {
+        //given: 파일당 약 1KB
+        AccessLogWriter writer = new AccessLogWriter(dir, 8, 1024, 2); // 한 묶음(최대 8줄)이 파일 한도보다 작게
+
+        //when: 묶음이 여러 번 나뉘어 쓰이도록 조금씩
+        for (int i = 0; i < 60; i++) {
+            while (!writer.publish(System.currentTimeMillis(), "[Time]OK", "GET", "/api/members/" + i, null, 200, 1, "t", 0, 0, "ua")) {
+                Thread.onSpinWait();
+            }
+        }
+        writer.close();
+
+        //then
+        assertThat(writer.archives()).hasSizeBetween(1, 2);
+        assertThat(Files.size(dir.resolve("access.log"))).isLessThanOrEqualTo(1024);
+    }
+}
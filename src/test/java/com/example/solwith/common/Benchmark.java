@@ -0,0 +1,18 @@
+package com.example.solwith.common;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 벤치마크 테스트 표시. 평소에는 건너뛰고 -Dbenchmark=true 일 때만 돈다 (build.gradle 이 시스템 속성을 넘긴다)
+ * → ./gradlew test -Dbenchmark=true --tests '*XxxBenchmark'
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public @interface Benchmark {
+}
@@ -0,0 +1,47 @@
+package com.example.solwith.common;
+
+import java.util.function.IntSupplier;
+
+/**
+ * 벤치마크 공용 측정 도구 (@Benchmark 테스트에서 사용).
+ * - 결과는 숫자로 찍기만 한다: 벽시계 시간은 머신/부하에 따라 흔들리므로 "A 가 B 보다 빠르다" 같은 단언은 하지 않는다
+ * - 정확성(같은 결과를 내는지)은 측정 전에 한 번 따로 확인한다
+ */
+public final class BenchmarkSupport {
+    private static volatile long blackhole; // 결과를 어딘가에 써서 JIT 가 루프를 지우지 않게
+
+    private BenchmarkSupport() {
+    }
+
+    /** 같은 횟수만큼 워밍업(JIT) 후 n 번 실행한 평균 ns. op 의 반환값은 버리지 않고 모은다 */
+    public static long nanosPerOp(int n, IntSupplier op) {
+        long sink = 0;
+        for (int i = 0; i < n; i++) sink += op.getAsInt();
+        long start = System.nanoTime();
+        for (int i = 0; i < n; i++) sink += op.getAsInt();
+        long elapsed = System.nanoTime() - start;
+        blackhole += sink;
+        return elapsed / n;
+    }
+
+    /** GC 를 몇 번 돌린 뒤의 사용 중인 힙 (바이트) */
+    public static long usedHeapAfterGc() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    /** "[이름] k=v k=v" 한 줄로 결과를 찍는다 (값 쌍: 이름, 값, 이름, 값 ...) */
+    public static void report(String name, Object... pairs) {
+        StringBuilder line = new StringBuilder("[").append(name).append(']');
+        for (int i = 0; i + 1 < pairs.length; i += 2) line.append(' ').append(pairs[i]).append('=').append(pairs[i + 1]);
+        System.out.println(line);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.solwith.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+//목표: 토큰 버킷 한도/충전/키 분리/메모리 상한 검증 (스프링 컨테이너 X)
+public class RateLimitFilterTest {
+    AtomicLong now = new AtomicLong(1_000_000_000L);
+    ObjectMapper om = new ObjectMapper().findAndRegisterModules(); // ApiResponse.timestamp(LocalDateTime)
+
+    RateLimitFilter filter(String rules, int maxBuckets) {
+        // 테스트용 토큰: "token-<이름>" 이면 그 사용자, 아니면 잘못된 토큰
+        return new RateLimitFilter(RateLimitFilter.Rule.parse(rules),
+                token -> token.startsWith("token-") ? token.substring(6) : null, maxBuckets, om, now::get);
+    }
+
+    @Test
+    void 버스트를_넘으면_429와_Retry_After() throws Exception {
+        //given: 초당 1개, 버스트 3
+        RateLimitFilter sut = filter("/api/members/** 1 3 ip", 1000);
+
+        //when
+        int[] statuses = new int[4];
+        for (int i = 0; i < 4; i++) statuses[i] = call(sut, "GET", "/api/members/1", "10.0.0.1", null).getStatus();
+        MockHttpServletResponse rejected = call(sut, "GET", "/api/members/1", "10.0.0.1", null);
+
+        //then
+        assertThat(statuses).containsExactly(200, 200, 200, 429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        JsonNode body = om.readTree(rejected.getContentAsString());
+        assertThat(body.get("status").asInt()).isEqualTo(429);
+        assertThat(body.get("path").asText()).isEqualTo("/api/members/1");
+        assertThat(body.get("errors").get(0).get("reason").asText()).isEqualTo("RATE_LIMITED");
+    }
+
+    @Test
+    void 시간이_지나면_충전된_만큼만_다시_허용() throws Exception {
+        RateLimitFilter sut = filter("/api/** 2 2 ip", 1000);
+        call(sut, "GET", "/api/members", "10.0.0.1", null);
+        call(sut, "GET", "/api/members", "10.0.0.1", null);
+        assertThat(call(sut, "GET", "/api/members", "10.0.0.1", null).getStatus()).isEqualTo(429);
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500)); // 0.5초 → 토큰 1개
+
+        assertThat(call(sut, "GET", "/api/members", "10.0.0.1", null).getStatus()).isEqualTo(200);
+        assertThat(call(sut, "GET", "/api/members", "10.0.0.1", null).getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void 사용자마다_버킷이_따로고_잘못된_토큰은_IP로_센다() throws Exception {
+        RateLimitFilter sut = filter("/api/members/** 1 1 user", 1000);
+
+        assertThat(call(sut, "GET", "/api/members/1", "10.0.0.1", "token-kim").getStatus()).isEqualTo(200);
+        assertThat(call(sut, "GET", "/api/members/1", "10.0.0.1", "token-lee").getStatus()).isEqualTo(200); // 같은 IP, 다른 사용자
+        assertThat(call(sut, "GET", "/api/members/1", "10.0.0.2", "token-kim").getStatus()).isEqualTo(429); // 다른 IP, 같은 사용자
+        assertThat(call(sut, "GET", "/api/members/1", "10.0.0.1", "forged").getStatus()).isEqualTo(200);
+        assertThat(call(sut, "GET", "/api/members/1", "10.0.0.1", null).getStatus()).isEqualTo(429);    // 위와 같은 IP 버킷
+    }
+
+    @Test
+    void 첫_일치_규칙만_적용되고_route_키는_모두가_공유() throws Exception {
+        RateLimitFilter sut = filter("POST /api/members/import 1 1 route; /api/members/** 100 100 ip", 1000);
+
+        assertThat(call(sut, "POST", "/api/members/import", "10.0.0.1", null).getStatus()).isEqualTo(200);
+        assertThat(call(sut, "POST", "/api/members/import", "10.0.0.2", null).getStatus()).isEqualTo(429);
+        assertThat(call(sut, "GET", "/api/members/import", "10.0.0.2", null).getStatus()).isEqualTo(200); // 메서드가 다르면 다음 규칙
+        assertThat(call(sut, "GET", "/health", "10.0.0.2", null).getStatus()).isEqualTo(200);             // 규칙 없음
+    }
+
+    @Test
+    void 동시에_몰려도_버스트_만큼만_통과() throws Exception {
+        //given
+        RateLimitFilter sut = filter("/api/** 1 50 route", 1000);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger ok = new AtomicInteger();
+
+        //when
+        for (int i = 0; i < 400; i++) {
+            pool.submit(() -> {
+                start.await();
+                if (call(sut, "GET", "/api/members", "10.0.0.1", null).getStatus() == 200) ok.incrementAndGet();
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        //then
+        assertThat(ok).hasValue(50);
+    }
+
+    @Test
+    void 버킷_수는_상한을_넘지_않는다() throws Exception {
+        RateLimitFilter sut = filter("/api/** 10 10 ip", 256);
+
+        for (int i = 0; i < 5000; i++) call(sut, "GET", "/api/members", "10.0." + (i / 256) + "." + (i % 256), null);
+
+        assertThat(sut.bucketCount()).isLessThanOrEqualTo(256);
+    }
+
+    @Test
+    void 규칙_형식이_틀리면_기동_시_실패() {
+        assertThatThrownBy(() -> RateLimitFilter.Rule.parse("/api/** 10")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RateLimitFilter.Rule.parse("/api/** 0 10")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(RateLimitFilter.Rule.parse(" ")).isEmpty();
+    }
+
+    private static MockHttpServletResponse call(RateLimitFilter sut, String method, String uri, String ip, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(ip);
+        if (token != null) request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        sut.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
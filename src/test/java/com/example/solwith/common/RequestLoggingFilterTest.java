@@ -0,0 +1,99 @@
+package com.example.solwith.common;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//목표: 카운팅 래퍼가 본문을 쌓지 않고 흘려 보내면서 바이트 수만 세는지 (스프링 컨테이너 X)
+public class RequestLoggingFilterTest {
+
+    @Test
+    void 응답은_즉시_실제_응답으로_흘러가고_크기만_센다() throws Exception {
+        //given
+        MockHttpServletResponse real = new MockHttpServletResponse();
+        CountingResponseWrapper sut = new CountingResponseWrapper(real, null);
+
+        //when
+        sut.getOutputStream().write("hello".getBytes(StandardCharsets.UTF_8));
+
+        //then: 필터가 끝나기 전에 이미 실제 응답에 있다 (복사 단계 없음)
+        assertThat(real.getContentAsString()).isEqualTo("hello");
+        assertThat(sut.count()).isEqualTo(5);
+    }
+
+    @Test
+    void writer_로_쓴_한글은_UTF8_바이트로_센다() throws Exception {
+        MockHttpServletResponse real = new MockHttpServletResponse();
+        real.setCharacterEncoding("UTF-8");
+        CountingResponseWrapper sut = new CountingResponseWrapper(real, null);
+
+        sut.getWriter().write("홍길동 ok 😀");
+        sut.getWriter().flush();
+
+        assertThat(sut.count()).isEqualTo("홍길동 ok 😀".getBytes(StandardCharsets.UTF_8).length);
+        assertThat(real.getContentAsString()).isEqualTo("홍길동 ok 😀");
+    }
+
+    @Test
+    void writer_로_쓴_샘플은_응답_문자셋으로_읽힌다() throws Exception {
+        //given: UTF-8 이 아닌 문자셋
+        MockHttpServletResponse real = new MockHttpServletResponse();
+        real.setCharacterEncoding("EUC-KR");
+        CountingResponseWrapper sut = new CountingResponseWrapper(real, new BodySample(64));
+
+        //when
+        sut.getWriter().write("홍길동 ok");
+        sut.getWriter().flush();
+
+        //then: 로그에 찍을 때와 같은 방식(sample.text(charset))으로 읽어도 깨지지 않는다
+        assertThat(sut.sample().text(sut.charset())).isEqualTo("홍길동 ok");
+    }
+
+    @Test
+    void 요청_본문은_읽힌_만큼만_센다() throws Exception {
+        MockHttpServletRequest real = new MockHttpServletRequest("POST", "/api/members");
+        real.setContent("{\"name\":\"kim\"}".getBytes(StandardCharsets.UTF_8));
+        CountingRequestWrapper sut = new CountingRequestWrapper(real, null);
+
+        String body = sut.getReader().readLine();
+
+        assertThat(body).isEqualTo("{\"name\":\"kim\"}");
+        assertThat(sut.count()).isEqualTo(14);
+    }
+
+    @Test
+    void 샘플_복사는_한도까지만() throws Exception {
+        MockHttpServletResponse real = new MockHttpServletResponse();
+        CountingResponseWrapper sut = new CountingResponseWrapper(real, new BodySample(4));
+
+        sut.getOutputStream().write("abcdefgh".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(sut.sample().text(StandardCharsets.UTF_8)).isEqualTo("abcd...(trunc)");
+        assertThat(sut.count()).isEqualTo(8);
+        assertThat(real.getContentAsString()).isEqualTo("abcdefgh");
+    }
+
+    @Test
+    void 필터를_거쳐도_본문과_상태는_그대로() throws Exception {
+        //given
+        RequestLoggingFilter filter = new RequestLoggingFilter(1, 16, null, null, null); // 매 요청 샘플링, 접근 로그/경로/SQL 집계 없이
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/members");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        filter.doFilter(request, response, (req, res) -> {
+            ((HttpServletResponse) res).setStatus(201);
+            res.getOutputStream().write(new byte[10_000]);
+            assertThat(response.getContentAsByteArray()).hasSize(10_000); // 체인 안에서 이미 실제 응답에 쓰였다
+        });
+
+        //then
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getContentAsByteArray()).hasSize(10_000);
+    }
+}
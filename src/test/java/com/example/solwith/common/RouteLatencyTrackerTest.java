@@ -0,0 +1,108 @@
+package com.example.solwith.common;
+
+import com.example.solwith.dto.RouteLatencyStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+//목표: 경로별 백분위/구간, 지난 창 p99 로 느림 기준 갱신, 느린 요청 스레드 스택 샘플 (스프링 컨테이너 X)
+public class RouteLatencyTrackerTest {
+    static final String ROUTE = "GET /api/members/{id}";
+
+    AtomicLong now = new AtomicLong(1_000_000_000L);
+    RouteLatencyTracker sut = new RouteLatencyTracker(700, 5, 100, 60, now::get);
+
+    static long ms(long ms) {
+        return TimeUnit.MILLISECONDS.toNanos(ms);
+    }
+
+    @Test
+    void 처음엔_고정_기준_창이_지나면_그_경로의_p99() {
+        //given: 1ms ~ 100ms 균등
+        for (int i = 1; i <= 100; i++) assertThat(sut.record(ROUTE, ms(i))).isFalse(); // 처음 기준은 700ms
+        assertThat(sut.record(ROUTE, ms(800))).isTrue();
+
+        //when
+        now.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        sut.roll();
+
+        //then: p99 ≈ 100ms (약 3% 오차)
+        assertThat(sut.slowNanos(ROUTE) / 1e6).isCloseTo(100, within(4.0));
+        assertThat(sut.record(ROUTE, ms(50))).isFalse();
+        assertThat(sut.record(ROUTE, ms(200))).isTrue();
+        assertThat(sut.slowNanos("GET /other")).isEqualTo(ms(700)); // 기록 없는 경로는 고정 기준
+    }
+
+    @Test
+    void 표본이_적은_창은_기준을_바꾸지_않고_최소값_아래로_내려가지_않는다() {
+        for (int i = 0; i < 10; i++) sut.record(ROUTE, ms(1));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        sut.roll();
+        assertThat(sut.slowNanos(ROUTE)).isEqualTo(ms(700)); // 10건 < min-samples
+
+        for (int i = 0; i < 1000; i++) sut.record(ROUTE, 100_000); // 0.1ms
+        now.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        sut.roll();
+        assertThat(sut.slowNanos(ROUTE)).isEqualTo(ms(5)); // p99 0.1ms → slow-min-ms
+    }
+
+    @Test
+    void 구간_통계는_지난_조회_이후만() {
+        for (int i = 0; i < 100; i++) sut.record(ROUTE, ms(2));
+        sut.record(ROUTE, ms(900));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        RouteLatencyStats first = sut.interval().get(0);
+        assertThat(first.getRoute()).isEqualTo(ROUTE);
+        assertThat(first.getCount()).isEqualTo(101);
+        assertThat(first.getSlowCount()).isEqualTo(1);
+        assertThat(first.getP50Ms()).isCloseTo(2, within(0.1));
+        assertThat(first.getSlowThresholdMs()).isEqualTo(700.0);
+
+        sut.record(ROUTE, ms(3));
+        assertThat(sut.interval().get(0).getCount()).isEqualTo(1);
+        assertThat(sut.total().get(0).getCount()).isEqualTo(102);
+    }
+
+    @Test
+    void 락을_기다리는_느린_요청의_스택을_경로별로_모은다() throws Exception {
+        //given: 요청 스레드가 다른 스레드가 쥔 락에 막혀 있다
+        RouteLatencyTracker tracker = new RouteLatencyTracker(700, 5, 100, 60, System::nanoTime);
+        SlowRequestSampler sampler = new SlowRequestSampler(tracker, 0, 100, 128, false);
+        Object lock = new Object();
+        CountDownLatch entered = new CountDownLatch(1);
+        Thread request;
+        synchronized (lock) {
+            request = new Thread(() -> {
+                RouteLatencyTracker.InFlight f = tracker.begin(System.nanoTime() - ms(10_000)); // 이미 10초째
+                tracker.resolved(ROUTE);
+                entered.countDown();
+                synchronized (lock) {
+                    tracker.end(f);
+                }
+            });
+            request.start();
+            entered.await();
+            while (request.getState() != Thread.State.BLOCKED) Thread.onSpinWait();
+
+            //when
+            int sampled = sampler.sampleOnce();
+
+            //then
+            assertThat(sampled).isEqualTo(1);
+        }
+        request.join();
+
+        String profile = sampler.collapsed(ROUTE);
+        assertThat(profile).startsWith(ROUTE + ";");
+        assertThat(profile).contains("RouteLatencyTrackerTest.lambda$", ";[BLOCKED on java.lang.Object] 1");
+        assertThat(sampler.sampleOnce()).isZero(); // 끝난 요청은 후보가 아니다
+        sampler.reset();
+        assertThat(sampler.collapsed(null)).isEmpty();
+    }
+}
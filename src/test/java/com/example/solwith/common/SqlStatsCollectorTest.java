@@ -0,0 +1,108 @@
+package com.example.solwith.common;
+
+import com.example.solwith.dto.RepeatedSqlStats;
+import com.example.solwith.dto.SqlRouteStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//목표: DataSource 프록시가 요청별 문장 수/행 수를 세고, 같은 문장 반복(N+1)을 잡고, 비동기로 넘긴 작업의 SQL 도 같은 요청에 붙는지 (스프링 컨테이너 X, H2 메모리 DB)
+public class SqlStatsCollectorTest {
+    static final String ROUTE = "GET /api/members";
+    static final String SELECT = "select name from sql_stats_member where id = ?";
+
+    SqlStatsCollector sut = new SqlStatsCollector(10);
+    DataSource dataSource = sut.wrap(new DriverManagerDataSource("jdbc:h2:mem:sqlstats;DB_CLOSE_DELAY=-1"));
+
+    @BeforeEach
+    void setUp() throws Exception {
+        try (Connection con = dataSource.getConnection(); Statement st = con.createStatement()) {
+            st.execute("drop table if exists sql_stats_member");
+            st.execute("create table sql_stats_member (id bigint primary key, name varchar(50))");
+            st.executeUpdate("insert into sql_stats_member values (1, 'kim'), (2, 'lee'), (3, 'park')");
+        }
+    }
+
+    @Test
+    void 요청_밖의_SQL_은_세지_않는다() {
+        assertThat(sut.current()).isNull();
+        assertThat(sut.routes()).isEmpty();
+    }
+
+    @Test
+    void 요청_동안_문장_수와_행_수를_세고_같은_문장_반복을_잡는다() throws Exception {
+        //given
+        TraceContext ctx = TraceContext.newRoot();
+        sut.begin(ctx);
+
+        //when: 목록 1번 + 회원마다 같은 문장 12번 (N+1)
+        try (TraceContext.Scope ignored = ctx.attach(); Connection con = dataSource.getConnection()) {
+            try (Statement st = con.createStatement(); ResultSet rs = st.executeQuery("select id from sql_stats_member")) {
+                while (rs.next()) { /* 3행 */ }
+            }
+            try (PreparedStatement ps = con.prepareStatement(SELECT)) {
+                for (int i = 0; i < 12; i++) {
+                    ps.setLong(1, i % 3 + 1);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        rs.next();
+                    }
+                }
+            }
+        }
+        SqlStats stats = sut.end(ctx, ROUTE);
+
+        //then
+        assertThat(stats.statements()).isEqualTo(13);
+        assertThat(stats.rows()).isEqualTo(3 + 12);
+        assertThat(stats.maxRepeats()).isEqualTo(12);
+        assertThat(sut.isRepeated(stats)).isTrue();
+
+        SqlRouteStats route = sut.routes().get(0);
+        assertThat(route.getRoute()).isEqualTo(ROUTE);
+        assertThat(route.getRequests()).isEqualTo(1);
+        assertThat(route.getMaxStatements()).isEqualTo(13);
+        assertThat(route.getRepeatedRequests()).isEqualTo(1);
+
+        List<RepeatedSqlStats> repeated = sut.repeated();
+        assertThat(repeated).extracting(RepeatedSqlStats::getSql).containsExactly(SELECT);
+        assertThat(repeated.get(0).getMaxRepeats()).isEqualTo(12);
+        assertThat(repeated.get(0).getLastTraceId()).isEqualTo(ctx.traceId());
+    }
+
+    @Test
+    void 다른_스레드로_넘긴_작업의_SQL_도_같은_요청으로_센다() throws Exception {
+        //given
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        TraceContext ctx = TraceContext.newRoot();
+        sut.begin(ctx);
+
+        //when
+        try (TraceContext.Scope ignored = ctx.attach()) {
+            TraceContext.runAsync(() -> {
+                try (Connection con = dataSource.getConnection(); Statement st = con.createStatement()) {
+                    st.executeUpdate("update sql_stats_member set name = 'choi' where id = 1");
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }, pool).join();
+        }
+        SqlStats stats = sut.end(ctx, "POST /api/members/import");
+
+        //then
+        assertThat(stats.statements()).isEqualTo(1);
+        assertThat(stats.rows()).isEqualTo(1);
+        assertThat(sut.isRepeated(stats)).isFalse();
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.solwith.common;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//목표: traceparent 형식/검증, 비동기 경계를 넘을 때 traceId 가 따라가고 풀 스레드에 남지 않는지, 필터 헤더 처리 (스프링 컨테이너 X)
+public class TraceContextTest {
+    static final String INCOMING = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    @AfterEach
+    void clear() {
+        MDC.clear();
+    }
+
+    @Test
+    void 새_trace_는_규격_형식() {
+        //when
+        TraceContext ctx = TraceContext.newRoot();
+
+        //then
+        assertThat(ctx.traceId()).matches("[0-9a-f]{32}");
+        assertThat(ctx.spanId()).matches("[0-9a-f]{16}");
+        assertThat(ctx.traceparent()).matches("00-[0-9a-f]{32}-[0-9a-f]{16}-01");
+        assertThat(TraceContext.newRoot().traceId()).isNotEqualTo(ctx.traceId());
+    }
+
+    @Test
+    void 들어온_traceparent_는_같은_trace_의_하위_span() {
+        TraceContext ctx = TraceContext.fromTraceparent(INCOMING);
+
+        assertThat(ctx.traceId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(ctx.parentSpanId()).isEqualTo("00f067aa0ba902b7");
+        assertThat(ctx.spanId()).isNotEqualTo("00f067aa0ba902b7");
+        assertThat(ctx.sampled()).isTrue();
+        assertThat(TraceContext.fromTraceparent("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-00").sampled()).isFalse();
+        assertThat(TraceContext.fromTraceparent("01-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01-future")).isNotNull();
+    }
+
+    @Test
+    void 형식이_틀린_traceparent_는_무시() {
+        assertThat(TraceContext.fromTraceparent(null)).isNull();
+        assertThat(TraceContext.fromTraceparent("garbage")).isNull();
+        assertThat(TraceContext.fromTraceparent("00-00000000000000000000000000000000-00f067aa0ba902b7-01")).isNull(); // 전부 0
+        assertThat(TraceContext.fromTraceparent("00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01")).isNull();
+        assertThat(TraceContext.fromTraceparent("ff-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01")).isNull(); // 금지된 버전
+        assertThat(TraceContext.fromTraceparent("00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01")).isNull(); // 대문자
+        assertThat(TraceContext.fromTraceparent(INCOMING + "-extra")).isNull(); // 00 은 55자 고정
+    }
+
+    @Test
+    void 예전_X_Trace_Id_는_그대로_돌려주고_UUID_나_hex_면_traceparent_로도_잇는다() {
+        //given
+        TraceContext uuid = TraceContext.fromTraceId("4BF92F35-77B3-4DA6-A3CE-929D0E0E4736");
+        TraceContext custom = TraceContext.fromTraceId("my-trace");
+
+        //then
+        assertThat(uuid.displayId()).isEqualTo("4BF92F35-77B3-4DA6-A3CE-929D0E0E4736");
+        assertThat(uuid.traceId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(custom.displayId()).isEqualTo("my-trace");
+        assertThat(custom.traceId()).matches("[0-9a-f]{32}");
+        assertThat(custom.child().displayId()).isEqualTo("my-trace");
+        // 헤더/로그 주입이 될 수 있는 값, 너무 긴 값은 받지 않는다
+        assertThat(TraceContext.fromTraceId("a\r\nSet-Cookie: x")).isNull();
+        assertThat(TraceContext.fromTraceId("x".repeat(65))).isNull();
+        assertThat(TraceContext.fromTraceId(" ")).isNull();
+    }
+
+    @Test
+    void executor_로_넘긴_작업은_넘긴_시점의_컨텍스트로_돌고_끝나면_풀_스레드를_비운다() throws Exception {
+        //given
+        ExecutorService pool = Executors.newSingleThreadExecutor(); // 같은 스레드를 계속 재사용
+        TraceContext ctx = TraceContext.newRoot();
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        //when
+        try (TraceContext.Scope ignored = ctx.attach()) {
+            TraceContext.executor(pool).execute(() -> seen.set(MDC.get(TraceIdFilter.TRACE_ID)));
+            String fromFuture = TraceContext.supplyAsync(() -> TraceContext.current().traceId(), pool).join();
+            assertThat(fromFuture).isEqualTo(ctx.traceId());
+        }
+        Future<String> after = pool.submit(() -> MDC.get(TraceIdFilter.TRACE_ID) + "/" + TraceContext.current());
+
+        //then
+        assertThat(after.get()).isEqualTo("null/null");
+        assertThat(seen.get()).isEqualTo(ctx.traceId());
+        assertThat(TraceContext.current()).isNull();
+        assertThat(MDC.get(TraceIdFilter.TRACE_ID)).isNull();
+        pool.shutdown();
+    }
+
+    @Test
+    void 필터는_traceparent_를_이어받아_응답에_돌려주고_끝나면_MDC_를_비운다() throws Exception {
+        //given
+        MockHttpServletRequest req = new MockHttpServletRequest("GET", "/api/members");
+        req.addHeader(TraceContext.TRACEPARENT, INCOMING);
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        AtomicReference<String> inChain = new AtomicReference<>();
+
+        //when
+        new TraceIdFilter().doFilter(req, res, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest r, HttpServletResponse s) {
+                inChain.set(MDC.get(TraceIdFilter.TRACE_ID));
+            }
+        }));
+
+        //then
+        assertThat(inChain.get()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(req.getAttribute(TraceIdFilter.TRACE_ID)).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(res.getHeader(TraceIdFilter.HEADER)).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(res.getHeader(TraceContext.TRACEPARENT))
+                .startsWith("00-4bf92f3577b34da6a3ce929d0e0e4736-")
+                .doesNotContain("00f067aa0ba902b7");
+        assertThat(MDC.get(TraceIdFilter.TRACE_ID)).isNull();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.solwith.repository;
+
+import com.example.solwith.domain.Member;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//목표: 크기 제한 힙으로 고른 앞쪽 k 개가 전체 정렬 후 자른 결과와 같은지 (스프링 컨테이너 X)
+public class BoundedTopKTest {
+    Random random = new Random(42);
+
+    private List<Member> members(int n) {
+        List<Member> out = new ArrayList<>(n);
+        for (long i = 1; i <= n; i++) out.add(new Member(i, "m" + random.nextInt(n / 4 + 1), 1)); // 이름 중복 → id 로 순서 결정
+        return out;
+    }
+
+    private static List<Member> fullSort(List<Member> all, Predicate<Member> filter, Comparator<Member> cmp, int k) {
+        return all.stream().filter(filter).sorted(cmp).limit(k).toList();
+    }
+
+    private static List<Long> ids(List<Member> ms) {
+        return ms.stream().map(Member::getId).toList();
+    }
+
+    @Test
+    void 앞쪽_k_개가_전체_정렬과_같다() {
+        //given
+        List<Member> all = members(5_000);
+        Comparator<Member> cmp = MemberSortKey.NAME.comparator().reversed();
+        Predicate<Member> filter = m -> m.getId() % 3 != 0;
+
+        //when
+        List<Member> top = BoundedTopK.select(all, filter, cmp, 37).sorted();
+
+        //then
+        assertThat(ids(top)).containsExactlyElementsOf(ids(fullSort(all, filter, cmp, 37)));
+    }
+
+    @Test
+    void 임계값보다_큰_저장소는_병렬로_나눠_훑고_합쳐도_같다() {
+        //given: fork-join 분할과 부분 힙 병합이 실제로 돈다
+        List<Member> all = members(BoundedTopK.PARALLEL_THRESHOLD * 3);
+        Comparator<Member> cmp = MemberSortKey.NAME.comparator();
+        Predicate<Member> filter = m -> m.getName().contains("7");
+
+        //when
+        List<Member> fromCollection = BoundedTopK.scan(all, filter, cmp, 500).sorted();
+        List<Member> fromSpliterator = BoundedTopK.scan(all.spliterator(), filter, cmp, 500).sorted();
+
+        //then
+        List<Long> expected = ids(fullSort(all, filter, cmp, 500));
+        assertThat(ids(fromCollection)).containsExactlyElementsOf(expected);
+        assertThat(ids(fromSpliterator)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void k_보다_적게_걸리면_걸린_것만_정렬해서() {
+        List<Member> all = members(100);
+
+        List<Member> top = BoundedTopK.scan(all, m -> m.getId() <= 5, MemberSortKey.ID.comparator().reversed(), 50).sorted();
+
+        assertThat(ids(top)).containsExactly(5L, 4L, 3L, 2L, 1L);
+    }
+
+    @Test
+    void 저장소_조회의_offset_과_커서_구간이_전체_정렬과_같다() {
+        //given: 키워드가 짧아 트라이그램 색인을 못 타는 전체 스캔 경로 (병렬 임계값도 넘김)
+        MemoryMemberRepository repo = new MemoryMemberRepository();
+        for (int i = 0; i < BoundedTopK.PARALLEL_THRESHOLD + 10_000; i++) {
+            repo.save(new Member("m" + random.nextInt(20_000)));
+        }
+        List<Member> all = repo.findAll();
+        Comparator<Member> cmp = MemberSortKey.NAME.comparator().reversed();
+        List<Member> expected = all.stream().filter(m -> m.getName().contains("12")).sorted(cmp).toList();
+
+        //when: offset 페이지
+        MemberSlice page = repo.query(MemberQuery.page("12", MemberSortKey.NAME, MemberQuery.Direction.DESC, 3, 40));
+
+        //then
+        assertThat(ids(page.getContent())).containsExactlyElementsOf(ids(expected.subList(120, 160)));
+
+        //when: 첫 페이지 커서로 다음 구간
+        MemberSlice first = repo.query(MemberQuery.keyset("12", MemberSortKey.NAME, MemberQuery.Direction.DESC, null, 40));
+        MemberSlice second = repo.query(MemberQuery.keyset("12", MemberSortKey.NAME, MemberQuery.Direction.DESC, first.getNextCursor(), 40));
+
+        //then
+        assertThat(ids(first.getContent())).containsExactlyElementsOf(ids(expected.subList(0, 40)));
+        assertThat(ids(second.getContent())).containsExactlyElementsOf(ids(expected.subList(40, 80)));
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.solwith.repository;
+
+import com.example.solwith.common.NotFoundException;
+import com.example.solwith.domain.Member;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+//목표: 원시 배열 해시 + 이름 슬랩 저장 구조의 기본 동작/리사이즈/슬랩 정리/버전 비교 교체 (스프링 컨테이너 X)
+public class CompactMemberStoreTest {
+
+    @Test
+    void 저장_조회_덮어쓰기_삭제() {
+        CompactMemberStore store = new CompactMemberStore(false, 1 << 12);
+
+        assertThat(store.put(1L, "홍길동")).isEqualTo(1);
+        assertThat(store.put(2L, null)).isEqualTo(1);
+        assertThat(store.put(1L, "Alice")).isEqualTo(2); // 있으면 덮어쓰고 버전 증가
+
+        Member m = store.get(1L);
+        assertThat(m.getName()).isEqualTo("Alice");
+        assertThat(m.getVersion()).isEqualTo(2);
+        assertThat(store.get(2L).getName()).isNull();
+        assertThat(store.get(3L)).isNull();
+
+        assertThat(store.remove(1L)).isTrue();
+        assertThat(store.remove(1L)).isFalse();
+        assertThat(store.get(1L)).isNull();
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void 리사이즈와_툼스톤_청소_후에도_전부_찾는다() {
+        //given: 초기 용량(1024)의 몇 배를 넣고 절반을 지운 뒤 다시 넣어 툼스톤 재사용 + 재해시를 모두 거친다
+        CompactMemberStore store = new CompactMemberStore(false, 1 << 12);
+        for (long id = 1; id <= 10_000; id++) store.put(id, "m" + id);
+        for (long id = 2; id <= 10_000; id += 2) store.remove(id);
+        for (long id = 10_001; id <= 15_000; id++) store.put(id, "n" + id);
+
+        //then
+        assertThat(store.size()).isEqualTo(10_000);
+        for (long id = 1; id <= 10_000; id++) {
+            Member m = store.get(id);
+            if (id % 2 == 0) assertThat(m).as("removed " + id).isNull();
+            else assertThat(m.getName()).isEqualTo("m" + id);
+        }
+        for (long id = 10_001; id <= 15_000; id++) assertThat(store.get(id).getName()).isEqualTo("n" + id);
+        assertThat(store.collect(m -> true)).hasSize(10_000);
+    }
+
+    @Test
+    void 이름변경과_삭제로_버려진_바이트가_쌓이면_슬랩을_정리한다() {
+        //given: 작은 슬랩에서 같은 회원들의 이름을 계속 바꾸고 일부는 지운다
+        CompactMemberStore store = new CompactMemberStore(false, 256);
+        Map<Long, String> expected = new HashMap<>();
+        for (int round = 0; round < 200; round++) {
+            for (long id = 1; id <= 20; id++) {
+                String name = "회원" + id + "-" + round;
+                store.put(id, name);
+                expected.put(id, name);
+            }
+        }
+        for (long id = 1; id <= 20; id += 3) {
+            store.remove(id);
+            expected.remove(id);
+        }
+        store.put(100L, "마지막"); // 삭제로 버려진 바이트까지 정리되도록 한 번 더 쓴다
+        expected.put(100L, "마지막");
+
+        //then: 살아있는 이름만 남아 슬랩 수가 작고, 옮겨진 뒤에도 이름이 그대로
+        assertThat(store.slabCount()).isLessThan(10);
+        expected.forEach((id, name) -> assertThat(store.get(id).getName()).isEqualTo(name));
+        assertThat(store.size()).isEqualTo(expected.size());
+    }
+
+    @Test
+    void off_heap_슬랩도_같은_결과() {
+        CompactMemberStore store = new CompactMemberStore(true, 512);
+        for (long id = 1; id <= 2_000; id++) store.put(id, "이름" + id);
+        for (long id = 1; id <= 2_000; id += 2) store.put(id, "바뀐" + id);
+
+        for (long id = 1; id <= 2_000; id++) {
+            Member m = store.get(id);
+            assertThat(m.getName()).isEqualTo((id % 2 == 1 ? "바뀐" : "이름") + id);
+            assertThat(m.getVersion()).isEqualTo(id % 2 == 1 ? 2 : 1);
+        }
+    }
+
+    @Test
+    void replaceIfVersion_은_버전이_같을때만_바꾸고_결과를_부호로_구분() {
+        CompactMemberStore store = new CompactMemberStore(false, 1 << 12);
+        store.put(7L, "A");
+
+        assertThat(store.replaceIfVersion(7L, 1, "B")).isEqualTo(2);
+        assertThat(store.replaceIfVersion(7L, 1, "C")).isEqualTo(-2); // 버전 불일치 → -(현재 버전)
+        assertThat(store.replaceIfVersion(8L, 1, "X")).isEqualTo(0);  // 없는 id
+        assertThat(store.get(7L).getName()).isEqualTo("B");
+        assertThat(store.get(8L)).isNull();
+    }
+
+    @Test
+    void stream_은_청크마다_락을_놓고_도중에_리사이즈돼도_한_번씩만_흘려보낸다() {
+        //given
+        CompactMemberStore store = new CompactMemberStore(false, 1 << 12);
+        for (long id = 1; id <= 3_000; id++) store.put(id, "m" + id);
+
+        //when: 몇 건 읽은 뒤(락은 잡혀 있지 않다) 쓰기로 리사이즈를 일으키고, 일부는 지우고 이름도 바꾼다
+        List<Long> seen = new ArrayList<>();
+        Iterator<Member> it = store.stream().iterator();
+        for (int i = 0; i < 100; i++) seen.add(it.next().getId());
+        for (long id = 3_001; id <= 20_000; id++) store.put(id, "n" + id);
+        for (long id = 1; id <= 3_000; id += 10) store.remove(id);
+        store.put(2L, "renamed");
+        while (it.hasNext()) seen.add(it.next().getId());
+
+        //then: 중복 없음, 처음부터 있던 회원 중 지워지지 않은 건 모두 나온다
+        assertThat(seen).doesNotHaveDuplicates();
+        for (long id = 1; id <= 3_000; id++) {
+            if (id % 10 != 1) assertThat(seen).as("id " + id).contains(id);
+        }
+        assertThat(store.stream().filter(m -> m.getId() == 2L).findFirst().orElseThrow().getName()).isEqualTo("renamed");
+    }
+
+    @Test
+    void 저장소_save_는_없는_id_를_거부하고_삭제와_겹쳐도_되살리지_않는다() {
+        //given
+        CompactMemberRepository repo = new CompactMemberRepository(false, 1 << 12);
+        Member m = repo.save(new Member("Alice"));
+
+        //then: 없는 id → 새 id 로 바꿔 넣지 않고 거부
+        assertThatThrownBy(() -> repo.save(new Member(999_999L, "ghost", 1))).isInstanceOf(NotFoundException.class);
+        assertThat(repo.findAll()).hasSize(1);
+
+        //when: 이름 변경 저장과 삭제가 동시에
+        for (int i = 0; i < 200; i++) {
+            Member target = repo.save(new Member("t" + i));
+            Member copy = new Member(target.getId(), "renamed", target.getVersion());
+            CompletableFuture<Void> rename = CompletableFuture.runAsync(() -> {
+                try {
+                    repo.save(copy);
+                } catch (NotFoundException ignored) {
+                    // 삭제가 먼저 반영됨
+                }
+            });
+            CompletableFuture<Void> delete = CompletableFuture.runAsync(() -> repo.deleteById(target.getId()));
+            CompletableFuture.allOf(rename, delete).join();
+
+            //then: 어느 쪽이 먼저든 지운 회원은 남지 않는다
+            assertThat(repo.findById(target.getId())).isEmpty();
+        }
+        assertThat(repo.findById(m.getId()).orElseThrow().getName()).isEqualTo("Alice");
+    }
+}
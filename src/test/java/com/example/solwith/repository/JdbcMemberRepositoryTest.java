@@ -0,0 +1,115 @@
+package com.example.solwith.repository;
+
+import com.example.solwith.common.NotFoundException;
+import com.example.solwith.common.VersionConflictException;
+import com.example.solwith.domain.Member;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+//목표: 임베디드 DB(H2, MySQL 모드)로 SQL 푸시다운/배치 저장 검증 (스프링 컨테이너 X)
+public class JdbcMemberRepositoryTest {
+    DriverManagerDataSource ds;
+    JdbcMemberRepository repo;
+
+    @BeforeEach
+    void setUp() {
+        ds = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        repo = new JdbcMemberRepository(new JdbcTemplate(ds), new DataSourceTransactionManager(ds), 10, 100);
+    }
+
+    @Test
+    void 같은_DB를_쓰는_두_인스턴스는_블록이_겹치지_않는다() {
+        //given: 두 번째 인스턴스(스레드 버퍼 포함)가 같은 테이블을 공유
+        JdbcTemplate jdbc = new JdbcTemplate(ds);
+        MemberIdGenerator other = new ThreadLocalIdBuffer(
+                new BlockIdGenerator(jdbc, new DataSourceTransactionManager(ds), "members", 10), 4);
+        JdbcMemberRepository second = new JdbcMemberRepository(jdbc, other, 100);
+
+        //when: 번갈아 저장
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            ids.add(repo.save(new Member("a" + i)).getId());
+            ids.add(second.save(new Member("b" + i)).getId());
+        }
+
+        //then
+        assertThat(ids).doesNotHaveDuplicates();
+        assertThat(repo.findAll()).hasSize(60);
+    }
+
+    @Test
+    void saveAll_블록으로_id를_받아_배치저장() {
+        List<Member> batch = new ArrayList<>();
+        for (int i = 0; i < 25; i++) batch.add(new Member("kim" + i));
+
+        repo.saveAll(batch);
+
+        assertThat(batch).extracting(Member::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(repo.findAll()).hasSize(25);
+        try (Stream<Member> s = repo.streamAll()) {
+            assertThat(s.count()).isEqualTo(25);
+        }
+        assertThat(repo.findAllById(List.of(batch.get(3).getId(), batch.get(7).getId(), -1L)))
+                .extracting(Member::getName).containsExactlyInAnyOrder("kim3", "kim7");
+    }
+
+    @Test
+    void 이름변경은_update_삭제는_delete() {
+        Member m = repo.save(new Member("Alice"));
+        m.setName("Bob");
+        repo.save(m);
+        repo.save(new Member("Carol"));
+        repo.deleteById(repo.findByNameContaining("car").get(0).getId());
+
+        assertThat(repo.findAll()).extracting(Member::getName).containsExactly("Bob");
+    }
+
+    @Test
+    void id_가_있는_save_는_자기가_쓴_버전을_돌려주고_없는_id_는_거부() {
+        Member m = repo.save(new Member("Alice"));
+        m.setName("Bob");
+
+        assertThat(repo.save(m).getVersion()).isEqualTo(2);
+        assertThat(repo.findById(m.getId()).orElseThrow().getVersion()).isEqualTo(2);
+        assertThatThrownBy(() -> repo.save(new Member(999_999L, "ghost", 1))).isInstanceOf(NotFoundException.class);
+        assertThat(repo.findAll()).hasSize(1); // 새 id 로 바꿔 넣지 않는다
+    }
+
+    @Test
+    void compareAndSet_은_버전이_같을때만_UPDATE() {
+        Long id = repo.save(new Member("A")).getId();
+
+        assertThat(repo.compareAndSet(id, 1, "B").orElseThrow().getVersion()).isEqualTo(2);
+        assertThatThrownBy(() -> repo.compareAndSet(id, 1, "C")).isInstanceOf(VersionConflictException.class);
+        assertThat(repo.compareAndSet(-1L, 1, "X")).isEmpty();
+        assertThat(repo.findById(id).orElseThrow().getName()).isEqualTo("B");
+    }
+
+    @Test
+    void 커서_페이징을_SQL로_끝까지_순회() {
+        for (int i = 0; i < 23; i++) repo.save(new Member("n" + (i % 5)));
+
+        List<Member> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            MemberSlice slice = repo.query(MemberQuery.keyset("n", MemberSortKey.NAME, MemberQuery.Direction.DESC, cursor, 4));
+            all.addAll(slice.getContent());
+            cursor = slice.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(all).hasSize(23);
+        assertThat(all).isSortedAccordingTo(MemberSortKey.NAME.comparator().reversed());
+        assertThat(repo.query(MemberQuery.page("%", null, null, 0, 10)).getContent()).isEmpty(); // % 는 글자로 취급
+    }
+}
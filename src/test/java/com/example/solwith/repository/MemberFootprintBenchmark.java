@@ -0,0 +1,39 @@
+package com.example.solwith.repository;
+
+import com.example.solwith.common.Benchmark;
+import com.example.solwith.domain.Member;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Supplier;
+
+import static com.example.solwith.common.BenchmarkSupport.report;
+import static com.example.solwith.common.BenchmarkSupport.usedHeapAfterGc;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 회원 1명당 힙 사용량 비교 (MemoryMemberRepository vs CompactMemberRepository).
+ * 오래 걸리고 힙을 많이 쓰므로 평소에는 건너뛴다 → ./gradlew test -Dbenchmark=true --tests '*MemberFootprintBenchmark'
+ */
+@Benchmark
+public class MemberFootprintBenchmark {
+    static final int N = 1_000_000;
+
+    @Test
+    void 회원당_힙_사용량_비교() {
+        long memory = bytesPerMember(MemoryMemberRepository::new);
+        long compactHeap = bytesPerMember(() -> new CompactMemberRepository(false, 1 << 20));
+        long compactOffHeap = bytesPerMember(() -> new CompactMemberRepository(true, 1 << 20));
+
+        report("Footprint", "members", String.format("%,d", N), "memory", memory + "B/member",
+                "compact(heap)", compactHeap + "B/member", "compact(off-heap)", compactOffHeap + "B/member");
+    }
+
+    private long bytesPerMember(Supplier<MemberRepository> factory) {
+        long before = usedHeapAfterGc();
+        MemberRepository repo = factory.get();
+        for (int i = 0; i < N; i++) repo.save(new Member("회원" + i));
+        long after = usedHeapAfterGc();
+        assertThat(repo.findById((long) N)).isPresent(); // repo 가 측정 전에 수거되지 않도록 + 전부 저장됐는지
+        return (after - before) / N;
+    }
+}
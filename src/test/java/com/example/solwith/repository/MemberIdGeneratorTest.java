@@ -0,0 +1,90 @@
+package com.example.solwith.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+//목표: id 발급기가 동시 발급/재시작/시계 역행에도 중복 없이 발급하는지 (스프링 컨테이너 X)
+public class MemberIdGeneratorTest {
+
+    private static Set<Long> issueConcurrently(MemberIdGenerator gen, int threads, int perThread) throws Exception {
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.submit(() -> {
+                long prev = Long.MIN_VALUE;
+                for (int i = 0; i < perThread; i++) {
+                    long id = gen.nextId();
+                    if (id <= prev) throw new AssertionError("not increasing within thread");
+                    prev = id;
+                    seen.add(id);
+                }
+            });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        return seen;
+    }
+
+    @Test
+    void 스레드_버퍼_동시_발급도_중복이_없다() throws Exception {
+        assertThat(issueConcurrently(new ThreadLocalIdBuffer(new SequenceIdGenerator(), 64), 8, 10_000)).hasSize(80_000);
+        assertThat(issueConcurrently(new ThreadLocalIdBuffer(new SnowflakeIdGenerator(3), 64), 8, 10_000)).hasSize(80_000);
+    }
+
+    @Test
+    void 재시작_후_advancePast_이후로만_발급() {
+        //given: 스레드 버퍼가 이미 구간을 받아 둔 상태
+        MemberIdGenerator gen = new ThreadLocalIdBuffer(new SequenceIdGenerator(), 64);
+        assertThat(gen.nextId()).isEqualTo(1L);
+
+        //when
+        gen.advancePast(1_000);
+
+        //then: 받아 둔 구간(2~64)은 버리고 1000 다음부터
+        assertThat(gen.nextId()).isEqualTo(1_001L);
+        assertThat(gen.highWaterMark()).isGreaterThanOrEqualTo(1_001L);
+    }
+
+    @Test
+    void snowflake_노드_id가_들어가고_시계가_뒤로_가도_증가() {
+        AtomicLong now = new AtomicLong(SnowflakeIdGenerator.EPOCH + 10_000);
+        SnowflakeIdGenerator gen = new SnowflakeIdGenerator(5, now::get);
+
+        List<Long> ids = new ArrayList<>();
+        ids.add(gen.nextId());
+        now.addAndGet(-5_000); // 시계 역행
+        for (int i = 0; i < 100; i++) ids.add(gen.nextId());
+
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+        assertThat((ids.get(0) >>> SnowflakeIdGenerator.SEQ_BITS) & SnowflakeIdGenerator.MAX_NODE).isEqualTo(5);
+        assertThat(ids.get(0) >>> (SnowflakeIdGenerator.NODE_BITS + SnowflakeIdGenerator.SEQ_BITS)).isEqualTo(10_000);
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(1024)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void snowflake_시계가_많이_뒤로_간_채_순번을_다_쓰면_기다리지_않고_예외() {
+        //given: 시계 역행 후 마지막 ms 의 순번을 모두 씀
+        AtomicLong now = new AtomicLong(SnowflakeIdGenerator.EPOCH + 10_000);
+        SnowflakeIdGenerator gen = new SnowflakeIdGenerator(1, now::get);
+        gen.nextId();
+        now.addAndGet(-5_000);
+        gen.reserve(SnowflakeIdGenerator.SEQ_PER_MS - 1);
+
+        //when & then: 시계가 따라올 때까지 돌지 않고 바로 실패
+        assertThatThrownBy(gen::nextId).isInstanceOf(IllegalStateException.class);
+        now.addAndGet(5_001);
+        assertThat(gen.nextId() >>> (SnowflakeIdGenerator.NODE_BITS + SnowflakeIdGenerator.SEQ_BITS)).isEqualTo(10_001);
+        assertThat(gen.jsonSafe()).isFalse();
+    }
+}
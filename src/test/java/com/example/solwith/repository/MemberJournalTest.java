@@ -0,0 +1,58 @@
+package com.example.solwith.repository;
+
+import com.example.solwith.domain.Member;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//목표: 로그/스냅샷만으로 재시작 후 회원과 시퀀스가 그대로 복구되는지 (스프링 컨테이너 X)
+public class MemberJournalTest {
+    @TempDir Path dir;
+
+    private MemberJournal journal(long snapshotEvery) {
+        return new MemberJournal(dir.toString(), 4096, true, 5, snapshotEvery);
+    }
+
+    @Test
+    void 재시작하면_로그를_재생해서_회원과_시퀀스를_복구() {
+        //given: 저장 + 이름변경 + 삭제 (세그먼트가 여러 개로 넘어가도록 작은 세그먼트 사용)
+        MemberJournal j1 = journal(1_000_000);
+        MemoryMemberRepository repo = new MemoryMemberRepository(Optional.of(j1));
+        for (int i = 0; i < 300; i++) repo.save(new Member("홍길동" + i));
+        repo.compareAndSet(10L, 1, "renamed");
+        repo.deleteById(20L);
+        List<String> before = repo.findAll().stream().map(m -> m.getId() + ":" + m.getName()).toList();
+
+        //when: 종료 없이(크래시) 새 저널로 다시 띄움
+        MemberJournal j2 = journal(1_000_000);
+        MemoryMemberRepository restarted = new MemoryMemberRepository(Optional.of(j2));
+
+        //then
+        assertThat(restarted.findAll()).extracting(m -> m.getId() + ":" + m.getName()).containsExactlyElementsOf(before);
+        assertThat(restarted.findById(20L)).isEmpty();
+        assertThat(restarted.findById(10L).orElseThrow().getVersion()).isEqualTo(2); // 버전도 복구
+        assertThat(restarted.save(new Member("next")).getId()).isEqualTo(301L); // 시퀀스도 이어짐
+        j2.close(); // j1 은 크래시 상황이라 닫지 않는다
+    }
+
+    @Test
+    void 스냅샷_이후에도_꼬리_로그와_합쳐서_복구() {
+        MemberJournal j1 = journal(1_000_000);
+        MemoryMemberRepository repo = new MemoryMemberRepository(Optional.of(j1));
+        for (int i = 0; i < 100; i++) repo.save(new Member("m" + i));
+        j1.snapshot();                       // 여기까지는 스냅샷
+        for (int i = 0; i < 50; i++) repo.deleteById((long) i + 1); // 이후는 로그 꼬리 (닫지 않고 크래시)
+
+        MemberJournal j2 = journal(1_000_000);
+        MemoryMemberRepository restarted = new MemoryMemberRepository(Optional.of(j2));
+
+        assertThat(restarted.findAll()).hasSize(50);
+        assertThat(restarted.findAll().get(0).getId()).isEqualTo(51L);
+        j2.close();
+    }
+}
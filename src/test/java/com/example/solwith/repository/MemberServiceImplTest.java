@@ -1,7 +1,9 @@
 package com.example.solwith.repository;
 
 import com.example.solwith.common.NotFoundException;
+import com.example.solwith.common.VersionConflictException;
 import com.example.solwith.domain.Member;
+import com.example.solwith.service.MemberChangeFeed;
 import com.example.solwith.service.MemberServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,6 +21,7 @@ import static org.mockito.BDDMockito.*;
 //목표: 비즈니스 로직만 검증 (스프링 컨테이너 X)
 public class MemberServiceImplTest {
     @Mock MemberRepository repo; //가짜 저장소
+    @Mock MemberChangeFeed feed;
     @InjectMocks MemberServiceImpl sut;
 
     @BeforeEach
@@ -51,6 +54,22 @@ public class MemberServiceImplTest {
 //                .hasMessageContaining("999");
 //    }퓨
 
+    @Test
+    void update_If_Match_버전이_다르면_충돌을_그대로_알림() {
+        given(repo.compareAndSet(1L, 3L, "New")).willThrow(new VersionConflictException("stale"));
+
+        assertThatThrownBy(() -> sut.update(1L, "New", 3L)).isInstanceOf(VersionConflictException.class);
+    }
+
+    @Test
+    void update_조건없는_수정은_충돌나면_최신버전으로_재시도() {
+        given(repo.findById(1L)).willReturn(Optional.of(new Member(1L, "A", 1)), Optional.of(new Member(1L, "B", 2)));
+        given(repo.compareAndSet(1L, 1L, "C")).willThrow(new VersionConflictException("stale"));
+        given(repo.compareAndSet(1L, 2L, "C")).willReturn(Optional.of(new Member(1L, "C", 3)));
+
+        assertThat(sut.update(1L, "C").getVersion()).isEqualTo(3);
+    }
+
     @Test
     void findMembers_전체조회() {
         given(repo.findAll()).willReturn(List.of(new Member("A"), new Member("B")));
@@ -0,0 +1,127 @@
+package com.example.solwith.service;
+
+import com.example.solwith.common.TraceContext;
+import com.example.solwith.common.TraceIdFilter;
+import com.example.solwith.domain.Member;
+import com.example.solwith.dto.MemberChange;
+import com.example.solwith.dto.MemberChangePage;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//목표: 커서로 변경분만 이어 받고, 링에서 밀려난 커서는 resnapshot 을 받는지 (스프링 컨테이너 X)
+public class MemberChangeFeedTest {
+    MemberChangeFeed feed = new MemberChangeFeed(8);
+
+    private void publish(long id) {
+        feed.publish(MemberChange.Type.UPDATED, new Member(id, "m" + id, 1));
+    }
+
+    @Test
+    void 커서_이후_변경만_순서대로() {
+        //given
+        String start = feed.read(null, 10).getCursor(); // 처음엔 현재 커서만 받는다
+        for (long i = 1; i <= 5; i++) publish(i);
+
+        //when: 3건씩 나눠서
+        MemberChangePage first = feed.read(start, 3);
+        MemberChangePage second = feed.read(first.getCursor(), 3);
+
+        //then
+        assertThat(first.getChanges()).extracting(MemberChange::getId).containsExactly(1L, 2L, 3L);
+        assertThat(second.getChanges()).extracting(MemberChange::getId).containsExactly(4L, 5L);
+        assertThat(feed.read(second.getCursor(), 3).getChanges()).isEmpty();
+    }
+
+    @Test
+    void 너무_뒤처지거나_다른_서버의_커서면_resnapshot() {
+        String start = feed.currentCursor();
+        for (long i = 1; i <= 20; i++) publish(i); // 용량 8 을 넘김
+
+        MemberChangePage page = feed.read(start, 10);
+        assertThat(page.isResnapshot()).isTrue();
+        assertThat(page.getCursor()).isEqualTo(feed.currentCursor()); // 전체 목록을 다시 받은 뒤 여기서부터
+
+        assertThat(feed.read("zzz.3", 10).isResnapshot()).isTrue();
+        assertThat(feed.read("garbage", 10).isResnapshot()).isTrue();
+    }
+
+    @Test
+    void 구독자는_새_변경이_생기면_깨어난다() throws Exception {
+        CountDownLatch woke = new CountDownLatch(1);
+        Runnable unsubscribe = feed.subscribe(woke::countDown);
+
+        publish(1);
+
+        assertThat(woke.await(5, TimeUnit.SECONDS)).isTrue();
+        unsubscribe.run();
+    }
+
+    @Test
+    void 막힌_구독자가_다른_구독자를_붙잡지_않고_뒤처지면_끊긴다() throws Exception {
+        //given: 전송이 막힌 구독자(느린 SSE 클라이언트)와 정상 구독자
+        MemberChangeFeed sut = new MemberChangeFeed(8, 2, 50);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch stalled = new CountDownLatch(1);
+        sut.subscribeAsync(() -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, stalled::countDown);
+        CountDownLatch others = new CountDownLatch(3);
+        sut.subscribeAsync(others::countDown, () -> { });
+        CountDownLatch longPoll = new CountDownLatch(3);
+        sut.subscribe(longPoll::countDown);
+
+        //when: 막힌 뒤에도 변경이 계속 들어온다
+        sut.publish(MemberChange.Type.UPDATED, new Member(1L, "m1", 1));
+        assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+        for (long i = 2; i <= 3; i++) {
+            Thread.sleep(100); // 깨우기 신호가 합쳐지지 않게 + stall-ms 를 넘기게
+            sut.publish(MemberChange.Type.UPDATED, new Member(i, "m" + i, 1));
+        }
+
+        //then
+        assertThat(others.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(longPoll.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(stalled.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+        sut.shutdown();
+    }
+
+    @Test
+    void 리스너는_구독한_요청의_trace_로_돈다() throws Exception {
+        //given: 요청 컨텍스트 안에서 구독
+        TraceContext ctx = TraceContext.fromTraceId("sub-1");
+        AtomicReference<String> sync = new AtomicReference<>();
+        AtomicReference<String> async = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(2);
+        try (TraceContext.Scope ignored = ctx.attach()) {
+            feed.subscribe(() -> {
+                sync.compareAndSet(null, MDC.get(TraceIdFilter.TRACE_ID));
+                done.countDown();
+            });
+            feed.subscribeAsync(() -> {
+                async.compareAndSet(null, MDC.get(TraceIdFilter.TRACE_ID));
+                done.countDown();
+            }, () -> { });
+        }
+
+        //when: 컨텍스트 없는 스레드에서 변경
+        publish(1);
+
+        //then: 피드 스레드 / sender 풀 모두 구독한 요청의 traceId
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(sync.get()).isEqualTo("sub-1");
+        assertThat(async.get()).isEqualTo("sub-1");
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.solwith.service;
+
+import com.example.solwith.domain.Member;
+import com.example.solwith.dto.MemberImportReport;
+import com.example.solwith.repository.MemoryMemberRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//목표: 일괄 등록이 chunk 경계를 넘어도 줄 번호/건수가 정확하고, 실패한 줄만 빠지는지 (스프링 컨테이너 X)
+public class MemberImportServiceTest {
+    MemoryMemberRepository repo = new MemoryMemberRepository();
+    MemberChangeFeed feed = new MemberChangeFeed(1024);
+    MemberImportService importer = new MemberImportService(repo, feed,
+            Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), 3); // 작은 chunk
+
+    private MemberImportReport run(String body, MemberImportService.Format format) throws Exception {
+        return importer.importMembers(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format);
+    }
+
+    @Test
+    void NDJSON_일괄등록_실패한_줄만_리포트() throws Exception {
+        //given: 4번째 줄은 이름 공백, 6번째 줄은 깨진 JSON, 5번째 줄은 빈 줄
+        String body = """
+                {"name":"a"}
+                {"name":"b"}
+                {"name":"c"}
+                {"name":" "}
+
+                {"name":
+                {"name":"d"}
+                """;
+
+        //when
+        MemberImportReport report = run(body, MemberImportService.Format.NDJSON);
+
+        //then
+        assertThat(report.getTotal()).isEqualTo(6);
+        assertThat(report.getImported()).isEqualTo(4);
+        assertThat(report.getErrors()).extracting(MemberImportReport.LineError::getLine).containsExactly(4L, 6L);
+        assertThat(repo.findAll()).extracting(m -> m.getName()).containsExactly("a", "b", "c", "d"); // 순서 유지
+    }
+
+    @Test
+    void CSV_헤더의_name_열과_따옴표를_처리() throws Exception {
+        String body = "email,name\nx@y.com,\"Kim, \"\"Jr\"\"\"\nz@y.com,\nonly-one-column\n";
+
+        MemberImportReport report = run(body, MemberImportService.Format.CSV);
+
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getFailed()).isEqualTo(2);
+        assertThat(repo.findAll().get(0).getName()).isEqualTo("Kim, \"Jr\"");
+    }
+
+    @Test
+    void 저장이_멈춘_import_가_다른_import_를_막지_않는다() throws Exception {
+        //given: "slow" 로 시작하는 이름을 저장할 때 풀어 줄 때까지 멈추는 저장소
+        CountDownLatch release = new CountDownLatch(1);
+        MemoryMemberRepository blocking = new MemoryMemberRepository() {
+            @Override
+            public List<Member> saveAll(Collection<Member> members) {
+                if (members.iterator().next().getName().startsWith("slow")) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.saveAll(members);
+            }
+        };
+        MemberImportService sut = new MemberImportService(blocking, feed,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), 3, 2);
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+
+        //when
+        Future<MemberImportReport> slow = callers.submit(() -> sut.importMembers(
+                new ByteArrayInputStream("{\"name\":\"slow1\"}\n{\"name\":\"slow2\"}\n".getBytes(StandardCharsets.UTF_8)),
+                MemberImportService.Format.NDJSON));
+        MemberImportReport fast = sut.importMembers(
+                new ByteArrayInputStream("a\nb\nc\nd\n".getBytes(StandardCharsets.UTF_8)), MemberImportService.Format.CSV);
+
+        //then: 느린 import 가 끝나기 전에 다른 import 는 끝난다
+        assertThat(fast.getImported()).isEqualTo(4);
+        assertThat(slow.isDone()).isFalse();
+        release.countDown();
+        assertThat(slow.get(5, TimeUnit.SECONDS).getImported()).isEqualTo(2);
+        callers.shutdown();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.solwith.service;
+
+import com.example.solwith.domain.Member;
+import com.example.solwith.repository.MemoryMemberRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//목표: 동시에 들어온 단건 조회가 findAllById 몇 번으로 묶이고, 각자 자기 결과를 받는지 (스프링 컨테이너 X)
+public class MemberLookupBatcherTest {
+
+    // 저장소 왕복이 느린 상황을 흉내
+    static class SlowRepository extends MemoryMemberRepository {
+        final AtomicInteger batches = new AtomicInteger();
+
+        @Override
+        public List<Member> findAllById(Collection<Long> ids) {
+            batches.incrementAndGet();
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.findAllById(ids);
+        }
+    }
+
+    @Test
+    void 동시_단건조회를_묶어서_처리() throws Exception {
+        //given
+        SlowRepository repo = new SlowRepository();
+        for (int i = 0; i < 200; i++) repo.save(new Member("m" + i));
+        MemberLookupBatcher batcher = new MemberLookupBatcher(repo, 100);
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+
+        //when: 32 스레드가 400건(없는 id 포함) 조회
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            long id = i + 1;
+            results.add(pool.submit(() -> {
+                Member m = batcher.load(id);
+                return id <= 200 ? m != null && m.getId() == id : m == null;
+            }));
+        }
+
+        //then
+        for (Future<Boolean> f : results) assertThat(f.get()).isTrue();
+        assertThat(repo.batches.get()).isLessThan(400);
+        pool.shutdown();
+    }
+
+    @Test
+    void 인터럽트된_대기자도_결과를_받고_인터럽트_상태는_남는다() throws Exception {
+        //given: 리더가 느린 조회를 붙잡고 있는 동안
+        SlowRepository repo = new SlowRepository();
+        Member saved = repo.save(new Member("kim"));
+        MemberLookupBatcher batcher = new MemberLookupBatcher(repo, 100);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) pool.submit(() -> batcher.load(saved.getId()));
+
+        //when: 인터럽트 상태로 들어온 호출
+        Thread.currentThread().interrupt();
+        Member m;
+        boolean stillInterrupted;
+        try {
+            m = batcher.load(saved.getId());
+        } finally {
+            stillInterrupted = Thread.interrupted(); // 다음 테스트에 남지 않게 지운다
+        }
+
+        //then
+        assertThat(m.getName()).isEqualTo("kim");
+        assertThat(stillInterrupted).isTrue();
+        pool.shutdown();
+    }
+}
@@ -1,4 +1,271 @@
 package com.example.solwith.service;
 
+import com.example.solwith.common.BadRequestException;
+import com.example.solwith.common.VersionConflictException;
+import com.example.solwith.domain.Member;
+import com.example.solwith.repository.CompactMemberRepository;
+import com.example.solwith.repository.MemberQuery;
+import com.example.solwith.repository.MemberSlice;
+import com.example.solwith.repository.MemberSortKey;
+import com.example.solwith.repository.MemoryMemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+//목표: 인메모리 저장소 + 보조 색인 동작 검증 (스프링 컨테이너 X)
 public class MemoryMemberRepositoryTest {
+    MemoryMemberRepository repo;
+
+    @BeforeEach
+    void setUp() { repo = new MemoryMemberRepository(); }
+
+    @Test
+    void 이름_부분검색_색인으로_후보만_조회() {
+        //given
+        repo.save(new Member("Kimchi"));
+        repo.save(new Member("kimbap"));
+        repo.save(new Member("Lee"));
+
+        //when
+        List<Member> found = repo.findByNameContaining("KIM");
+
+        //then
+        assertThat(found).extracting(Member::getName).containsExactlyInAnyOrder("Kimchi", "kimbap");
+    }
+
+    @Test
+    void 이름변경_삭제시_색인도_갱신() {
+        Member m = repo.save(new Member("Alice"));
+        Member b = repo.save(new Member("Alicia"));
+
+        m.setName("Bob");
+        repo.save(m);
+        repo.deleteById(b.getId());
+
+        assertThat(repo.findByNameContaining("ali")).isEmpty();
+        assertThat(repo.findByNameContaining("bob")).extracting(Member::getId).containsExactly(m.getId());
+    }
+
+    @Test
+    void 짧은_검색어는_전체스캔으로_처리() {
+        repo.save(new Member("ab"));
+        repo.save(new Member("cab"));
+        repo.save(new Member("zz"));
+
+        assertThat(repo.findByNameContaining("ab")).hasSize(2);
+    }
+
+    @Test
+    void 커서_페이징_전체를_중복없이_정렬순서대로_순회() {
+        //given: 이름이 겹치는 회원 25명
+        for (int i = 0; i < 25; i++) repo.save(new Member("n" + (i % 7)));
+
+        //when: 4개씩 커서로 끝까지 조회
+        List<Member> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            MemberSlice slice = repo.query(MemberQuery.keyset(null, MemberSortKey.NAME, MemberQuery.Direction.DESC, cursor, 4));
+            all.addAll(slice.getContent());
+            cursor = slice.getNextCursor();
+        } while (cursor != null);
+
+        //then
+        assertThat(all).hasSize(25);
+        assertThat(all).isSortedAccordingTo(MemberSortKey.NAME.comparator().reversed());
+    }
+
+    @Test
+    void 잘못된_커서나_넘치는_page_는_400_용_예외() {
+        assertThatThrownBy(() -> repo.query(MemberQuery.keyset(null, MemberSortKey.ID, MemberQuery.Direction.ASC, "not-a-cursor", 4)))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> MemberQuery.page(null, null, null, Integer.MAX_VALUE / 2, 10))
+                .isInstanceOf(BadRequestException.class); // int 로 곱하면 음수 → 0페이지가 되던 경우
+        assertThat(MemberQuery.page(null, null, null, 3, 10).getOffset()).isEqualTo(30);
+    }
+
+    @Test
+    void 동시_저장_이름변경_후에도_정렬색인이_저장소와_일치() throws Exception {
+        //given: 4개 스레드가 동시에 저장 + 이름 변경 + 삭제
+        int threads = 4;
+        ExecutorService es = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            es.submit(() -> {
+                ThreadLocalRandom r = ThreadLocalRandom.current();
+                for (int i = 0; i < 500; i++) {
+                    Member m = repo.save(new Member("m" + r.nextInt(100)));
+                    if (i % 3 == 0) { m.setName("r" + r.nextInt(100)); repo.save(m); }
+                    if (i % 7 == 0) repo.deleteById(m.getId());
+                }
+            });
+        }
+        es.shutdown();
+        assertThat(es.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        //when: 이름 역순으로 한 페이지에 전부 조회
+        MemberSlice slice = repo.query(MemberQuery.keyset(null, MemberSortKey.NAME, MemberQuery.Direction.DESC, null, 10_000));
+
+        //then: 색인 순회 결과 = 저장소 전체를 직접 정렬한 결과
+        List<Member> expected = new ArrayList<>(repo.findAll());
+        expected.sort(MemberSortKey.NAME.comparator().reversed());
+        assertThat(slice.getContent()).extracting(Member::getId).containsExactlyElementsOf(expected.stream().map(Member::getId).toList());
+    }
+
+    @Test
+    void findAll_쓰기전까지_같은_스냅샷을_공유() {
+        repo.save(new Member("A"));
+        List<Member> first = repo.findAll();
+
+        //쓰기가 없으면 복사 없이 같은 리스트
+        assertThat(repo.findAll()).isSameAs(first);
+
+        //쓰기 후에는 새 스냅샷
+        repo.save(new Member("B"));
+        List<Member> second = repo.findAll();
+        assertThat(second).isNotSameAs(first).extracting(Member::getName).containsExactly("A", "B");
+    }
+
+    @Test
+    void compareAndSet_버전이_같을때만_교체하고_저장된_레코드는_불변() {
+        //given
+        Member saved = repo.save(new Member("A"));
+        Member stored = repo.findById(saved.getId()).orElseThrow();
+
+        //when
+        Member next = repo.compareAndSet(saved.getId(), 1, "B").orElseThrow();
+
+        //then: 새 레코드가 생기고 옛 레코드는 그대로, 옛 버전으로는 다시 못 바꾼다
+        assertThat(next.getVersion()).isEqualTo(2);
+        assertThat(stored.getName()).isEqualTo("A");
+        assertThat(repo.findByNameContaining("b")).extracting(Member::getVersion).containsExactly(2L);
+        assertThatThrownBy(() -> repo.compareAndSet(saved.getId(), 1, "C")).isInstanceOf(VersionConflictException.class);
+        assertThat(repo.compareAndSet(999L, 1, "X")).isEmpty();
+    }
+
+    @Test
+    void 조회_결과는_사본이라_고쳐도_저장소는_그대로이고_다시_저장하면_새_버전() {
+        //given
+        Member saved = repo.save(new Member("A"));
+        Member found = repo.findById(saved.getId()).orElseThrow();
+
+        //when: 조회 결과를 고치기만 하면 저장소/색인/버전은 그대로
+        found.setName("B");
+        found.setVersion(9);
+
+        //then
+        assertThat(repo.findById(saved.getId()).orElseThrow().getName()).isEqualTo("A");
+        assertThat(repo.findByNameContaining("b")).isEmpty();
+        assertThat(repo.findAll()).extracting(Member::getVersion).containsExactly(1L);
+
+        //when: 고친 사본을 저장하면 새 버전
+        Member again = repo.save(found);
+
+        //then
+        assertThat(again).isSameAs(found);
+        assertThat(again.getVersion()).isEqualTo(2);
+        assertThat(repo.findByNameContaining("b")).extracting(Member::getVersion).containsExactly(2L);
+        assertThat(repo.findAll()).extracting(Member::getName).containsExactly("B");
+    }
+
+    @Test
+    void 동시_compareAndSet_은_한번에_하나만_성공() throws Exception {
+        //given
+        Long id = repo.save(new Member("v")).getId();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        //when: 8 스레드가 각자 읽은 버전으로 100번씩 "성공할 때까지" 교체
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                for (int i = 0; i < 100; i++) {
+                    while (true) {
+                        Member cur = repo.findById(id).orElseThrow();
+                        try {
+                            repo.compareAndSet(id, cur.getVersion(), "v" + (cur.getVersion() + 1));
+                            break;
+                        } catch (VersionConflictException retry) {
+                            // 진 쪽은 다시 읽는다
+                        }
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        //then: 잃어버린 수정 없이 800번 모두 반영, 색인도 최신 이름만 가리킴
+        Member last = repo.findById(id).orElseThrow();
+        assertThat(last.getVersion()).isEqualTo(801);
+        assertThat(last.getName()).isEqualTo("v801");
+        assertThat(repo.findByNameContaining("v801")).hasSize(1);
+        assertThat(repo.findByNameContaining("v800")).isEmpty();
+    }
+
+    @Test
+    void 한글_자동완성_초성과_입력중인_글자로_찾고_앞부분_일치가_먼저() {
+        //given
+        Member hong = repo.save(new Member("홍길동"));
+        Member kim = repo.save(new Member("김동수"));
+        Member chicken = repo.save(new Member("닭강정"));
+        repo.save(new Member("이철수"));
+
+        //when & then
+        assertThat(repo.autocomplete("ㅎㄱㄷ", 10)).extracting(Member::getId).containsExactly(hong.getId());
+        assertThat(repo.autocomplete("홍기", 10)).extracting(Member::getId).containsExactly(hong.getId()); // "길" 을 입력하는 중
+        assertThat(repo.autocomplete("ㄱㄷ", 10)).extracting(Member::getId).containsExactly(kim.getId(), hong.getId()); // 앞부분 일치(김동수) → 중간 일치(홍길동)
+        assertThat(repo.autocomplete("달", 10)).extracting(Member::getId).containsExactly(chicken.getId()); // 겹받침 ㄺ 입력 중
+        assertThat(repo.autocomplete("ㄱ", 1)).hasSize(1);
+    }
+
+    @Test
+    void 한글_자동완성_이름변경_삭제시_색인도_갱신() {
+        Member m = repo.save(new Member("홍길동"));
+        repo.compareAndSet(m.getId(), m.getVersion(), "박영희");
+
+        assertThat(repo.autocomplete("ㅎㄱ", 10)).isEmpty();
+        assertThat(repo.autocomplete("ㅂㅇ", 10)).extracting(Member::getName).containsExactly("박영희");
+
+        repo.deleteById(m.getId());
+        assertThat(repo.autocomplete("ㅂㅇ", 10)).isEmpty();
+    }
+
+    @Test
+    void 한글_자동완성_색인_결과가_전체스캔_기본구현과_같다() {
+        //given: 색인 없는 저장소(기본 구현 = 전체 스캔)와 같은 데이터
+        CompactMemberRepository scan = new CompactMemberRepository(false, 1 << 16);
+        String syllables = "가각간갈감강고공구권길김나남동박서성수영우이자정준지철하한현호홍희";
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        for (int i = 0; i < 500; i++) {
+            StringBuilder name = new StringBuilder();
+            for (int j = 2 + r.nextInt(3); j > 0; j--) name.append(syllables.charAt(r.nextInt(syllables.length())));
+            repo.save(new Member(name.toString()));
+            scan.save(new Member(name.toString()));
+        }
+
+        //then
+        for (String q : List.of("ㄱ", "ㅎㄱ", "ㅈㅅ", "김", "기", "홍기", "ㄷ", "서", "가나")) {
+            assertThat(repo.autocomplete(q, 20)).as(q).usingElementComparator((a, b) -> a.getId().compareTo(b.getId()))
+                    .containsExactlyElementsOf(scan.autocomplete(q, 20));
+        }
+    }
+
+    @Test
+    void 한글_자동완성_긴_이름도_키는_잘라_넣고_일치는_이름_전체로_본다() {
+        //given: 색인 키 길이(자모 48자)를 훨씬 넘는 이름
+        String head = "가".repeat(40);
+        Member tail = repo.save(new Member(head + "홍길동"));
+        Member other = repo.save(new Member(head + "김철수"));
+
+        //when & then
+        assertThat(repo.autocomplete("ㄱ".repeat(40) + "ㅎㄱ", 10)).extracting(Member::getId).containsExactly(tail.getId()); // 잘린 키로 둘 다 걸리지만 이름 전체로 거름
+        assertThat(repo.autocomplete(head + "김철", 10)).extracting(Member::getId).containsExactly(other.getId());
+        assertThat(repo.autocomplete("ㄱㄷ", 10)).extracting(Member::getId).containsExactly(tail.getId()); // 뒤쪽 중간 일치
+    }
 }